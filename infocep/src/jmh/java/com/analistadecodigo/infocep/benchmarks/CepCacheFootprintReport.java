@@ -0,0 +1,120 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import com.analistadecodigo.infocep.caches.CepCache;
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.IntFunction;
+
+/**
+ * Relatório de memória do cache de CEPs: bytes por entrada guardando o {@link CepResponseDto} inteiro
+ * (como o cache fazia antes) e guardando a forma compacta do {@link CepCache}.
+ *
+ * Os endereços são sintéticos, com a distribuição aproximada do Brasil: poucos municípios, bairros repetidos
+ * entre muitos CEPs e logradouros únicos. Cada registro tem suas próprias Strings, como acontece
+ * quando a resposta da ViaCEP é desserializada.
+ *
+ * Uso: ./mvnw -Pbenchmarks -DskipTests test-compile exec:exec \
+ *          -Dbenchmark.main=com.analistadecodigo.infocep.benchmarks.CepCacheFootprintReport [-Dentradas=500000]
+ */
+public final class CepCacheFootprintReport {
+
+    private static final int MUNICIPIOS = 5_570;
+    private static final int BAIRROS_POR_MUNICIPIO = 12;
+    private static final String[] UFS = {"SP", "RJ", "MG", "BA", "PR", "RS", "PE", "CE", "PA", "SC"};
+    private static final String[] COMPLEMENTOS = {"", "lado par", "lado ímpar", "até 999/1000", "de 1001 ao fim"};
+
+    private static final MemoryMXBean MEMORIA = ManagementFactory.getMemoryMXBean();
+
+    private CepCacheFootprintReport() {
+    }
+
+    public static void main(String[] args) {
+        int entradas = Integer.getInteger("entradas", 200_000);
+
+        long antes = medir(entradas, quantidade -> {
+            Cache<String, CepResponseDto> cache = Caffeine.newBuilder()
+                    .maximumSize(quantidade)
+                    .expireAfterWrite(Duration.ofHours(24))
+                    .build();
+            Cache<String, CepResponseDto> ultimosConhecidos = Caffeine.newBuilder()
+                    .maximumSize(quantidade)
+                    .expireAfterWrite(Duration.ofDays(7))
+                    .build();
+            for (int i = 0; i < quantidade; i++) {
+                CepResponseDto endereco = endereco(i);
+                String chave = endereco.getCep().replace("-", "");
+                cache.put(chave, endereco);
+                ultimosConhecidos.put(chave, endereco);
+            }
+            return List.of(cache, ultimosConhecidos);
+        });
+
+        long depois = medir(entradas, quantidade -> {
+            CepCacheProperties properties = new CepCacheProperties();
+            properties.setMaximumSize(quantidade);
+            CepCache cache = new CepCache(properties, new SimpleMeterRegistry(), Optional.empty());
+            for (int i = 0; i < quantidade; i++) {
+                cache.put(new Cep(i), endereco(i));
+            }
+            return cache;
+        });
+
+        System.out.printf("Entradas: %,d%n", entradas);
+        System.out.printf("Antes (CepResponseDto por CEP): %,d bytes/entrada%n", antes / entradas);
+        System.out.printf("Depois (forma compacta):       %,d bytes/entrada%n", depois / entradas);
+        System.out.printf("Redução: %.1f%%%n", 100.0 * (antes - depois) / antes);
+        System.out.println("Os dois lados incluem a estrutura do Caffeine e o mapa de últimas versões para respostas stale.");
+    }
+
+    /**
+     * @return a diferença do heap usado antes e depois de montar o cache, mantendo-o vivo durante a medição
+     */
+    private static long medir(int entradas, IntFunction<Object> montar) {
+        long inicial = heapUsado();
+        Object cache = montar.apply(entradas);
+        long usado = heapUsado() - inicial;
+        Reference.reachabilityFence(cache);
+        return usado;
+    }
+
+    private static long heapUsado() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return MEMORIA.getHeapMemoryUsage().getUsed();
+    }
+
+    private static CepResponseDto endereco(int i) {
+        int municipio = i % MUNICIPIOS;
+        int bairro = (i / MUNICIPIOS) % BAIRROS_POR_MUNICIPIO;
+        Cep cep = new Cep(i);
+        return CepResponseDto.builder()
+                .cep(cep.formatado())
+                .logradouro(new String("Rua " + i))
+                .complemento(new String(COMPLEMENTOS[i % COMPLEMENTOS.length]))
+                .bairro(new String("Bairro " + municipio + "-" + bairro))
+                .localidade(new String("Município " + municipio))
+                .uf(new String(UFS[municipio % UFS.length]))
+                .ibge(String.valueOf(1_100_000 + municipio))
+                .gia(municipio % 2 == 0 ? "" : String.valueOf(1000 + municipio))
+                .ddd(String.valueOf(11 + municipio % 88))
+                .siafi(String.valueOf(1000 + municipio))
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.controllers.CepJsonHttpMessageConverter;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura da resposta da ViaCEP para o {@link CepResponseDto} e escrita da resposta da API,
+ * com o mapper configurado como o do Spring Boot (campos desconhecidos ignorados).
+ *
+ * escreverJackson e escreverSerializado comparam a escrita da resposta num acerto de cache pelo conversor JSON padrão
+ * e pelo {@link CepJsonHttpMessageConverter}; o endereço é uma cópia, como a que o cache monta a cada leitura.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepJsonBenchmark {
+
+    private JsonMapper mapper;
+    private byte[] json;
+    private CepResponseDto endereco;
+    private CepResponseDto copia;
+    private JacksonJsonHttpMessageConverter jackson;
+    private CepJsonHttpMessageConverter serializado;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        json = UpstreamStub.JSON.getBytes(StandardCharsets.UTF_8);
+        endereco = mapper.readValue(json, CepResponseDto.class);
+        copia = endereco.toBuilder().build();
+        jackson = new JacksonJsonHttpMessageConverter(mapper);
+        serializado = new CepJsonHttpMessageConverter(mapper, new CepCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public CepResponseDto desserializar() {
+        return mapper.readValue(json, CepResponseDto.class);
+    }
+
+    @Benchmark
+    public byte[] serializar() {
+        return mapper.writeValueAsBytes(endereco);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage escreverJackson() throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+        jackson.write(copia, MediaType.APPLICATION_JSON, saida);
+        return saida;
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage escreverSerializado() throws IOException {
+        MockHttpOutputMessage saida = new MockHttpOutputMessage();
+        serializado.write(copia, MediaType.APPLICATION_JSON, saida);
+        return saida;
+    }
+}
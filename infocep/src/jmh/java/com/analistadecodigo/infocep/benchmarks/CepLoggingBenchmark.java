@@ -0,0 +1,160 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.analistadecodigo.infocep.configs.DetalheAmostradoTurboFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das linhas de log por requisição no formato usado pelo controller e pelos clientes,
+ * com o nível habilitado (formatação e encoding completos, saída descartada) e desabilitado.
+ *
+ * requisicaoClassica e requisicaoResumo comparam o log de uma busca inteira nos dois modos:
+ * - clássico: as quatro linhas INFO de controller e provedor, em texto, escritas na thread da requisição
+ * - resumo: as mesmas linhas em DEBUG, desligadas e fora da amostragem, mais a linha de resumo com pares
+ *   chave-valor em JSON (ECS) por um AsyncAppender, como no perfil json-logs
+ * Com -prof gc, gc.alloc.rate.norm é a alocação por requisição na thread do benchmark; no modo resumo a
+ * formatação do JSON roda na thread do AsyncAppender e não aparece no score.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepLoggingBenchmark {
+
+    private static final String CEP = "01310100";
+    private static final String URL = "https://viacep.com.br/ws/01310100/json/";
+
+    private final Logger habilitado = LoggerFactory.getLogger("infocep.benchmark.log.habilitado");
+    private final Logger desabilitado = LoggerFactory.getLogger("infocep.benchmark.log.desabilitado");
+    private final Logger detalhe = LoggerFactory.getLogger("infocep.benchmark.log.detalhe");
+    private final Logger resumo = LoggerFactory.getLogger("infocep.benchmark.log.resumo");
+    private OutputStreamAppender<ILoggingEvent> appender;
+    private OutputStreamAppender<ILoggingEvent> appenderJson;
+    private AsyncAppender appenderAssincrono;
+    private DetalheAmostradoTurboFilter turboFilter;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        LoggerContext contexto = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(contexto);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level --- [%thread] %logger{39} : %msg%n");
+        encoder.start();
+
+        appender = new OutputStreamAppender<>();
+        appender.setContext(contexto);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        ch.qos.logback.classic.Logger logHabilitado = contexto.getLogger(habilitado.getName());
+        logHabilitado.setLevel(Level.INFO);
+        logHabilitado.setAdditive(false);
+        logHabilitado.addAppender(appender);
+        contexto.getLogger(desabilitado.getName()).setLevel(Level.WARN);
+
+        contexto.putObject(Environment.class.getName(), new StandardEnvironment());
+        StructuredLogEncoder encoderJson = new StructuredLogEncoder();
+        encoderJson.setContext(contexto);
+        encoderJson.setFormat("ecs");
+        encoderJson.start();
+
+        appenderJson = new OutputStreamAppender<>();
+        appenderJson.setContext(contexto);
+        appenderJson.setEncoder(encoderJson);
+        appenderJson.setOutputStream(OutputStream.nullOutputStream());
+        appenderJson.start();
+
+        appenderAssincrono = new AsyncAppender();
+        appenderAssincrono.setContext(contexto);
+        appenderAssincrono.setQueueSize(8192);
+        appenderAssincrono.setNeverBlock(true);
+        appenderAssincrono.addAppender(appenderJson);
+        appenderAssincrono.start();
+
+        turboFilter = new DetalheAmostradoTurboFilter();
+        turboFilter.setContext(contexto);
+        turboFilter.start();
+        contexto.addTurboFilter(turboFilter);
+
+        ch.qos.logback.classic.Logger logResumo = contexto.getLogger(resumo.getName());
+        logResumo.setLevel(Level.INFO);
+        logResumo.setAdditive(false);
+        logResumo.addAppender(appenderAssincrono);
+        contexto.getLogger(detalhe.getName()).setLevel(Level.INFO);
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        appender.stop();
+        appenderAssincrono.stop();
+        appenderJson.stop();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(turboFilter);
+    }
+
+    @Benchmark
+    public void logHabilitado() {
+        habilitado.info("CepController - buscarCep: Iniciando busca de CEP: {}", CEP);
+        habilitado.info("CepController - buscarCep: Busca de CEP {} concluída com sucesso. Endereço: {}, {}",
+                CEP, "Avenida Paulista", "São Paulo");
+    }
+
+    @Benchmark
+    public void logDesabilitado() {
+        desabilitado.info("CepController - buscarCep: Iniciando busca de CEP: {}", CEP);
+        desabilitado.info("CepController - buscarCep: Busca de CEP {} concluída com sucesso. Endereço: {}, {}",
+                CEP, "Avenida Paulista", "São Paulo");
+    }
+
+    @Benchmark
+    public void requisicaoClassica() {
+        habilitado.info("CepController - buscarCep: Iniciando busca de CEP: {}", CEP);
+        habilitado.info("HttpCepProvider - buscarPorCep: Realizando requisição para {} na URL: {}", "viaCep", URL);
+        habilitado.info("HttpCepProvider - buscarPorCep: Resposta recebida com sucesso de {} para CEP: {}", "viaCep", CEP);
+        habilitado.info("CepController - buscarCep: Busca de CEP {} concluída com sucesso. Endereço: {}, {}",
+                CEP, "Avenida Paulista", "São Paulo");
+    }
+
+    @Benchmark
+    public void requisicaoResumo() {
+        detalhe.debug("CepController - buscarCep: Iniciando busca de CEP: {}", CEP);
+        detalhe.debug("HttpCepProvider - buscarPorCep: Realizando requisição para {} na URL: {}", "viaCep", URL);
+        detalhe.debug("HttpCepProvider - buscarPorCep: Resposta recebida com sucesso de {} para CEP: {}", "viaCep", CEP);
+        detalhe.debug("CepController - buscarCep: Busca de CEP {} concluída com sucesso. Endereço: {}, {}",
+                CEP, "Avenida Paulista", "São Paulo");
+        resumo.atInfo()
+                .addKeyValue("cep", CEP)
+                .addKeyValue("origem", "PROVEDOR")
+                .addKeyValue("status", 200)
+                .addKeyValue("duracaoMs", 42L)
+                .addKeyValue("upstreamMs", 38L)
+                .log("LookupSummaryInterceptor - afterCompletion: CEP {} - origem: {}, upstream: {} ms, status: {}, duração: {} ms",
+                        CEP, "PROVEDOR", 38L, 200, 42L);
+    }
+}
@@ -0,0 +1,122 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.indexes.CepIndexFile;
+import com.analistadecodigo.infocep.indexes.IndiceDeLogradouros;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete de logradouro sobre um índice em escala nacional: {@code entradas} CEPs sintéticos em 5.570 municípios,
+ * com 10% deles numa única cidade (o pior caso da busca binária e da varredura).
+ * Em modo SampleTime, para que o resultado traga p99 e p99.9.
+ *
+ * O setup imprime o tempo de montagem do {@link IndiceDeLogradouros} e o tamanho dos seus arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+public class CepLogradouroBenchmark {
+
+    private static final int MUNICIPIOS = 5_570;
+    private static final String[] UFS = {"SP", "RJ", "MG", "BA", "PR", "RS", "PE", "CE", "PA", "SC"};
+    private static final String[] TIPOS = {"Rua", "Avenida", "Travessa", "Alameda", "Praça", "Rua"};
+    private static final String[] NOMES = {"José", "Maria", "João", "Antônio", "Francisco", "Ana", "Luiz", "Paulo",
+            "Carlos", "Manoel", "Pedro", "Francisca", "Marcos", "Raimundo", "Sebastião", "Antônia", "Marcelo", "Jorge"};
+    private static final String[] SOBRENOMES = {"da Silva", "dos Santos", "de Oliveira", "de Souza", "Rodrigues",
+            "Ferreira", "Alves", "Pereira", "Lima", "Gomes", "Ribeiro", "Carvalho", "de Almeida", "Lopes", "Soares"};
+
+    @Param("1100000")
+    private int entradas;
+
+    private Path arquivo;
+    private IndiceDeLogradouros indice;
+    private String[] prefixosNaMaiorCidade;
+    private String[] prefixos;
+    private String[] cidades;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        arquivo = Files.createTempFile("ceps", ".idx");
+        List<CepResponseDto> enderecos = new ArrayList<>(entradas);
+        for (int i = 0; i < entradas; i++) {
+            enderecos.add(endereco(i));
+        }
+        CepIndexFile.escrever(enderecos, arquivo);
+        enderecos = null;
+        CepIndexFile indexFile = CepIndexFile.abrir(arquivo);
+
+        long inicio = System.nanoTime();
+        indice = IndiceDeLogradouros.construir(indexFile);
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.printf("%nÍndice reverso: %d entradas em %d cidades, montado em %d ms, %.1f MB%n",
+                indice.entradas(), indice.cidades(), duracaoMs, indice.bytes() / 1024.0 / 1024.0);
+
+        prefixosNaMaiorCidade = new String[1024];
+        prefixos = new String[1024];
+        cidades = new String[1024];
+        for (int i = 0; i < prefixos.length; i++) {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            String nome = endereco(aleatorio.nextInt(entradas / 10) * 10).getLogradouro();
+            prefixosNaMaiorCidade[i] = nome.substring(0, 1 + aleatorio.nextInt(nome.length()));
+            int cep = aleatorio.nextInt(entradas);
+            CepResponseDto endereco = endereco(cep % 10 == 0 ? cep + 1 : cep);
+            prefixos[i] = endereco.getLogradouro().substring(0, 1 + aleatorio.nextInt(endereco.getLogradouro().length()));
+            cidades[i] = endereco.getUf() + "|" + endereco.getLocalidade();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(arquivo);
+    }
+
+    @Benchmark
+    public List<CepResponseDto> autocompletarNaMaiorCidade() {
+        String prefixo = prefixosNaMaiorCidade[ThreadLocalRandom.current().nextInt(prefixosNaMaiorCidade.length)];
+        return indice.buscar("SP", "Município 0", prefixo, 10);
+    }
+
+    @Benchmark
+    public List<CepResponseDto> autocompletarEmQualquerCidade() {
+        int i = ThreadLocalRandom.current().nextInt(prefixos.length);
+        String[] cidade = cidades[i].split("\\|");
+        return indice.buscar(cidade[0], cidade[1], prefixos[i], 10);
+    }
+
+    private static CepResponseDto endereco(int i) {
+        int municipio = i % 10 == 0 ? 0 : 1 + (int) ((i * 7919L) % (MUNICIPIOS - 1));
+        String logradouro = TIPOS[i % TIPOS.length] + " " + NOMES[(i / 7) % NOMES.length] + " "
+                + SOBRENOMES[(i / 131) % SOBRENOMES.length] + (i % 3 == 0 ? "" : " " + (i / 977) % 400);
+        return CepResponseDto.builder()
+                .cep(String.format("%08d", 1_000_000 + i * 7))
+                .logradouro(logradouro)
+                .bairro("Bairro " + i % 40)
+                .localidade("Município " + municipio)
+                .uf(municipio == 0 ? "SP" : UFS[municipio % UFS.length])
+                .ibge(String.valueOf(1_000_000 + municipio))
+                .build();
+    }
+}
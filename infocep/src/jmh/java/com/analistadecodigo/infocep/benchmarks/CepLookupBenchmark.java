@@ -0,0 +1,128 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import com.analistadecodigo.infocep.caches.CepCache;
+import com.analistadecodigo.infocep.clients.CepProviderRouter;
+import com.analistadecodigo.infocep.clients.HttpCepProvider;
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.configs.CepPeersProperties;
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.configs.HttpClientConfig;
+import com.analistadecodigo.infocep.configs.HttpClientProperties;
+import com.analistadecodigo.infocep.controllers.CepController;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import com.analistadecodigo.infocep.limiters.TokenBucketRateLimiter;
+import com.analistadecodigo.infocep.peers.CepPeerRouter;
+import com.analistadecodigo.infocep.services.CepService;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Caminho completo de GET /infocep/{cep}: dispatcher do Spring MVC, controller, serviço, roteador de provedores,
+ * circuit breaker, cliente HTTP com pool e serialização da resposta, contra o {@link UpstreamStub} local.
+ *
+ * - cache=true: a partir da segunda chamada a resposta vem do cache (caminho quente)
+ * - cache=false: toda chamada vai ao provedor
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CepLookupBenchmark {
+
+    private static final String CEP = "01310100";
+
+    @Param({"true", "false"})
+    private boolean cache;
+
+    private UpstreamStub upstream;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private CepService cepService;
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        upstream = new UpstreamStub();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        HttpClientConfig httpClientConfig = new HttpClientConfig();
+        HttpClientProperties httpClientProperties = new HttpClientProperties();
+        connectionManager = httpClientConfig.viaCepConnectionManager(httpClientProperties, meterRegistry);
+        httpClient = httpClientConfig.viaCepHttpClient(connectionManager, httpClientProperties);
+        RestTemplateBuilder restTemplateBuilder = new RestTemplateBuilder(
+                httpClientConfig.pooledRestTemplateCustomizer(httpClient));
+
+        HttpCepProvider provedor = new HttpCepProvider("viaCep", upstream.url(), restTemplateBuilder,
+                CircuitBreaker.ofDefaults("viaCep"),
+                new TokenBucketRateLimiter("viaCep", semLimiteDeTaxa(), meterRegistry), ObservationRegistry.NOOP);
+        CepProviderRouter router = new CepProviderRouter(List.of(provedor), new CepProvidersProperties.Hedge(),
+                Runnable::run, meterRegistry);
+
+        ConcurrencyLimitProperties limitProperties = new ConcurrencyLimitProperties();
+        CepCacheProperties cacheProperties = new CepCacheProperties();
+        cacheProperties.setEnabled(cache);
+        cepService = new CepService(router, new CepCache(cacheProperties, meterRegistry, Optional.empty()),
+                new LocalCepIndex(new CepIndexProperties(), meterRegistry),
+                new CepPeerRouter(new CepPeersProperties(), new RestTemplate(), meterRegistry), Runnable::run,
+                new AdaptiveConcurrencyLimiter("outbound", limitProperties.getOutbound(), meterRegistry),
+                limitProperties, meterRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepController(cepService)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        upstream.close();
+    }
+
+    @Benchmark
+    public CepResponseDto servico() {
+        return cepService.buscarPorCep(CEP);
+    }
+
+    @Benchmark
+    public MvcResult requisicaoHttp() throws Exception {
+        return mockMvc.perform(get("/infocep/{cep}", CEP)).andReturn();
+    }
+
+    private static CepProvidersProperties.RateLimit semLimiteDeTaxa() {
+        CepProvidersProperties.RateLimit rateLimit = new CepProvidersProperties.RateLimit();
+        rateLimit.setEnabled(false);
+        return rateLimit;
+    }
+}
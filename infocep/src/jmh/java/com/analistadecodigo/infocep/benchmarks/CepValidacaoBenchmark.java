@@ -0,0 +1,83 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Custo de normalizar e validar o CEP recebido, antes de qualquer cache ou chamada externa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepValidacaoBenchmark {
+
+    private static final Pattern FORMATO_CEP = Pattern.compile("\\d{5}-?\\d{3}");
+
+    @Param({"01310100", "01310-100", " 01310-100 "})
+    private String cep;
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CepRequestDto request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        request = new CepRequestDto(cep);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public int parse() {
+        return Cep.parse(cep);
+    }
+
+    @Benchmark
+    public Cep cepOf() {
+        return Cep.of(cep);
+    }
+
+    @Benchmark
+    public String normalizarTexto() {
+        return cep.trim().replace("-", "");
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return FORMATO_CEP.matcher(cep).matches();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CepRequestDto>> beanValidation() {
+        return validator.validate(request);
+    }
+}
@@ -0,0 +1,65 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Custo do circuit breaker em volta de uma chamada que retorna na hora,
+ * com a mesma configuração da instância viaCep do application.yaml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CircuitBreakerBenchmark {
+
+    private CircuitBreaker circuitBreaker;
+    private Supplier<CepResponseDto> chamada;
+    private Supplier<CepResponseDto> decorada;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        circuitBreaker = CircuitBreaker.of("viaCep", CircuitBreakerConfig.custom()
+                .slidingWindowSize(10)
+                .minimumNumberOfCalls(5)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofSeconds(10))
+                .build());
+        CepResponseDto endereco = CepResponseDto.builder().cep("01310100").build();
+        chamada = () -> endereco;
+        decorada = CircuitBreaker.decorateSupplier(circuitBreaker, chamada);
+    }
+
+    @Benchmark
+    public CepResponseDto semCircuitBreaker() {
+        return chamada.get();
+    }
+
+    @Benchmark
+    public CepResponseDto executeSupplier() {
+        return circuitBreaker.executeSupplier(chamada);
+    }
+
+    @Benchmark
+    public CepResponseDto supplierDecorado() {
+        return decorada.get();
+    }
+}
@@ -0,0 +1,48 @@
+package com.analistadecodigo.infocep.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Provedor local no formato da ViaCEP, para que os benchmarks não dependam da rede.
+ * Responde a qualquer /ws/{cep}/json/ com o mesmo endereço.
+ */
+final class UpstreamStub implements AutoCloseable {
+
+    static final String JSON = """
+            {"cep":"01310-100","logradouro":"Avenida Paulista","complemento":"lado par",
+             "bairro":"Bela Vista","localidade":"São Paulo","uf":"SP","ibge":"3550308",
+             "gia":"1004","ddd":"11","siafi":"7107","estado":"São Paulo","regiao":"Sudeste"}
+            """;
+
+    private final HttpServer servidor;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    UpstreamStub() throws IOException {
+        byte[] corpo = JSON.getBytes(StandardCharsets.UTF_8);
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/ws/", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, corpo.length);
+            exchange.getResponseBody().write(corpo);
+            exchange.close();
+        });
+        servidor.setExecutor(executor);
+        servidor.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort() + "/ws/{cep}/json/";
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,255 @@
+package com.analistadecodigo.infocep.caches;
+
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache de CEPs em dois níveis:
+ * - L1: Caffeine em memória, limitado por tamanho e TTL
+ * - L2: {@link SharedCepCache} opcional, consultado apenas quando o L1 falha
+ *
+ * No L1 a chave é o {@link Cep} (um int); no L2 é o texto com 8 dígitos.
+ * O L1 guarda cada endereço como {@link EnderecoCompacto}, com cidade, bairro e complemento
+ * deduplicados no {@link DicionarioEnderecos}; o {@link CepResponseDto} só é montado na leitura.
+ *
+ * As métricas do L1 ficam em cache.gets, cache.puts e cache.evictions (cache=cep),
+ * as do L2 em infocep.cache.shared e o tamanho da tabela de municípios em infocep.cache.dictionary.size.
+ *
+ * Além disso, a última resposta válida de cada CEP é mantida por mais tempo (stale-ttl)
+ * para ser servida quando os provedores estão indisponíveis.
+ *
+ * As expirações são por entrada (ttl e stale-ttl a partir da escrita) para que o snapshot volte com
+ * o tempo que restava a cada CEP, e não com um ttl novo.
+ *
+ * CEPs que os provedores disseram não existir ficam num cache negativo, só local e com TTL próprio
+ * (negative-ttl); acertos e falhas dele ficam em infocep.cache.negative, separados dos acertos de cache.gets.
+ */
+@Component
+public class CepCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepCache.class);
+    private static final String CACHE_NAME = "cep";
+
+    private final boolean enabled;
+    private final Cache<Cep, EnderecoCompacto> local;
+    private final Cache<Cep, EnderecoCompacto> ultimosConhecidos;
+    private final Cache<Cep, Boolean> naoEncontrados;
+    private final Duration ttl;
+    private final Duration staleTtl;
+    private final Duration refreshAfter;
+    private final DicionarioEnderecos dicionario = new DicionarioEnderecos();
+    private final SharedCepCache shared;
+    private final Counter sharedHits;
+    private final Counter sharedMisses;
+    private final Counter negativeHits;
+    private final Counter negativeMisses;
+
+    public CepCache(CepCacheProperties properties, MeterRegistry meterRegistry, Optional<SharedCepCache> shared) {
+        this.enabled = properties.isEnabled();
+        this.ttl = properties.getTtl();
+        this.staleTtl = properties.getStaleTtl();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(Expiry.writing((Cep cep, EnderecoCompacto endereco) -> ttl))
+                .recordStats()
+                .build();
+        this.ultimosConhecidos = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(Expiry.writing((Cep cep, EnderecoCompacto endereco) -> staleTtl))
+                .build();
+        this.naoEncontrados = Caffeine.newBuilder()
+                .maximumSize(properties.getNegativeMaximumSize())
+                .expireAfterWrite(properties.getNegativeTtl())
+                .build();
+        this.refreshAfter = properties.getRefreshAfter();
+        this.shared = shared.orElse(null);
+        this.sharedHits = Counter.builder("infocep.cache.shared")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.sharedMisses = Counter.builder("infocep.cache.shared")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.negativeHits = Counter.builder("infocep.cache.negative")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.negativeMisses = Counter.builder("infocep.cache.negative")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        Gauge.builder("infocep.cache.dictionary.size", dicionario, DicionarioEnderecos::municipios)
+                .tag("table", "municipios")
+                .register(meterRegistry);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, local, CACHE_NAME);
+    }
+
+    /**
+     * @return o endereço em cache ou {@code null} quando não está em nenhum nível
+     */
+    public CepResponseDto get(Cep cep) {
+        if (!enabled) {
+            return null;
+        }
+
+        EnderecoCompacto endereco = local.getIfPresent(cep);
+        if (endereco != null) {
+            return dicionario.expandir(cep, endereco);
+        }
+        if (shared == null) {
+            return null;
+        }
+
+        CepResponseDto response = buscarNoCompartilhado(cep);
+        if (response == null) {
+            sharedMisses.increment();
+            return null;
+        }
+
+        sharedHits.increment();
+        guardarLocal(cep, response);
+        return response;
+    }
+
+    public void put(Cep cep, CepResponseDto response) {
+        if (!enabled) {
+            return;
+        }
+
+        guardarLocal(cep, response);
+        if (shared != null) {
+            try {
+                shared.put(cep.toString(), response);
+            } catch (Exception e) {
+                logger.warn("CepCache - put - Exception: Erro ao gravar CEP {} no cache compartilhado - Erro: {}", cep, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return true quando os provedores disseram, há menos de negative-ttl, que o CEP não existe
+     */
+    public boolean naoEncontrado(Cep cep) {
+        if (!enabled) {
+            return false;
+        }
+        if (naoEncontrados.getIfPresent(cep) == null) {
+            negativeMisses.increment();
+            return false;
+        }
+        negativeHits.increment();
+        return true;
+    }
+
+    public void registrarNaoEncontrado(Cep cep) {
+        if (enabled) {
+            naoEncontrados.put(cep, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * @return a última resposta válida do CEP, mesmo que já expirada do cache, ou {@code null}
+     */
+    public CepResponseDto ultimoConhecido(Cep cep) {
+        if (!enabled) {
+            return null;
+        }
+        EnderecoCompacto endereco = ultimosConhecidos.getIfPresent(cep);
+        return endereco == null ? null : dicionario.expandir(cep, endereco);
+    }
+
+    /**
+     * @return true quando o CEP está em cache há mais tempo que o refresh-after
+     */
+    public boolean precisaAtualizar(Cep cep) {
+        return idade(cep)
+                .map(idade -> idade.compareTo(refreshAfter) >= 0)
+                .orElse(false);
+    }
+
+    /**
+     * @return há quanto tempo o CEP foi escrito no cache local, ou vazio quando ele não está lá
+     */
+    public Optional<Duration> idade(Cep cep) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return local.policy().expireVariably()
+                .flatMap(expiracao -> expiracao.getExpiresAfter(cep))
+                .map(ttl::minus);
+    }
+
+    /**
+     * @param limite quantidade máxima de CEPs
+     * @return os CEPs do cache local com maior frequência de acesso, dos mais para os menos acessados
+     */
+    public Map<Cep, CepResponseDto> maisAcessados(int limite) {
+        Map<Cep, CepResponseDto> enderecos = new LinkedHashMap<>();
+        if (!enabled) {
+            return enderecos;
+        }
+        local.policy().eviction()
+                .map(eviction -> eviction.hottest(limite))
+                .orElseGet(Map::of)
+                .forEach((cep, endereco) -> enderecos.put(cep, dicionario.expandir(cep, endereco)));
+        return enderecos;
+    }
+
+    /**
+     * Guarda o endereço apenas neste nó, sem gravar no cache compartilhado, com o tempo de vida que restava a ele.
+     * Usado para recarregar o snapshot, cujos CEPs já passaram pelo compartilhado.
+     * Mais velho que o ttl, volta só como última versão conhecida; mais velho que o stale-ttl, não volta.
+     *
+     * @param idade tempo desde que o endereço foi escrito no cache de onde veio
+     * @return true quando o endereço voltou ao cache local
+     */
+    public boolean carregar(Cep cep, CepResponseDto response, Duration idade) {
+        Duration decorrido = idade.isNegative() ? Duration.ZERO : idade;
+        if (!enabled || decorrido.compareTo(staleTtl) >= 0) {
+            return false;
+        }
+        EnderecoCompacto endereco = dicionario.compactar(cep, response);
+        ultimosConhecidos.policy().expireVariably().orElseThrow().put(cep, endereco, staleTtl.minus(decorrido));
+        if (decorrido.compareTo(ttl) >= 0) {
+            return false;
+        }
+        local.policy().expireVariably().orElseThrow().put(cep, endereco, ttl.minus(decorrido));
+        return true;
+    }
+
+    public long tamanho() {
+        local.cleanUp();
+        return local.estimatedSize();
+    }
+
+    private void guardarLocal(Cep cep, CepResponseDto response) {
+        EnderecoCompacto endereco = dicionario.compactar(cep, response);
+        local.put(cep, endereco);
+        ultimosConhecidos.put(cep, endereco);
+        naoEncontrados.invalidate(cep);
+    }
+
+    private CepResponseDto buscarNoCompartilhado(Cep cep) {
+        try {
+            return shared.get(cep.toString());
+        } catch (Exception e) {
+            logger.warn("CepCache - get - Exception: Erro ao ler CEP {} do cache compartilhado - Erro: {}", cep, e.getMessage());
+            return null;
+        }
+    }
+}
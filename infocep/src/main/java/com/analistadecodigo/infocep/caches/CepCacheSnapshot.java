@@ -0,0 +1,177 @@
+package com.analistadecodigo.infocep.caches;
+
+import com.analistadecodigo.infocep.configs.CepWarmupProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot em disco dos CEPs mais acessados do {@link CepCache}, para que um pod novo
+ * comece com o cache quente em vez de mandar todo o tráfego inicial aos provedores.
+ *
+ * O arquivo é um JSON compactado com gzip, gravado em um temporário e movido por cima do anterior,
+ * de modo que uma queda no meio da gravação nunca deixa um snapshot pela metade. O temporário tem nome único,
+ * porque no cluster todas as réplicas gravam no mesmo volume compartilhado e a última gravação vence.
+ * Cada CEP leva o instante em que foi escrito no cache e volta só com o tempo de vida que restava a ele.
+ */
+@Component
+public class CepCacheSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepCacheSnapshot.class);
+
+    private final CepCache cepCache;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+    private final Path arquivo;
+    private final int maximoDeEntradas;
+    private final Duration idadeMaxima;
+    private final Clock clock;
+
+    @Autowired
+    public CepCacheSnapshot(CepCache cepCache, JsonMapper jsonMapper, CepWarmupProperties properties) {
+        this(cepCache, jsonMapper, properties, Clock.systemUTC());
+    }
+
+    CepCacheSnapshot(CepCache cepCache, JsonMapper jsonMapper, CepWarmupProperties properties, Clock clock) {
+        this.cepCache = cepCache;
+        this.jsonMapper = jsonMapper;
+        this.enabled = properties.isSnapshotEnabled();
+        this.arquivo = Paths.get(properties.getSnapshotPath());
+        this.maximoDeEntradas = properties.getSnapshotMaxEntries();
+        this.idadeMaxima = properties.getSnapshotMaxAge();
+        this.clock = clock;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Coloca no cache local os CEPs do último snapshot.
+     *
+     * @return quantidade de CEPs carregados; zero quando não há snapshot, ele é antigo demais ou está corrompido
+     */
+    public int carregar() {
+        if (!enabled || !Files.exists(arquivo)) {
+            return 0;
+        }
+
+        try (InputStream entrada = new GZIPInputStream(Files.newInputStream(arquivo))) {
+            Conteudo conteudo = jsonMapper.readValue(entrada, Conteudo.class);
+            Duration idade = Duration.between(conteudo.geradoEm(), clock.instant());
+            if (idade.compareTo(idadeMaxima) > 0) {
+                logger.info("CepCacheSnapshot - carregar: Snapshot {} ignorado, gerado há {}", arquivo, idade);
+                return 0;
+            }
+
+            Map<String, Instant> gravadosEm = conteudo.gravadosEm() != null ? conteudo.gravadosEm() : Map.of();
+            int carregados = 0;
+            for (Map.Entry<String, CepResponseDto> item : conteudo.enderecos().entrySet()) {
+                int chave = Cep.parse(item.getKey());
+                if (chave < 0 || item.getValue() == null) {
+                    continue;
+                }
+                Instant gravadoEm = gravadosEm.getOrDefault(item.getKey(), conteudo.geradoEm());
+                if (cepCache.carregar(new Cep(chave), item.getValue(), Duration.between(gravadoEm, clock.instant()))) {
+                    carregados++;
+                }
+            }
+            logger.info("CepCacheSnapshot - carregar: {} CEPs carregados de {}", carregados, arquivo);
+            return carregados;
+        } catch (IOException | JacksonException e) {
+            logger.warn("CepCacheSnapshot - carregar - Exception: Erro ao ler snapshot {} - Erro: {}", arquivo, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${infocep.warmup.snapshot-interval:5m}",
+            fixedDelayString = "${infocep.warmup.snapshot-interval:5m}")
+    void gravarPeriodicamente() {
+        salvar();
+    }
+
+    @PreDestroy
+    void gravarNoDesligamento() {
+        salvar();
+    }
+
+    /**
+     * Grava os CEPs mais acessados do cache local. Um cache vazio não sobrescreve o snapshot existente.
+     *
+     * @return quantidade de CEPs gravados
+     */
+    public int salvar() {
+        if (!enabled) {
+            return 0;
+        }
+
+        Instant agora = clock.instant();
+        Map<String, CepResponseDto> enderecos = new LinkedHashMap<>();
+        Map<String, Instant> gravadosEm = new HashMap<>();
+        cepCache.maisAcessados(maximoDeEntradas).forEach((cep, endereco) -> cepCache.idade(cep).ifPresent(idade -> {
+            enderecos.put(cep.toString(), endereco);
+            gravadosEm.put(cep.toString(), agora.minus(idade));
+        }));
+        if (enderecos.isEmpty()) {
+            return 0;
+        }
+
+        Path temporario = null;
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            Files.createDirectories(diretorio);
+            temporario = Files.createTempFile(diretorio, arquivo.getFileName().toString(), ".tmp");
+            try (OutputStream saida = new GZIPOutputStream(Files.newOutputStream(temporario))) {
+                jsonMapper.writeValue(saida, new Conteudo(agora, enderecos, gravadosEm));
+            }
+            Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("CepCacheSnapshot - salvar: {} CEPs gravados em {}", enderecos.size(), arquivo);
+            return enderecos.size();
+        } catch (IOException | JacksonException e) {
+            logger.warn("CepCacheSnapshot - salvar - Exception: Erro ao gravar snapshot {} - Erro: {}", arquivo, e.getMessage());
+            apagar(temporario);
+            return 0;
+        }
+    }
+
+    private static void apagar(Path temporario) {
+        if (temporario == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(temporario);
+        } catch (IOException e) {
+            logger.warn("CepCacheSnapshot - apagar - IOException: Erro ao apagar {} - Erro: {}", temporario, e.getMessage());
+        }
+    }
+
+    /**
+     * @param enderecos  endereços por CEP com 8 dígitos, dos mais para os menos acessados
+     * @param gravadosEm quando cada CEP foi escrito no cache; ausente em snapshots antigos, que usam geradoEm
+     */
+    record Conteudo(Instant geradoEm, Map<String, CepResponseDto> enderecos, Map<String, Instant> gravadosEm) {
+    }
+}
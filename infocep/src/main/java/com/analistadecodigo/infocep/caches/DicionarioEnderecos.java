@@ -0,0 +1,103 @@
+package com.analistadecodigo.infocep.caches;
+
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.github.benmanes.caffeine.cache.Interner;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Valores repetidos entre CEPs, para que o cache guarde cada cidade, bairro e complemento uma única vez.
+ *
+ * - municípios: localidade, uf, ibge, gia, ddd e siafi sempre andam juntos (~5.600 no Brasil); ficam numa tabela
+ *   que só cresce, limitada pela quantidade de municípios do país
+ * - bairros e complementos ("lado par", "de 612 a 1510 - lado par"...): têm cardinalidade alta e vinda de fora,
+ *   então ficam no próprio registro, deduplicados por um interner fraco que solta o valor quando
+ *   nenhum CEP em cache o referencia mais
+ */
+class DicionarioEnderecos {
+
+    private final Tabela<Municipio> municipios = new Tabela<>();
+    private final Interner<String> textos = Interner.newWeakInterner();
+
+    EnderecoCompacto compactar(Cep cep, CepResponseDto response) {
+        String cepTexto = Objects.equals(response.getCep(), cep.formatado()) ? null : response.getCep();
+        Municipio municipio = new Municipio(response.getLocalidade(), response.getUf(), response.getIbge(),
+                response.getGia(), response.getDdd(), response.getSiafi());
+        return new EnderecoCompacto(cepTexto, response.getLogradouro(), internar(response.getComplemento()),
+                internar(response.getBairro()), municipios.id(municipio));
+    }
+
+    CepResponseDto expandir(Cep cep, EnderecoCompacto endereco) {
+        Municipio municipio = municipios.valor(endereco.municipio());
+        return CepResponseDto.builder()
+                .cep(endereco.cepTexto() == null ? cep.formatado() : endereco.cepTexto())
+                .logradouro(endereco.logradouro())
+                .complemento(endereco.complemento())
+                .bairro(endereco.bairro())
+                .localidade(municipio.localidade())
+                .uf(municipio.uf())
+                .ibge(municipio.ibge())
+                .gia(municipio.gia())
+                .ddd(municipio.ddd())
+                .siafi(municipio.siafi())
+                .build();
+    }
+
+    int municipios() {
+        return municipios.tamanho();
+    }
+
+    private String internar(String texto) {
+        return texto == null ? null : textos.intern(texto);
+    }
+
+    private record Municipio(String localidade, String uf, String ibge, String gia, String ddd, String siafi) {
+    }
+
+    /**
+     * Valor para id sem bloqueio na leitura. O id -1 representa {@code null}.
+     * Um id só chega ao leitor depois de gravado no array, e o array é trocado apenas por cópias que já o contêm.
+     */
+    private static final class Tabela<T> {
+
+        private final ConcurrentMap<T, Integer> ids = new ConcurrentHashMap<>();
+        private volatile Object[] valores = new Object[64];
+        private int tamanho;
+
+        int id(T valor) {
+            if (valor == null) {
+                return -1;
+            }
+            Integer id = ids.get(valor);
+            return id != null ? id : adicionar(valor);
+        }
+
+        private synchronized int adicionar(T valor) {
+            Integer existente = ids.get(valor);
+            if (existente != null) {
+                return existente;
+            }
+            Object[] atuais = valores;
+            if (tamanho == atuais.length) {
+                atuais = Arrays.copyOf(atuais, atuais.length * 2);
+            }
+            atuais[tamanho] = valor;
+            valores = atuais;
+            ids.put(valor, tamanho);
+            return tamanho++;
+        }
+
+        @SuppressWarnings("unchecked")
+        T valor(int id) {
+            return id < 0 ? null : (T) valores[id];
+        }
+
+        synchronized int tamanho() {
+            return tamanho;
+        }
+    }
+}
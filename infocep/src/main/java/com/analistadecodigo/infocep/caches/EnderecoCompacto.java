@@ -0,0 +1,10 @@
+package com.analistadecodigo.infocep.caches;
+
+/**
+ * Forma guardada no cache para cada CEP. O município é um índice na tabela do {@link DicionarioEnderecos};
+ * bairro e complemento são as instâncias compartilhadas pelo interner dele.
+ *
+ * @param cepTexto o CEP como veio do provedor, ou {@code null} quando é igual ao formato 00000-000 da chave
+ */
+record EnderecoCompacto(String cepTexto, String logradouro, String complemento, String bairro, int municipio) {
+}
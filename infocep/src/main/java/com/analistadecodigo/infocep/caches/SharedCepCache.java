@@ -0,0 +1,17 @@
+package com.analistadecodigo.infocep.caches;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+
+/**
+ * Segundo nível de cache, compartilhado entre réplicas (ex.: Redis).
+ * É opcional: quando nenhum bean desta interface existe, apenas o cache local é usado.
+ */
+public interface SharedCepCache {
+
+    /**
+     * @return o endereço armazenado ou {@code null} quando o CEP não está no cache
+     */
+    CepResponseDto get(String cep);
+
+    void put(String cep, CepResponseDto response);
+}
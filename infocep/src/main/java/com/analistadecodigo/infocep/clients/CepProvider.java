@@ -0,0 +1,21 @@
+package com.analistadecodigo.infocep.clients;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+
+/**
+ * Um backend capaz de resolver CEPs. Falhas são propagadas como exceção
+ * para que o {@link CepProviderRouter} possa tentar outro provedor.
+ */
+public interface CepProvider {
+
+    String getNome();
+
+    CepResponseDto buscarPorCep(String cep);
+
+    /**
+     * @return false quando o circuit breaker do provedor está aberto
+     */
+    boolean isDisponivel();
+
+    LatencyTracker getLatencia();
+}
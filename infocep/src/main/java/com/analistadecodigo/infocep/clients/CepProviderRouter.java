@@ -0,0 +1,193 @@
+package com.analistadecodigo.infocep.clients;
+
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.limiters.Prioridade;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escolhe o provedor de CEP para cada busca:
+ * - provedores com circuito aberto vão para o fim da fila
+ * - entre os disponíveis, o de menor latência média recente vai primeiro
+ * - se o primeiro não responde dentro do percentil configurado da sua latência, um hedge é disparado no próximo
+ * - a primeira resposta com sucesso vence; falhas passam para o próximo provedor
+ * - CEP inexistente é uma resposta: encerra a busca na hora, sem consultar os outros provedores
+ *
+ * Quando todos falham, o fallback devolve os dados padrão de indisponibilidade.
+ */
+public class CepProviderRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepProviderRouter.class);
+    private static final String CEP_PROVIDERS_CB = "cepProviders";
+    private static final ContextSnapshotFactory CONTEXTO = ContextSnapshotFactory.builder().build();
+
+    private final List<CepProvider> provedores;
+    private final CepProvidersProperties.Hedge hedge;
+    private final Executor executor;
+    private final Counter hedges;
+    private final MeterRegistry meterRegistry;
+
+    public CepProviderRouter(List<CepProvider> provedores, CepProvidersProperties.Hedge hedge,
+                             Executor executor, MeterRegistry meterRegistry) {
+        if (provedores.isEmpty()) {
+            throw new IllegalArgumentException("Ao menos um provedor de CEP deve ser configurado");
+        }
+        this.provedores = List.copyOf(provedores);
+        this.hedge = hedge;
+        this.executor = executor;
+        this.hedges = Counter.builder("infocep.provider.hedges")
+                .description("Requisições extras disparadas porque o provedor principal demorou")
+                .register(meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @CircuitBreaker(name = CEP_PROVIDERS_CB, fallbackMethod = "buscarPorCepFallback")
+    public CepResponseDto buscarPorCep(String cep) {
+        List<CepProvider> candidatos = ordenar();
+        if (candidatos.size() == 1 || !hedge.isEnabled()) {
+            return buscarEmSequencia(candidatos, cep);
+        }
+        return buscarComHedge(candidatos, cep);
+    }
+
+    public List<CepProvider> getProvedores() {
+        return provedores;
+    }
+
+    List<CepProvider> ordenar() {
+        List<CepProvider> ordenados = new ArrayList<>(provedores);
+        ordenados.sort(Comparator.comparing((CepProvider provedor) -> !provedor.isDisponivel())
+                .thenComparingLong(provedor -> provedor.getLatencia().media()));
+        return ordenados;
+    }
+
+    private CepResponseDto buscarEmSequencia(List<CepProvider> candidatos, String cep) {
+        RuntimeException ultimoErro = null;
+        for (CepProvider provedor : candidatos) {
+            try {
+                return provedor.buscarPorCep(cep);
+            } catch (CepNaoEncontradoException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                ultimoErro = e;
+            }
+        }
+        throw ultimoErro;
+    }
+
+    private CepResponseDto buscarComHedge(List<CepProvider> candidatos, String cep) {
+        CompletionService<CepResponseDto> conclusoes = new ExecutorCompletionService<>(executor);
+        Prioridade prioridade = Prioridade.atual();
+        List<Future<CepResponseDto>> disparadas = new ArrayList<>(candidatos.size());
+        long atrasoHedge = atrasoHedgeNanos(candidatos.get(0));
+        int proximo = 0;
+        int pendentes = 0;
+        RuntimeException ultimoErro = null;
+
+        try {
+            disparadas.add(conclusoes.submit(chamada(candidatos.get(proximo++), cep, prioridade)));
+            pendentes++;
+
+            while (pendentes > 0) {
+                Future<CepResponseDto> concluida = proximo < candidatos.size()
+                        ? conclusoes.poll(atrasoHedge, TimeUnit.NANOSECONDS)
+                        : conclusoes.take();
+
+                if (concluida == null) {
+                    CepProvider provedor = candidatos.get(proximo++);
+                    logger.debug("CepProviderRouter - buscarComHedge: Disparando hedge para {} - CEP: {}", provedor.getNome(), cep);
+                    hedges.increment();
+                    disparadas.add(conclusoes.submit(chamada(provedor, cep, prioridade)));
+                    pendentes++;
+                    continue;
+                }
+
+                pendentes--;
+                try {
+                    return concluida.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof CepNaoEncontradoException naoEncontrado) {
+                        throw naoEncontrado;
+                    }
+                    ultimoErro = e.getCause() instanceof RuntimeException causa ? causa : new IllegalStateException(e.getCause());
+                    if (pendentes == 0 && proximo < candidatos.size()) {
+                        disparadas.add(conclusoes.submit(chamada(candidatos.get(proximo++), cep, prioridade)));
+                        pendentes++;
+                    }
+                }
+            }
+            throw ultimoErro;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Busca de CEP interrompida", e);
+        } finally {
+            disparadas.forEach(disparada -> disparada.cancel(true));
+        }
+    }
+
+    private long atrasoHedgeNanos(CepProvider provedor) {
+        long minimo = hedge.getMinDelay().toNanos();
+        return Math.max(minimo, provedor.getLatencia().percentil(hedge.getPercentile()));
+    }
+
+    /**
+     * As tentativas rodam no executor, então levam junto a prioridade e o contexto de tracing de quem pediu a busca.
+     */
+    private static Callable<CepResponseDto> chamada(CepProvider provedor, String cep, Prioridade prioridade) {
+        Callable<CepResponseDto> tentativa = () -> prioridade.executar(() -> provedor.buscarPorCep(cep));
+        return CONTEXTO.captureAll().wrap(tentativa);
+    }
+
+    /**
+     * Fallback chamado quando:
+     * - Todos os provedores falharam
+     * - Timeout
+     * - Circuit aberto
+     */
+    CepResponseDto buscarPorCepFallback(String cep, Throwable throwable) {
+        logger.warn("CepProviderRouter - buscarPorCepFallback: Fallback acionado para CEP: {} - Motivo: {}", cep, throwable.getMessage());
+        Counter.builder("infocep.provider.fallbacks")
+                .description("Buscas respondidas com os dados padrão de indisponibilidade, por tipo de falha")
+                .tag("reason", throwable.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        logger.debug("CepProviderRouter - buscarPorCepFallback: Retornando dados padrão de fallback para CEP: {}", cep);
+
+        return respostaIndisponivel(cep);
+    }
+
+    /**
+     * CEP inexistente é uma resposta dos provedores, não indisponibilidade: passa direto pelo fallback.
+     */
+    CepResponseDto buscarPorCepFallback(String cep, CepNaoEncontradoException e) {
+        throw e;
+    }
+
+    static CepResponseDto respostaIndisponivel(String cep) {
+        return CepResponseDto.builder()
+                .cep(cep)
+                .logradouro("Indisponível")
+                .bairro("Indisponível")
+                .localidade("Indisponível")
+                .uf("NA")
+                .fallback(true)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.analistadecodigo.infocep.clients;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import com.analistadecodigo.infocep.limiters.TokenBucketRateLimiter;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Provedor HTTP com resposta no formato da ViaCEP.
+ * A URL é um modelo com o marcador {cep}, ex.: https://viacep.com.br/ws/{cep}/json/
+ *
+ * Cada chamada passa antes pelo limite de taxa do provedor; a espera pelo token não entra na latência medida.
+ * Só chamadas respondidas entram na latência: um provedor que falha rápido (ex.: conexão recusada) não pode
+ * parecer o mais rápido no roteamento.
+ * "erro": true, corpo vazio, 404 e 400 viram {@link CepNaoEncontradoException}, que não conta como falha no circuit breaker.
+ * A chamada inteira (limite de taxa, circuit breaker e HTTP) é a observação infocep.provider.request:
+ * um timer com tag provider e um span pai do span HTTP do RestTemplate.
+ */
+public class HttpCepProvider implements CepProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpCepProvider.class);
+    private static final String MARCADOR_CEP = "{cep}";
+    private static final int JANELA_LATENCIA = 128;
+    private static final String OBSERVACAO = "infocep.provider.request";
+
+    private final String nome;
+    private final String url;
+    private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObservationRegistry observationRegistry;
+    private final LatencyTracker latencia = new LatencyTracker(JANELA_LATENCIA);
+
+    public HttpCepProvider(String nome, String url, RestTemplateBuilder builder, CircuitBreaker circuitBreaker,
+                           TokenBucketRateLimiter rateLimiter, ObservationRegistry observationRegistry) {
+        this.nome = nome;
+        this.url = url;
+        this.restTemplate = builder.build();
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public String getNome() {
+        return nome;
+    }
+
+    @Override
+    public CepResponseDto buscarPorCep(String cep) {
+        return Observation.createNotStarted(OBSERVACAO, observationRegistry)
+                .contextualName(nome + " buscarPorCep")
+                .lowCardinalityKeyValue("provider", nome)
+                .highCardinalityKeyValue("cep", cep)
+                .observe(() -> chamar(cep));
+    }
+
+    private CepResponseDto chamar(String cep) {
+        String url = this.url.replace(MARCADOR_CEP, cep);
+        try {
+            rateLimiter.adquirir();
+        } catch (SobrecargaException e) {
+            logger.warn("HttpCepProvider - buscarPorCep - SobrecargaException: Limite de taxa de {} atingido - CEP: {}", nome, cep);
+            throw e;
+        }
+        logger.debug("HttpCepProvider - buscarPorCep: Realizando requisição para {} na URL: {}", nome, url);
+
+        CepResponseDto response;
+        long inicio = System.nanoTime();
+        try {
+            response = circuitBreaker.executeSupplier(() -> requisitar(url));
+            latencia.registrar(System.nanoTime() - inicio);
+        } catch (CallNotPermittedException e) {
+            logger.warn("HttpCepProvider - buscarPorCep - CallNotPermittedException: Circuito de {} aberto - CEP: {}", nome, cep);
+            throw e;
+        } catch (Exception e) {
+            logger.warn("HttpCepProvider - buscarPorCep - Exception: Erro ao fazer requisição para {} - CEP: {} - Erro: {}", nome, cep, e.getMessage());
+            throw e;
+        }
+
+        if (response == null || response.isErro()) {
+            logger.debug("HttpCepProvider - buscarPorCep: CEP {} não encontrado em {}", cep, nome);
+            throw new CepNaoEncontradoException(cep);
+        }
+        logger.debug("HttpCepProvider - buscarPorCep: Resposta recebida com sucesso de {} para CEP: {}", nome, cep);
+        return response;
+    }
+
+    /**
+     * 404 e 400 são respostas do provedor sobre o CEP, não falhas: saem do circuit breaker como corpo vazio.
+     */
+    private CepResponseDto requisitar(String url) {
+        try {
+            return restTemplate.getForObject(url, CepResponseDto.class);
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.BadRequest e) {
+            return null;
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public TokenBucketRateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public boolean isDisponivel() {
+        return circuitBreaker.getState() != CircuitBreaker.State.OPEN
+                && circuitBreaker.getState() != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    @Override
+    public LatencyTracker getLatencia() {
+        return latencia;
+    }
+}
@@ -0,0 +1,51 @@
+package com.analistadecodigo.infocep.clients;
+
+import java.util.Arrays;
+
+/**
+ * Latências recentes de um provedor: média móvel exponencial para o roteamento
+ * e uma janela circular das últimas amostras para calcular percentis do hedge.
+ */
+public class LatencyTracker {
+
+    private static final double PESO_NOVA_AMOSTRA = 0.2;
+
+    private final long[] janela;
+    private int proxima;
+    private int amostras;
+    private double media;
+
+    public LatencyTracker(int tamanhoJanela) {
+        this.janela = new long[tamanhoJanela];
+    }
+
+    public synchronized void registrar(long nanos) {
+        janela[proxima] = nanos;
+        proxima = (proxima + 1) % janela.length;
+        amostras = Math.min(amostras + 1, janela.length);
+        media = amostras == 1 ? nanos : media + PESO_NOVA_AMOSTRA * (nanos - media);
+    }
+
+    /**
+     * @return média móvel em nanossegundos, ou 0 quando ainda não há amostras
+     */
+    public synchronized long media() {
+        return (long) media;
+    }
+
+    /**
+     * @return o percentil (0 a 1) das últimas amostras em nanossegundos, ou -1 quando ainda não há amostras
+     */
+    public long percentil(double percentil) {
+        long[] copia;
+        synchronized (this) {
+            if (amostras == 0) {
+                return -1;
+            }
+            copia = Arrays.copyOf(janela, amostras);
+        }
+        Arrays.sort(copia);
+        int posicao = (int) Math.ceil(percentil * copia.length) - 1;
+        return copia[Math.max(0, Math.min(posicao, copia.length - 1))];
+    }
+}
@@ -0,0 +1,100 @@
+package com.analistadecodigo.infocep.clients;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.limiters.TokenBucketRateLimiter;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Cliente não bloqueante da ViaCEP, usado no modo reativo (infocep.lookup.mode=reactive).
+ * Usa o mesmo circuit breaker "viaCep" do provedor bloqueante e a mesma resposta de fallback.
+ *
+ * A URL e o limite de taxa são os do provedor viaCep em infocep.providers (ou do primeiro configurado),
+ * e o token bucket é o mesmo objeto do provedor bloqueante, então os dois modos dividem a mesma taxa.
+ * A espera pelo token é agendada com {@link Mono#delay(Duration)}, sem bloquear a thread.
+ */
+@Component
+public class ReactiveViaCepClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveViaCepClient.class);
+    private static final String VIA_CEP_CB = "viaCep";
+
+    private final WebClient webClient;
+    private final String url;
+    private final TokenBucketRateLimiter rateLimiter;
+
+    public ReactiveViaCepClient(WebClient.Builder builder, CepProviderRouter cepProviderRouter) {
+        HttpCepProvider provedor = provedorViaCep(cepProviderRouter);
+        this.webClient = builder.build();
+        this.url = provedor.getUrl();
+        this.rateLimiter = provedor.getRateLimiter();
+    }
+
+    private static HttpCepProvider provedorViaCep(CepProviderRouter cepProviderRouter) {
+        HttpCepProvider primeiro = null;
+        for (CepProvider provedor : cepProviderRouter.getProvedores()) {
+            if (provedor instanceof HttpCepProvider http) {
+                if (VIA_CEP_CB.equals(http.getNome())) {
+                    return http;
+                }
+                if (primeiro == null) {
+                    primeiro = http;
+                }
+            }
+        }
+        if (primeiro == null) {
+            throw new IllegalStateException("Nenhum provedor HTTP configurado em infocep.providers");
+        }
+        return primeiro;
+    }
+
+    @CircuitBreaker(name = VIA_CEP_CB, fallbackMethod = "buscarPorCepFallback")
+    public Mono<CepResponseDto> buscarPorCep(String cep) {
+        logger.debug("ReactiveViaCepClient - buscarPorCep: Realizando requisição para ViaCEP - CEP: {}", cep);
+
+        return Mono.defer(() -> {
+                    Duration espera = rateLimiter.reservarSemEsperar();
+                    return espera.isZero() ? requisitar(cep) : Mono.delay(espera).then(requisitar(cep));
+                })
+                .filter(response -> !response.isErro())
+                .switchIfEmpty(Mono.error(() -> new CepNaoEncontradoException(cep)))
+                .doOnNext(response -> logger.debug("ReactiveViaCepClient - buscarPorCep: Resposta recebida com sucesso para CEP: {}", cep))
+                .doOnError(e -> logger.warn("ReactiveViaCepClient - buscarPorCep - Exception: Erro ao fazer requisição para ViaCEP - CEP: {} - Erro: {}", cep, e.getMessage()));
+    }
+
+    /**
+     * 404 e 400 são respostas do provedor sobre o CEP, não falhas: viram vazio, como no provedor bloqueante.
+     */
+    private Mono<CepResponseDto> requisitar(String cep) {
+        return webClient.get()
+                .uri(url, cep)
+                .retrieve()
+                .bodyToMono(CepResponseDto.class)
+                .onErrorResume(e -> e instanceof WebClientResponseException.NotFound || e instanceof WebClientResponseException.BadRequest,
+                        e -> Mono.empty());
+    }
+
+    /**
+     * Fallback chamado quando:
+     * - API fora
+     * - Timeout
+     * - Circuit aberto
+     */
+    private Mono<CepResponseDto> buscarPorCepFallback(String cep, CepNaoEncontradoException e) {
+        return Mono.error(e);
+    }
+
+    private Mono<CepResponseDto> buscarPorCepFallback(String cep, Throwable throwable) {
+        logger.warn("ReactiveViaCepClient - buscarPorCepFallback: Fallback acionado para CEP: {} - Motivo: {}", cep, throwable.getMessage());
+
+        return Mono.just(CepProviderRouter.respostaIndisponivel(cep));
+    }
+}
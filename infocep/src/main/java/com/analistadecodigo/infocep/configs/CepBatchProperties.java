@@ -0,0 +1,19 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.batch")
+public class CepBatchProperties {
+
+    /**
+     * Quantidade máxima de CEPs aceitos em uma única requisição de lote.
+     */
+    private int maxSize = 1_000;
+
+    /**
+     * Quantidade máxima de CEPs resolvidos em paralelo, somando todos os lotes em andamento.
+     */
+    private int concurrency = 8;
+}
@@ -0,0 +1,60 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.cache")
+public class CepCacheProperties {
+
+    /**
+     * Liga ou desliga o cache local de CEPs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Quantidade máxima de CEPs mantidos em memória antes da remoção por tamanho.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Tempo de vida de cada CEP no cache, contado a partir da escrita.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Idade a partir da qual um acesso ao CEP dispara a atualização em segundo plano.
+     * Deve ser menor que o ttl para que os CEPs mais acessados sejam renovados antes de expirar.
+     */
+    private Duration refreshAfter = Duration.ofHours(20);
+
+    /**
+     * Por quanto tempo a última resposta válida de cada CEP é guardada para ser servida
+     * quando os provedores falham ou o circuito está aberto.
+     */
+    private Duration staleTtl = Duration.ofDays(7);
+
+    /**
+     * Por quanto tempo um CEP que os provedores disseram não existir é respondido com 404 sem nova consulta.
+     * Mais curto que o ttl, para que CEPs recém-criados apareçam logo.
+     */
+    private Duration negativeTtl = Duration.ofHours(1);
+
+    /**
+     * Quantidade máxima de CEPs inexistentes mantidos no cache negativo.
+     */
+    private long negativeMaximumSize = 100_000;
+
+    /**
+     * Quantidade máxima de CEPs com o JSON da resposta já serializado, escrito direto nos acertos sem passar pelo Jackson.
+     * Zero desliga.
+     */
+    private long serializedMaximumSize = 10_000;
+
+    /**
+     * Guarda também a versão gzip do JSON serializado, enviada a quem aceita gzip.
+     */
+    private boolean serializedGzip = true;
+}
@@ -0,0 +1,35 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.index")
+public class CepIndexProperties {
+
+    /**
+     * Liga a consulta ao índice local antes da ViaCEP.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Caminho do arquivo gerado pelo CepIndexImporter.
+     */
+    private String path = "/data/ceps.idx";
+
+    /**
+     * Monta, junto com o índice, o índice reverso por UF, cidade e logradouro usado em /infocep/logradouros.
+     */
+    private boolean reverseEnabled = true;
+
+    /**
+     * Quantidade máxima de endereços devolvidos por busca de logradouro.
+     */
+    private int reverseMaxResults = 50;
+
+    /**
+     * Tamanho máximo da página em /infocep/faixa. As páginas são escritas em streaming, registro a registro,
+     * então o limite controla a duração de cada resposta e não a memória.
+     */
+    private int rangeMaxPageSize = 10_000;
+}
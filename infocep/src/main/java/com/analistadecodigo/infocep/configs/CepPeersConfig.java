@@ -0,0 +1,28 @@
+package com.analistadecodigo.infocep.configs;
+
+import com.analistadecodigo.infocep.peers.CepPeerRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class CepPeersConfig {
+
+    /**
+     * Usa o mesmo pool de conexões dos provedores (cada réplica é uma rota própria no pool),
+     * com o timeout de resposta de infocep.peers.timeout no lugar do read-timeout dos provedores.
+     */
+    @Bean
+    public CepPeerRouter cepPeerRouter(CepPeersProperties properties, RestTemplateBuilder restTemplateBuilder,
+                                       CloseableHttpClient viaCepHttpClient, MeterRegistry meterRegistry) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(viaCepHttpClient);
+        requestFactory.setReadTimeout(properties.getTimeout());
+        RestTemplate restTemplate = restTemplateBuilder.build();
+        restTemplate.setRequestFactory(requestFactory);
+        return new CepPeerRouter(properties, restTemplate, meterRegistry);
+    }
+}
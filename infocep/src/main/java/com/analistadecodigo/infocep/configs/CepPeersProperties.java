@@ -0,0 +1,64 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.peers")
+public class CepPeersProperties {
+
+    /**
+     * Liga a divisão dos CEPs entre as réplicas. Desligado, cada réplica busca e guarda todos os CEPs sozinha.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Endereço desta réplica (host:porta), como as outras a enxergam. No Kubernetes, o IP do pod.
+     */
+    private String self = "";
+
+    /**
+     * Lista fixa de réplicas (host:porta), somada às descobertas pelo discovery-host.
+     */
+    private List<String> members = new ArrayList<>();
+
+    /**
+     * Nome DNS de um Service headless; cada endereço dele é uma réplica. Vazio usa só a lista fixa.
+     */
+    private String discoveryHost = "";
+
+    /**
+     * Porta usada com os endereços descobertos pelo discovery-host.
+     */
+    private int port = 8080;
+
+    /**
+     * Intervalo entre as resoluções do discovery-host.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(15);
+
+    /**
+     * Pontos de cada réplica no anel. Mais pontos dividem os CEPs de forma mais uniforme.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Tempo máximo de espera pela réplica dona. Deve cobrir a busca dela nos provedores;
+     * ao estourar, esta réplica busca o CEP por conta própria.
+     */
+    private Duration timeout = Duration.ofSeconds(3);
+
+    /**
+     * CEPs de outras réplicas mantidos aqui. Só os mais acessados ficam, pela política de admissão do Caffeine.
+     */
+    private long nearCacheMaximumSize = 2_000;
+
+    /**
+     * Tempo de vida de cada CEP no near cache, contado a partir da escrita.
+     */
+    private Duration nearCacheTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,35 @@
+package com.analistadecodigo.infocep.configs;
+
+import com.analistadecodigo.infocep.clients.CepProvider;
+import com.analistadecodigo.infocep.clients.CepProviderRouter;
+import com.analistadecodigo.infocep.clients.HttpCepProvider;
+import com.analistadecodigo.infocep.limiters.TokenBucketRateLimiter;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+public class CepProvidersConfig {
+
+    @Bean
+    public CepProviderRouter cepProviderRouter(CepProvidersProperties properties, RestTemplateBuilder restTemplateBuilder,
+                                               CircuitBreakerRegistry circuitBreakerRegistry,
+                                               ExecutorService cepProviderExecutor, MeterRegistry meterRegistry,
+                                               ObservationRegistry observationRegistry) {
+        List<CepProvider> provedores = properties.getInstances().stream()
+                .map(provedor -> (CepProvider) new HttpCepProvider(provedor.getName(), provedor.getUrl(),
+                        restTemplateBuilder, circuitBreakerRegistry.circuitBreaker(provedor.getName()),
+                        new TokenBucketRateLimiter(provedor.getName(),
+                                provedor.getRateLimit() != null ? provedor.getRateLimit() : properties.getRateLimit(),
+                                meterRegistry),
+                        observationRegistry))
+                .toList();
+        return new CepProviderRouter(provedores, properties.getHedge(), cepProviderExecutor, meterRegistry);
+    }
+}
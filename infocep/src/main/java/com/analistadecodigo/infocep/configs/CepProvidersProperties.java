@@ -0,0 +1,104 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.providers")
+public class CepProvidersProperties {
+
+    /**
+     * Provedores de CEP. Cada um usa o circuit breaker de mesmo nome em resilience4j.circuitbreaker.instances.
+     */
+    private List<Provider> instances = new ArrayList<>(List.of(new Provider("viaCep", "https://viacep.com.br/ws/{cep}/json/")));
+
+    private Hedge hedge = new Hedge();
+
+    /**
+     * Limite de taxa padrão, aplicado separadamente a cada provedor que não define o seu.
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    @Data
+    @NoArgsConstructor
+    public static class Provider {
+
+        private String name;
+
+        /**
+         * Modelo da URL com o marcador {cep}. A resposta deve seguir o formato da ViaCEP.
+         */
+        private String url;
+
+        /**
+         * Limite de taxa deste provedor. Quando ausente, vale infocep.providers.rate-limit.
+         */
+        private RateLimit rateLimit;
+
+        public Provider(String name, String url) {
+            this.name = name;
+            this.url = url;
+        }
+    }
+
+    @Data
+    public static class Hedge {
+
+        /**
+         * Dispara uma segunda requisição para outro provedor quando a primeira demora.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Percentil da latência recente do provedor principal usado como espera antes do hedge.
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Espera mínima antes do hedge, também usada enquanto não há amostras de latência.
+         */
+        private Duration minDelay = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class RateLimit {
+
+        private boolean enabled = true;
+
+        /**
+         * Chamadas por segundo permitidas a partir deste pod. O orçamento total do provedor
+         * deve ser dividido pela quantidade de réplicas.
+         */
+        private double permitsPerSecond = 20;
+
+        /**
+         * Tokens acumulados quando não há tráfego, liberados de uma vez em um pico.
+         */
+        private int burst = 40;
+
+        /**
+         * Fração do burst reservada às buscas interativas: lote e streaming só consomem tokens acima dela.
+         */
+        private double batchReserve = 0.25;
+
+        /**
+         * Espera máxima de uma busca interativa por um token antes de o provedor ser dado como indisponível.
+         */
+        private Duration interactiveMaxWait = Duration.ofMillis(100);
+
+        /**
+         * Espera máxima de uma busca de lote, streaming ou atualização em segundo plano por um token.
+         */
+        private Duration batchMaxWait = Duration.ofSeconds(2);
+
+        /**
+         * Quantidade máxima de threads esperando token ao mesmo tempo; acima disso a recusa é imediata.
+         */
+        private int maxWaiting = 200;
+    }
+}
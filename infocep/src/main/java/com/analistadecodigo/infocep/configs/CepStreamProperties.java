@@ -0,0 +1,33 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.stream")
+public class CepStreamProperties {
+
+    /**
+     * Quantidade máxima de CEPs em resolução ao mesmo tempo em cada requisição de streaming.
+     * Ao atingir o limite, a leitura da entrada pausa até alguma busca terminar.
+     */
+    private int concurrency = 32;
+
+    /**
+     * Quantidade máxima de CEPs em resolução ao mesmo tempo somando todas as requisições de streaming,
+     * para que vários streams juntos não inundem o pool dos provedores.
+     */
+    private int totalConcurrency = 128;
+
+    /**
+     * Tamanho máximo de uma linha da entrada, em caracteres. O excesso é descartado sem ser guardado em memória
+     * e a linha aparece na saída como INVALIDO.
+     */
+    private int maxLineLength = 8192;
+
+    /**
+     * A cada quantas linhas lidas uma linha de progresso é escrita na resposta.
+     * Zero ou negativo deixa só a linha de progresso final.
+     */
+    private int progressInterval = 10_000;
+}
@@ -0,0 +1,48 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.warmup")
+public class CepWarmupProperties {
+
+    /**
+     * Liga a gravação periódica dos CEPs mais acessados em disco e a carga do arquivo na inicialização.
+     */
+    private boolean snapshotEnabled = false;
+
+    /**
+     * Caminho do snapshot do cache. Deve ficar em um volume que sobreviva ao reinício do pod.
+     */
+    private String snapshotPath = "/data/cep-cache.snapshot";
+
+    /**
+     * Intervalo entre gravações do snapshot. Ele também é gravado no desligamento da aplicação.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+
+    /**
+     * Quantidade máxima de CEPs gravados, escolhidos entre os mais acessados do cache.
+     */
+    private int snapshotMaxEntries = 20_000;
+
+    /**
+     * Snapshots mais antigos que isso são ignorados na inicialização.
+     */
+    private Duration snapshotMaxAge = Duration.ofHours(24);
+
+    /**
+     * CEPs buscados antes de a aplicação ficar pronta, além dos que vieram do snapshot.
+     */
+    private List<String> ceps = new ArrayList<>();
+
+    /**
+     * Tempo máximo do aquecimento. Ao estourar, a aplicação fica pronta com o que já foi carregado.
+     */
+    private Duration timeout = Duration.ofSeconds(20);
+}
@@ -0,0 +1,23 @@
+package com.analistadecodigo.infocep.configs;
+
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Limites de concorrência adaptativos: um na entrada de GET /infocep/{cep} e outro nas chamadas aos provedores.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter cepInboundLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("inbound", properties.getInbound(), meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter cepOutboundLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter("outbound", properties.getOutbound(), meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Limite das requisições GET /infocep/{cep} em andamento neste pod.
+     */
+    private Limite inbound = new Limite(true, 100, 10, 1_000, 2.0, 0.2);
+
+    /**
+     * Limite das chamadas aos provedores em andamento. O máximo não deve passar de infocep.http-client.max-connections,
+     * senão o excesso só espera por conexão no pool.
+     */
+    private Limite outbound = new Limite(true, 20, 2, 50, 2.0, 0.2);
+
+    /**
+     * Valor do cabeçalho Retry-After das respostas 503 por excesso de carga.
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limite {
+
+        /**
+         * Quando desligado, todas as requisições são aceitas e só as métricas de concorrência são publicadas.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Limite inicial, ajustado a cada requisição concluída conforme a latência observada.
+         */
+        private int initialLimit = 20;
+
+        private int minLimit = 1;
+
+        private int maxLimit = 200;
+
+        /**
+         * Quanto a latência recente pode superar a latência de referência antes de o limite começar a cair.
+         * Com 2.0, o limite só diminui quando a latência dobra.
+         */
+        private double tolerance = 2.0;
+
+        /**
+         * Peso de cada novo cálculo do limite (0 a 1). Valores menores reagem mais devagar e oscilam menos.
+         */
+        private double smoothing = 0.2;
+    }
+}
@@ -0,0 +1,32 @@
+package com.analistadecodigo.infocep.configs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Libera as linhas DEBUG e acima dos loggers do infocep nas requisições sorteadas para amostragem,
+ * marcadas com {@value #CHAVE_MDC} no MDC. Nas demais não interfere e vale o nível configurado.
+ *
+ * Configurado no logback-spring.xml; roda antes da checagem de nível em toda chamada de log,
+ * então compara o nível primeiro e só depois consulta o MDC.
+ */
+public class DetalheAmostradoTurboFilter extends TurboFilter {
+
+    public static final String CHAVE_MDC = "infocep.amostrado";
+
+    private static final String PACOTE = "com.analistadecodigo.infocep";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || !level.isGreaterOrEqual(Level.DEBUG)
+                || MDC.get(CHAVE_MDC) == null
+                || !logger.getName().startsWith(PACOTE)) {
+            return FilterReply.NEUTRAL;
+        }
+        return FilterReply.ACCEPT;
+    }
+}
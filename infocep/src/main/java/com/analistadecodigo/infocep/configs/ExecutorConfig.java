@@ -0,0 +1,35 @@
+package com.analistadecodigo.infocep.configs;
+
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executores usados fora das threads de requisição.
+ * Com spring.threads.virtual.enabled=true o Tomcat já atende em virtual threads,
+ * e aqui as buscas em lote e os hedges entre provedores seguem o mesmo modo.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    @Bean
+    public ExecutorService cepBatchExecutor(CepBatchProperties properties, Environment environment) {
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? Thread.ofVirtual().name("cep-batch-", 1).factory()
+                : Thread.ofPlatform().name("cep-batch-", 1).daemon(true).factory();
+        return Executors.newFixedThreadPool(properties.getConcurrency(), threadFactory);
+    }
+
+    @Bean
+    public ExecutorService cepProviderExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cep-provider-", 1).factory());
+        }
+        return Executors.newCachedThreadPool(Thread.ofPlatform().name("cep-provider-", 1).daemon(true).factory());
+    }
+}
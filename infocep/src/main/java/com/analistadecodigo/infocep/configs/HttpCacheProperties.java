@@ -0,0 +1,27 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.http-cache")
+public class HttpCacheProperties {
+
+    /**
+     * Envia ETag e Cache-Control em GET /infocep/{cep} e responde If-None-Match com 304.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Por quanto tempo CDN, ingress e clientes podem reutilizar a resposta sem revalidar (max-age).
+     */
+    private Duration maxAge = Duration.ofHours(1);
+
+    /**
+     * Por quanto tempo depois do max-age a resposta ainda pode ser servida enquanto é revalidada em segundo plano
+     * (stale-while-revalidate). Zero não envia a diretiva.
+     */
+    private Duration staleWhileRevalidate = Duration.ofDays(1);
+}
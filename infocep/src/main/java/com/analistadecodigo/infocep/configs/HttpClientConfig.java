@@ -0,0 +1,164 @@
+package com.analistadecodigo.infocep.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.ConnectionEndpoint;
+import org.apache.hc.client5.http.io.LeaseRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.boot.restclient.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Clientes HTTP de saída com pool de conexões, keep-alive e timeouts explícitos.
+ *
+ * Métricas:
+ * - bloqueante: httpcomponents.httpclient.pool.*, infocep.http-client.pool.wait e infocep.http-client.connect
+ * - reativo: reactor.netty.connection.provider.* (pool "viacep")
+ */
+@Configuration
+public class HttpClientConfig {
+
+    private static final String POOL = "viacep";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager viaCepConnectionManager(HttpClientProperties properties,
+                                                                      MeterRegistry meterRegistry) {
+        MeteredConnectionManager connectionManager = new MeteredConnectionManager(
+                Timer.builder("infocep.http-client.pool.wait")
+                        .description("Tempo esperando uma conexão livre no pool")
+                        .tag("pool", POOL)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry),
+                Timer.builder("infocep.http-client.connect")
+                        .description("Tempo para abrir uma conexão nova: DNS, TCP e handshake TLS")
+                        .tag("pool", POOL)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+        connectionManager.setMaxTotal(properties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+        connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.of(properties.getConnectTimeout()))
+                .setSocketTimeout(Timeout.of(properties.getReadTimeout()))
+                .setTimeToLive(TimeValue.of(properties.getTimeToLive()))
+                .build());
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient viaCepHttpClient(PoolingHttpClientConnectionManager viaCepConnectionManager,
+                                                HttpClientProperties properties) {
+        return HttpClients.custom()
+                .setConnectionManager(viaCepConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(properties.getConnectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(properties.getReadTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.of(properties.getIdleEviction()))
+                .evictExpiredConnections()
+                .build();
+    }
+
+    @Bean
+    public RestTemplateCustomizer pooledRestTemplateCustomizer(CloseableHttpClient viaCepHttpClient) {
+        return restTemplate -> restTemplate.setRequestFactory(new HttpComponentsClientHttpRequestFactory(viaCepHttpClient));
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider viaCepConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder(POOL)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleEviction())
+                .maxLifeTime(properties.getTimeToLive())
+                .evictInBackground(properties.getIdleEviction())
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Substitui o conector padrão usado pelo WebClient.Builder do Spring Boot.
+     */
+    @Bean
+    public ReactorClientHttpConnector viaCepClientHttpConnector(ConnectionProvider viaCepConnectionProvider,
+                                                                HttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(viaCepConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .keepAlive(true);
+        if (properties.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return new ReactorClientHttpConnector(httpClient);
+    }
+
+    /**
+     * Pool do Apache HttpClient que mede quanto tempo cada requisição espera por uma conexão
+     * e quanto custa abrir as conexões novas.
+     */
+    static class MeteredConnectionManager extends PoolingHttpClientConnectionManager {
+
+        private final Timer espera;
+        private final Timer conexao;
+
+        MeteredConnectionManager(Timer espera, Timer conexao) {
+            this.espera = espera;
+            this.conexao = conexao;
+        }
+
+        @Override
+        public void connect(ConnectionEndpoint endpoint, TimeValue timeout, HttpContext context) throws IOException {
+            long inicio = System.nanoTime();
+            try {
+                super.connect(endpoint, timeout, context);
+            } finally {
+                conexao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public LeaseRequest lease(String id, HttpRoute route, Timeout requestTimeout, Object state) {
+            LeaseRequest pedido = super.lease(id, route, requestTimeout, state);
+            long inicio = System.nanoTime();
+            return new LeaseRequest() {
+
+                @Override
+                public ConnectionEndpoint get(Timeout timeout)
+                        throws InterruptedException, ExecutionException, TimeoutException {
+                    try {
+                        return pedido.get(timeout);
+                    } finally {
+                        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    }
+                }
+
+                @Override
+                public boolean cancel() {
+                    return pedido.cancel();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.http-client")
+public class HttpClientProperties {
+
+    /**
+     * Total de conexões abertas no pool, somando todos os destinos.
+     */
+    private int maxConnections = 50;
+
+    /**
+     * Máximo de conexões abertas para um mesmo destino (host e porta).
+     */
+    private int maxConnectionsPerRoute = 50;
+
+    /**
+     * Tempo máximo para abrir a conexão TCP/TLS.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Tempo máximo esperando a resposta depois de enviar a requisição.
+     */
+    private Duration readTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Tempo máximo esperando uma conexão livre no pool.
+     */
+    private Duration connectionRequestTimeout = Duration.ofMillis(500);
+
+    /**
+     * Conexões ociosas por mais tempo que isso são fechadas.
+     */
+    private Duration idleEviction = Duration.ofSeconds(30);
+
+    /**
+     * Tempo máximo de vida de uma conexão, mesmo em uso contínuo.
+     */
+    private Duration timeToLive = Duration.ofMinutes(5);
+
+    /**
+     * Negocia HTTP/2 via ALPN no cliente reativo quando o servidor suporta.
+     */
+    private boolean http2 = true;
+}
@@ -0,0 +1,18 @@
+package com.analistadecodigo.infocep.configs;
+
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.integration.Slf4jThreadLocalAccessor;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propaga a marca de amostragem do MDC para as threads que recebem o contexto capturado
+ * (hedge dos provedores), para que as linhas de detalhe da mesma requisição saiam juntas.
+ */
+@Configuration
+public class LoggingConfig {
+
+    public LoggingConfig() {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(
+                new Slf4jThreadLocalAccessor(DetalheAmostradoTurboFilter.CHAVE_MDC));
+    }
+}
@@ -0,0 +1,21 @@
+package com.analistadecodigo.infocep.configs;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "infocep.logging")
+public class LoggingProperties {
+
+    /**
+     * Escreve uma linha INFO por busca de CEP com o CEP, a origem da resposta, a espera pelos provedores,
+     * o status HTTP e a duração total.
+     */
+    private boolean summaryEnabled = true;
+
+    /**
+     * Fração das buscas (0 a 1) que também escrevem as linhas de detalhe, em DEBUG, do controller, do serviço
+     * e dos provedores, independente do nível configurado. 0 desliga a amostragem.
+     */
+    private double sampleRate = 0.01;
+}
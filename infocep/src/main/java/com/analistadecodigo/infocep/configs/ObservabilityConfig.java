@@ -0,0 +1,35 @@
+package com.analistadecodigo.infocep.configs;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import java.util.regex.Pattern;
+
+/**
+ * Ajustes nas métricas e spans automáticos do Spring Boot (http.client.requests, http.server.requests).
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    private static final Pattern CEP_NA_URI = Pattern.compile("/\\d{5}-?\\d{3}(?=/|$)");
+
+    /**
+     * Os provedores recebem a URL já com o CEP, e o RestTemplate usaria cada URL como uma tag uri diferente
+     * em http.client.requests. Aqui o CEP volta a ser o marcador {cep}, mantendo uma série por provedor e status.
+     */
+    @Bean
+    public ClientRequestObservationConvention cepClientRequestObservationConvention() {
+        return new DefaultClientRequestObservationConvention() {
+
+            @Override
+            protected KeyValue uri(ClientRequestObservationContext context) {
+                KeyValue uri = super.uri(context);
+                return KeyValue.of(uri.getKey(), CEP_NA_URI.matcher(uri.getValue()).replaceAll("/{cep}"));
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.analistadecodigo.infocep.configs;
+
+import com.analistadecodigo.infocep.controllers.CepJsonHttpMessageConverter;
+import com.analistadecodigo.infocep.controllers.ConcurrencyLimitInterceptor;
+import com.analistadecodigo.infocep.controllers.LookupSummaryInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final LookupSummaryInterceptor lookupSummaryInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final CepJsonHttpMessageConverter cepJsonHttpMessageConverter;
+
+    public WebConfig(LookupSummaryInterceptor lookupSummaryInterceptor, ConcurrencyLimitInterceptor concurrencyLimitInterceptor,
+                     JsonMapper jsonMapper, CepCacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.lookupSummaryInterceptor = lookupSummaryInterceptor;
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+        this.cepJsonHttpMessageConverter = new CepJsonHttpMessageConverter(jsonMapper, cacheProperties, meterRegistry);
+    }
+
+    /**
+     * Conversor da busca de CEP antes do JSON padrão; só no servidor, o RestClient dos provedores não o vê.
+     */
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.addCustomConverter(cepJsonHttpMessageConverter);
+    }
+
+    /**
+     * Lote e streaming ficam fora do limite de entrada: têm latência de outra ordem e controle de concorrência próprio.
+     * As buscas deles ainda passam pelo limite de saída no CepService. A faixa também fica fora: só lê o índice local
+     * e cada resposta é limitada pelo tamanho da página.
+     * O resumo vem antes do limite para registrar também as requisições recusadas com 503;
+     * a busca por logradouro e a faixa não são busca de um CEP e ficam fora dele.
+     * A busca encaminhada por outra réplica passa pelo limite, mas não pelo resumo, que já foi registrado na réplica
+     * que recebeu a requisição; recusada com 503, ela segue na réplica que encaminhou.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(lookupSummaryInterceptor)
+                .addPathPatterns("/infocep/*")
+                .excludePathPatterns("/infocep/batch", "/infocep/stream", "/infocep/logradouros", "/infocep/faixa");
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/infocep/*", "/internal/peers/ceps/*")
+                .excludePathPatterns("/infocep/batch", "/infocep/stream", "/infocep/faixa");
+    }
+}
@@ -0,0 +1,34 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.dtos.CepBatchItemDto;
+import com.analistadecodigo.infocep.dtos.CepRequestDto;
+import com.analistadecodigo.infocep.services.CepBatchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/infocep")
+public class CepBatchController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepBatchController.class);
+    private final CepBatchService cepBatchService;
+
+    public CepBatchController(CepBatchService cepBatchService) {
+        this.cepBatchService = cepBatchService;
+    }
+
+    @PostMapping("/batch")
+    public List<CepBatchItemDto> buscarCeps(@RequestBody List<CepRequestDto> ceps) {
+        logger.info("CepBatchController - buscarCeps: Iniciando busca em lote de {} CEPs", ceps.size());
+
+        List<CepBatchItemDto> response = cepBatchService.buscarPorCeps(ceps);
+        logger.info("CepBatchController - buscarCeps: Busca em lote concluída com {} CEPs distintos", response.size());
+        return response;
+    }
+}
@@ -1,9 +1,12 @@
 package com.analistadecodigo.infocep.controllers;
 
 import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepInvalidoException;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
 import com.analistadecodigo.infocep.services.CepService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -11,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/infocep")
+@ConditionalOnProperty(name = "infocep.lookup.mode", havingValue = "blocking", matchIfMissing = true)
 public class CepController {
 
     private static final Logger logger = LoggerFactory.getLogger(CepController.class);
@@ -22,17 +26,19 @@ public class CepController {
 
     @GetMapping("/{cep}")
     public CepResponseDto buscarCep(@PathVariable String cep) {
-        logger.info("CepController - buscarCep: Iniciando busca de CEP: {}", cep);
+        logger.debug("CepController - buscarCep: Iniciando busca de CEP: {}", cep);
 
         try {
             CepResponseDto response = cepService.buscarPorCep(cep);
-            logger.info("CepController - buscarCep: Busca de CEP {} concluída com sucesso. Endereço: {}, {}",
+            logger.debug("CepController - buscarCep: Busca de CEP {} concluída com sucesso. Endereço: {}, {}",
                     cep, response.getLogradouro(), response.getLocalidade());
             return response;
+        } catch (CepInvalidoException | CepNaoEncontradoException e) {
+            logger.debug("CepController - buscarCep: CEP {} recusado - {}", cep, e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.warn("CepController - buscarCep - Exception: Erro ao buscar CEP: {} - Erro: {}", cep, e.getMessage());
             throw e;
         }
     }
 }
-
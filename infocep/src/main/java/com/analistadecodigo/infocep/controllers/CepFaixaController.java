@@ -0,0 +1,120 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.indexes.FaixaDeCeps;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Consulta por faixa de CEPs (de/ate) ou por prefixo ("01310" vai de 01310000 a 01310999), a partir do índice local.
+ *
+ * A resposta é NDJSON, um endereço por linha, escrito direto do arquivo mapeado: nada é montado em lista,
+ * então a memória por requisição é a mesma para 10 ou 10.000 CEPs. A paginação é por chave: quando a faixa
+ * não cabe na página, X-Infocep-Proximo traz o CEP que abre a próxima, para repetir a consulta com de=proximo
+ * (com prefixo, de é só o ponto de partida dentro dele).
+ * X-Infocep-Restantes conta os CEPs da faixa a partir desta página, inclusive os dela.
+ */
+@RestController
+@RequestMapping("/infocep")
+public class CepFaixaController {
+
+    static final String HEADER_PROXIMO = "X-Infocep-Proximo";
+    static final String HEADER_RESTANTES = "X-Infocep-Restantes";
+
+    private static final Logger logger = LoggerFactory.getLogger(CepFaixaController.class);
+    private static final int BUFFER_SAIDA = 64 * 1024;
+    private static final int DIGITOS = 8;
+    private static final int POSICAO_HIFEN = 5;
+
+    private final LocalCepIndex localCepIndex;
+    private final JsonMapper jsonMapper;
+    private final int tamanhoMaximoDaPagina;
+
+    public CepFaixaController(LocalCepIndex localCepIndex, JsonMapper jsonMapper, CepIndexProperties properties) {
+        this.localCepIndex = localCepIndex;
+        this.jsonMapper = jsonMapper;
+        this.tamanhoMaximoDaPagina = properties.getRangeMaxPageSize();
+    }
+
+    @GetMapping(value = "/faixa", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void buscarFaixa(@RequestParam(required = false) String de, @RequestParam(required = false) String ate,
+                            @RequestParam(required = false) String prefixo,
+                            @RequestParam(defaultValue = "1000") int limite,
+                            HttpServletResponse response) throws IOException {
+        Cep inicio;
+        Cep fim;
+        if (prefixo != null) {
+            int[] faixa = faixaDoPrefixo(prefixo);
+            inicio = new Cep(de != null ? Math.max(Cep.of(de).valor(), faixa[0]) : faixa[0]);
+            fim = new Cep(faixa[1]);
+        } else if (de != null && ate != null) {
+            inicio = Cep.of(de);
+            fim = Cep.of(ate);
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe prefixo ou de e ate");
+        }
+        if (inicio.compareTo(fim) > 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Faixa invertida: " + inicio + " > " + fim);
+        }
+
+        FaixaDeCeps pagina = localCepIndex.faixa(inicio, fim, Math.clamp(limite, 1, tamanhoMaximoDaPagina));
+        logger.debug("CepFaixaController - buscarFaixa: {} de {} CEPs entre {} e {}",
+                pagina.tamanho(), pagina.restantes(), inicio, fim);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HEADER_RESTANTES, String.valueOf(pagina.restantes()));
+        if (pagina.proximo() >= 0) {
+            response.setHeader(HEADER_PROXIMO, new Cep(pagina.proximo()).toString());
+        }
+        OutputStream saida = new BufferedOutputStream(response.getOutputStream(), BUFFER_SAIDA);
+        for (int i = 0; i < pagina.tamanho(); i++) {
+            saida.write(jsonMapper.writeValueAsBytes(pagina.endereco(i)));
+            saida.write('\n');
+        }
+        saida.flush();
+    }
+
+    /**
+     * De 1 a 8 dígitos, com hífen opcional depois do quinto.
+     *
+     * @return o primeiro e o último CEP que começam com o prefixo
+     */
+    static int[] faixaDoPrefixo(String prefixo) {
+        String texto = prefixo.strip();
+        int valor = 0;
+        int digitos = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9' && digitos < DIGITOS) {
+                valor = valor * 10 + (c - '0');
+                digitos++;
+            } else if (c != '-' || i != POSICAO_HIFEN) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Prefixo de CEP inválido: " + prefixo);
+            }
+        }
+        if (digitos == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Prefixo de CEP inválido: " + prefixo);
+        }
+        int escala = 1;
+        for (int i = digitos; i < DIGITOS; i++) {
+            escala *= 10;
+        }
+        return new int[]{valor * escala, valor * escala + escala - 1};
+    }
+}
@@ -0,0 +1,117 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.HttpCacheProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Semântica de cache HTTP da busca de CEP:
+ * - ETag forte calculado dos campos do {@link CepResponseDto}, sem serializar a resposta
+ * - Cache-Control público com max-age e stale-while-revalidate configuráveis
+ * - If-None-Match igual ao ETag responde 304 sem corpo; como roda depois do serviço, o CEP em cache
+ *   ou no índice local é revalidado sem chamar os provedores
+ * - a última versão conhecida (stale) leva no-cache, para ser revalidada a cada uso
+ * - o fallback de indisponibilidade leva no-store e nenhum ETag, para nunca ficar guardado em CDN ou cliente
+ */
+@RestControllerAdvice
+public class CepHttpCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final boolean habilitado;
+    private final CacheControl cacheControl;
+
+    public CepHttpCacheAdvice(HttpCacheProperties properties) {
+        this.habilitado = properties.isEnabled();
+        CacheControl cacheControl = CacheControl.maxAge(properties.getMaxAge()).cachePublic();
+        if (!properties.getStaleWhileRevalidate().isZero()) {
+            cacheControl = cacheControl.staleWhileRevalidate(properties.getStaleWhileRevalidate());
+        }
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return habilitado;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof CepResponseDto cep)) {
+            return body;
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        if (cep.isFallback()) {
+            headers.setCacheControl(CacheControl.noStore());
+            return body;
+        }
+
+        String etag = etag(cep);
+        headers.setETag(etag);
+        headers.setCacheControl(cep.isStale() ? CacheControl.noCache() : cacheControl);
+        if (corresponde(request.getHeaders().getIfNoneMatch(), etag)) {
+            naoModificado(response);
+            return null;
+        }
+        return body;
+    }
+
+    /**
+     * Sem corpo nenhum conversor escreve a resposta; o flush envia status e cabeçalhos.
+     */
+    private static void naoModificado(ServerHttpResponse response) {
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        try {
+            response.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os campos serializados, com um separador entre eles para que
+     * ("ab", "c") e ("a", "bc") gerem ETags diferentes. Os marcadores fallback e stale não vão no JSON e ficam de fora.
+     */
+    static String etag(CepResponseDto cep) {
+        long hash = FNV_OFFSET;
+        for (String campo : new String[]{cep.getCep(), cep.getLogradouro(), cep.getComplemento(), cep.getBairro(),
+                cep.getLocalidade(), cep.getUf(), cep.getIbge(), cep.getGia(), cep.getDdd(), cep.getSiafi()}) {
+            if (campo != null) {
+                for (int i = 0; i < campo.length(); i++) {
+                    hash = (hash ^ campo.charAt(i)) * FNV_PRIME;
+                }
+            }
+            hash = (hash ^ (campo == null ? 0xFFFF : 0xFFFE)) * FNV_PRIME;
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * If-None-Match usa comparação fraca (RFC 9110): W/"x" também corresponde a "x".
+     */
+    private static boolean corresponde(List<String> ifNoneMatch, String etag) {
+        for (String valor : ifNoneMatch) {
+            if (valor.equals("*") || valor.equals(etag) || (valor.startsWith("W/") && valor.substring(2).equals(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
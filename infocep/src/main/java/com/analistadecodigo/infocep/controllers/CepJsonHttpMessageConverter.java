@@ -0,0 +1,168 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escreve o {@link CepResponseDto} da busca de CEP a partir de bytes já serializados, sem passar pelo Jackson
+ * a cada acerto de cache. Registrado antes do conversor JSON padrão, atende apenas esse tipo e apenas na escrita.
+ *
+ * Os bytes ficam num cache próprio, limitado a serialized-maximum-size CEPs, e não no {@link com.analistadecodigo.infocep.caches.CepCache},
+ * para não desfazer a compactação do L1 nem mudar o snapshot: só os CEPs mais consultados carregam o JSON pronto.
+ * A entrada guarda o DTO que a gerou e só é usada quando o DTO atual é igual a ele, então uma atualização do CEP
+ * nunca serve JSON antigo. Fallback e stale são raros e sempre serializados na hora.
+ *
+ * Com serialized-gzip, guarda também a versão gzip e a envia a quem aceita gzip no Accept-Encoding,
+ * com Vary: Accept-Encoding e o ETag enfraquecido (a representação comprimida não é byte a byte a mesma).
+ * As métricas ficam em infocep.cache.serialized (result=hit|miss).
+ */
+public class CepJsonHttpMessageConverter extends AbstractHttpMessageConverter<CepResponseDto> {
+
+    private static final String GZIP = "gzip";
+
+    private final JsonMapper mapper;
+    private final boolean gzipHabilitado;
+    private final Cache<String, RespostaSerializada> respostas;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CepJsonHttpMessageConverter(JsonMapper mapper, CepCacheProperties properties, MeterRegistry meterRegistry) {
+        super(MediaType.APPLICATION_JSON);
+        this.mapper = mapper;
+        this.gzipHabilitado = properties.isSerializedGzip();
+        this.respostas = Caffeine.newBuilder()
+                .maximumSize(properties.getSerializedMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.hits = Counter.builder("infocep.cache.serialized")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("infocep.cache.serialized")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CepResponseDto.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected CepResponseDto readInternal(Class<? extends CepResponseDto> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("CepJsonHttpMessageConverter só escreve respostas", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(CepResponseDto endereco, HttpOutputMessage outputMessage) throws IOException {
+        RespostaSerializada resposta = serializada(endereco);
+        HttpHeaders headers = outputMessage.getHeaders();
+        byte[] corpo = resposta.json();
+        if (resposta.gzip() != null) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (aceitaGzip()) {
+                corpo = resposta.gzip();
+                headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+                String etag = headers.getETag();
+                if (etag != null && !etag.startsWith("W/")) {
+                    headers.setETag("W/" + etag);
+                }
+            }
+        }
+        headers.setContentLength(corpo.length);
+        outputMessage.getBody().write(corpo);
+    }
+
+    RespostaSerializada serializada(CepResponseDto endereco) {
+        if (endereco.isFallback() || endereco.isStale() || endereco.getCep() == null) {
+            return new RespostaSerializada(endereco, mapper.writeValueAsBytes(endereco), null);
+        }
+
+        RespostaSerializada emCache = respostas.getIfPresent(endereco.getCep());
+        if (emCache != null && emCache.endereco().equals(endereco)) {
+            hits.increment();
+            return emCache;
+        }
+
+        misses.increment();
+        byte[] json = mapper.writeValueAsBytes(endereco);
+        RespostaSerializada nova = new RespostaSerializada(endereco, json, gzipHabilitado ? comprimir(json) : null);
+        respostas.put(endereco.getCep(), nova);
+        return nova;
+    }
+
+    /**
+     * @return os bytes em gzip, ou {@code null} quando não ficam menores que o JSON
+     */
+    private static byte[] comprimir(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.size() < json.length ? saida.toByteArray() : null;
+    }
+
+    /**
+     * Accept-Encoding com gzip (ou *) e q diferente de zero.
+     */
+    private static boolean aceitaGzip() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return false;
+        }
+        HttpServletRequest request = atributos.getRequest();
+        Enumeration<String> valores = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (valores != null && valores.hasMoreElements()) {
+            for (String codificacao : valores.nextElement().split(",")) {
+                String[] partes = codificacao.split(";");
+                String nome = partes[0].trim();
+                if ((nome.equalsIgnoreCase(GZIP) || nome.equals("*")) && !qualidadeZero(partes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean qualidadeZero(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    record RespostaSerializada(CepResponseDto endereco, byte[] json, byte[] gzip) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Busca reversa e autocomplete: endereços de uma cidade cujo logradouro começa com o texto informado.
+ * Responde só a partir do índice local, sem consultar cache nem provedores.
+ */
+@RestController
+@RequestMapping("/infocep")
+public class CepLogradouroController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepLogradouroController.class);
+    private final LocalCepIndex localCepIndex;
+    private final int maximoDeResultados;
+
+    public CepLogradouroController(LocalCepIndex localCepIndex, CepIndexProperties properties) {
+        this.localCepIndex = localCepIndex;
+        this.maximoDeResultados = properties.getReverseMaxResults();
+    }
+
+    @GetMapping("/logradouros")
+    public List<CepResponseDto> buscarPorLogradouro(@RequestParam String uf, @RequestParam String localidade,
+                                                    @RequestParam(defaultValue = "") String logradouro,
+                                                    @RequestParam(defaultValue = "10") int limite) {
+        List<CepResponseDto> response = localCepIndex.buscarPorLogradouro(uf, localidade, logradouro,
+                Math.clamp(limite, 1, maximoDeResultados));
+        logger.debug("CepLogradouroController - buscarPorLogradouro: {} endereços para {}/{} - logradouro: {}",
+                response.size(), uf, localidade, logradouro);
+        return response;
+    }
+}
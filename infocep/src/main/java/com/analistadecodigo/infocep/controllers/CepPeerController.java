@@ -0,0 +1,62 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepPeersProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.peers.CepPeerRouter;
+import com.analistadecodigo.infocep.services.CepService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Busca encaminhada por outra réplica para esta, que é a dona do CEP no anel do
+ * {@link CepPeerRouter}. Responde como /infocep/{cep}, mas nunca encaminha de novo. O 404 de CEP inexistente leva
+ * o cabeçalho {@value CepPeerRouter#NAO_ENCONTRADO_HEADER}, para não ser confundido com um 404 de rota ausente.
+ * O fallback de indisponibilidade leva o cabeçalho {@value CepPeerRouter#FALLBACK_HEADER}, para que a
+ * réplica que encaminhou siga a busca por conta própria em vez de repassá-lo.
+ *
+ * Fica fora de /infocep/*, que é o único caminho publicado no ingress, então só é alcançável de dentro do cluster.
+ * Passa pelo limite de entrada desta réplica, mas não pelo resumo, já registrado na réplica que recebeu a busca.
+ *
+ * É sempre registrado e responde 503 quando a divisão entre réplicas está desligada: uma condição em
+ * infocep.peers.enabled seria resolvida no build AOT, em que a divisão está desligada, e o endpoint sumiria da imagem.
+ */
+@RestController
+@RequestMapping("/internal/peers")
+public class CepPeerController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepPeerController.class);
+    private final CepService cepService;
+    private final boolean habilitado;
+
+    public CepPeerController(CepService cepService, CepPeersProperties properties) {
+        this.cepService = cepService;
+        this.habilitado = properties.isEnabled();
+    }
+
+    @GetMapping("/ceps/{cep}")
+    public ResponseEntity<CepResponseDto> buscarComoDono(@PathVariable String cep) {
+        if (!habilitado) {
+            logger.warn("CepPeerController - buscarComoDono: Busca de CEP {} encaminhada com a divisão entre réplicas desligada", cep);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Divisão entre réplicas desligada");
+        }
+        logger.debug("CepPeerController - buscarComoDono: Busca de CEP {} encaminhada por outra réplica", cep);
+        CepResponseDto response;
+        try {
+            response = cepService.buscarComoDono(cep);
+        } catch (CepNaoEncontradoException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).header(CepPeerRouter.NAO_ENCONTRADO_HEADER, "true").build();
+        }
+        if (response != null && response.isFallback()) {
+            return ResponseEntity.ok().header(CepPeerRouter.FALLBACK_HEADER, "true").body(response);
+        }
+        return ResponseEntity.ok(response);
+    }
+}
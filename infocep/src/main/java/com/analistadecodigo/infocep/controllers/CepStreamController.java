@@ -0,0 +1,47 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.services.CepStreamService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Enriquecimento de arquivos grandes. A requisição roda na própria thread do Tomcat (virtual),
+ * lendo a entrada e escrevendo a saída ao mesmo tempo, sem o timeout de requisições assíncronas.
+ */
+@RestController
+@RequestMapping("/infocep")
+public class CepStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepStreamController.class);
+    private static final String TEXT_CSV = "text/csv";
+
+    private final CepStreamService cepStreamService;
+
+    public CepStreamController(CepStreamService cepStreamService) {
+        this.cepStreamService = cepStreamService;
+    }
+
+    @PostMapping(value = "/stream", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void enriquecer(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream corpo,
+                           HttpServletResponse response) throws IOException {
+        CepStreamService.Formato formato = MediaType.parseMediaType(TEXT_CSV).isCompatibleWith(contentType)
+                ? CepStreamService.Formato.CSV
+                : CepStreamService.Formato.NDJSON;
+        logger.info("CepStreamController - enriquecer: Iniciando streaming de CEPs em {}", formato);
+
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        cepStreamService.enriquecer(corpo, formato, response.getOutputStream());
+    }
+}
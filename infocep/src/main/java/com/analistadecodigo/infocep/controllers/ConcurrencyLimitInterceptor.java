@@ -0,0 +1,101 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import com.analistadecodigo.infocep.services.ResumoDaBusca;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Recusa com 503 e Retry-After as buscas de CEP acima do limite de concorrência de entrada,
+ * antes de chegar ao controller.
+ *
+ * No modo reativo a requisição é despachada duas vezes; a permissão fica no atributo da requisição
+ * e só é devolvida no afterCompletion do segundo despacho.
+ *
+ * Só buscas que saíram desta réplica (provedores, réplica dona) ajustam o limite pela latência. Respostas do cache
+ * ou do índice local, segundo o {@link ResumoDaBusca}, só devolvem a vaga: levam microssegundos e, misturadas às
+ * que esperam os provedores, fariam toda busca comum parecer uma alta de latência e derrubariam o limite.
+ * Fora de /infocep/* (busca encaminhada por outra réplica) o resumo é iniciado aqui mesmo.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitInterceptor.class);
+    private static final String PERMISSAO = ConcurrencyLimitInterceptor.class.getName() + ".permissao";
+    private static final String LOCAL = ConcurrencyLimitInterceptor.class.getName() + ".local";
+    private static final String RESUMO_PROPRIO = ConcurrencyLimitInterceptor.class.getName() + ".resumoProprio";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter cepInboundLimiter, ConcurrencyLimitProperties properties) {
+        this.limiter = cepInboundLimiter;
+        this.retryAfter = properties.getRetryAfter();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMISSAO) == null) {
+            AdaptiveConcurrencyLimiter.Permissao permissao = limiter.tentarAdquirir().orElseThrow(() -> {
+                logger.warn("ConcurrencyLimitInterceptor - preHandle: Requisição recusada, limite de {} atingido", limiter.getLimite());
+                return new SobrecargaException("inbound", retryAfter);
+            });
+            request.setAttribute(PERMISSAO, permissao);
+        }
+        if (ResumoDaBusca.atual() == null) {
+            ResumoDaBusca.iniciar();
+            request.setAttribute(RESUMO_PROPRIO, Boolean.TRUE);
+        }
+        return true;
+    }
+
+    /**
+     * No modo reativo a busca no cache roda no primeiro despacho; a origem é guardada para o afterCompletion do segundo.
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (buscaLocal()) {
+            request.setAttribute(LOCAL, Boolean.TRUE);
+        }
+        encerrarResumoProprio(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        boolean local = request.getAttribute(LOCAL) != null || buscaLocal();
+        encerrarResumoProprio(request);
+        if (!(request.getAttribute(PERMISSAO) instanceof AdaptiveConcurrencyLimiter.Permissao permissao)) {
+            return;
+        }
+        request.removeAttribute(PERMISSAO);
+
+        int status = response.getStatus();
+        if (status >= 500 || (ex != null && status < 400)) {
+            permissao.descartar();
+        } else if (status >= 400 || local) {
+            permissao.ignorar();
+        } else {
+            permissao.sucesso();
+        }
+    }
+
+    private static boolean buscaLocal() {
+        ResumoDaBusca resumo = ResumoDaBusca.atual();
+        return resumo != null && resumo.isLocal();
+    }
+
+    private static void encerrarResumoProprio(HttpServletRequest request) {
+        if (request.getAttribute(RESUMO_PROPRIO) != null) {
+            request.removeAttribute(RESUMO_PROPRIO);
+            ResumoDaBusca.encerrar();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.DetalheAmostradoTurboFilter;
+import com.analistadecodigo.infocep.configs.LoggingProperties;
+import com.analistadecodigo.infocep.services.ResumoDaBusca;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Escreve uma única linha INFO por busca de CEP, com CEP, origem da resposta, espera pelos provedores, status e duração.
+ * Os campos também vão como pares chave-valor, que aparecem como campos próprios no log estruturado (perfil json-logs).
+ *
+ * Sorteia as requisições que terão as linhas de detalhe em DEBUG, marcando o MDC para o {@link DetalheAmostradoTurboFilter}.
+ * No modo reativo a busca roda fora da thread da requisição e a origem não é conhecida.
+ */
+@Component
+public class LookupSummaryInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LookupSummaryInterceptor.class);
+    private static final String INICIO = LookupSummaryInterceptor.class.getName() + ".inicio";
+    private static final String AMOSTRADA = LookupSummaryInterceptor.class.getName() + ".amostrada";
+
+    private final boolean resumoHabilitado;
+    private final double amostragem;
+
+    public LookupSummaryInterceptor(LoggingProperties properties) {
+        this.resumoHabilitado = properties.isSummaryEnabled();
+        this.amostragem = properties.getSampleRate();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(INICIO) == null) {
+            request.setAttribute(INICIO, System.nanoTime());
+            if (amostragem > 0 && ThreadLocalRandom.current().nextDouble() < amostragem) {
+                request.setAttribute(AMOSTRADA, Boolean.TRUE);
+            }
+        }
+        if (request.getAttribute(AMOSTRADA) != null) {
+            MDC.put(DetalheAmostradoTurboFilter.CHAVE_MDC, "true");
+        }
+        ResumoDaBusca.iniciar();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ResumoDaBusca.encerrar();
+        MDC.remove(DetalheAmostradoTurboFilter.CHAVE_MDC);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ResumoDaBusca resumo = ResumoDaBusca.encerrar();
+        MDC.remove(DetalheAmostradoTurboFilter.CHAVE_MDC);
+        if (!resumoHabilitado || !(request.getAttribute(INICIO) instanceof Long inicio)) {
+            return;
+        }
+
+        String cep = cep(request);
+        String origem = resumo == null || resumo.getOrigem() == null ? "-" : resumo.getOrigem().name();
+        long upstreamMs = resumo == null || resumo.getNanosNaOrigem() < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(resumo.getNanosNaOrigem());
+        int status = response.getStatus();
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        LoggingEventBuilder linha = logger.atInfo()
+                .addKeyValue("cep", cep)
+                .addKeyValue("origem", origem)
+                .addKeyValue("status", status)
+                .addKeyValue("duracaoMs", duracaoMs);
+        if (upstreamMs >= 0) {
+            linha = linha.addKeyValue("upstreamMs", upstreamMs);
+        }
+        linha.log("LookupSummaryInterceptor - afterCompletion: CEP {} - origem: {}, upstream: {} ms, status: {}, duração: {} ms",
+                cep, origem, upstreamMs, status, duracaoMs);
+    }
+
+    private static String cep(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variaveis
+                && variaveis.get("cep") instanceof String cep) {
+            return cep;
+        }
+        return request.getRequestURI();
+    }
+}
@@ -0,0 +1,39 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.services.ReactiveCepService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Substitui o {@link CepController} quando infocep.lookup.mode=reactive.
+ * O Spring MVC libera a thread da requisição e responde quando o Mono termina.
+ */
+@RestController
+@RequestMapping("/infocep")
+@ConditionalOnProperty(name = "infocep.lookup.mode", havingValue = "reactive")
+public class ReactiveCepController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCepController.class);
+    private final ReactiveCepService cepService;
+
+    public ReactiveCepController(ReactiveCepService cepService) {
+        this.cepService = cepService;
+    }
+
+    @GetMapping("/{cep}")
+    public Mono<CepResponseDto> buscarCep(@PathVariable String cep) {
+        logger.debug("ReactiveCepController - buscarCep: Iniciando busca de CEP: {}", cep);
+
+        return cepService.buscarPorCep(cep)
+                .doOnNext(response -> logger.debug("ReactiveCepController - buscarCep: Busca de CEP {} concluída com sucesso. Endereço: {}, {}",
+                        cep, response.getLogradouro(), response.getLocalidade()))
+                .doOnError(e -> logger.warn("ReactiveCepController - buscarCep - Exception: Erro ao buscar CEP: {} - Erro: {}", cep, e.getMessage()));
+    }
+}
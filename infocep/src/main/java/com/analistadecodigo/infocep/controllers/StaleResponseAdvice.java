@@ -0,0 +1,35 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marca com o cabeçalho {@value #STALE_HEADER} as respostas servidas a partir da última versão conhecida do CEP,
+ * para que o cliente saiba que os dados podem estar desatualizados.
+ */
+@RestControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Infocep-Stale";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof CepResponseDto cep && cep.isStale()) {
+            response.getHeaders().set(STALE_HEADER, "true");
+        }
+        return body;
+    }
+}
@@ -0,0 +1,93 @@
+package com.analistadecodigo.infocep.dtos;
+
+import com.analistadecodigo.infocep.exceptions.CepInvalidoException;
+
+/**
+ * CEP normalizado como os 8 dígitos em um int ("01310-100" e "01310100" viram 1310100).
+ * É a chave usada pelo serviço, pelos caches e pelo índice local; o texto só é montado
+ * quando precisa sair da aplicação (URL do provedor, logs, cache compartilhado).
+ */
+public record Cep(int valor) implements Comparable<Cep> {
+
+    private static final int MAXIMO = 99_999_999;
+    private static final int DIGITOS = 8;
+    private static final int POSICAO_HIFEN = 5;
+
+    public Cep {
+        if (valor < 0 || valor > MAXIMO) {
+            throw new CepInvalidoException(String.valueOf(valor));
+        }
+    }
+
+    /**
+     * @throws CepInvalidoException quando o texto não é um CEP com 8 dígitos, com ou sem hífen
+     */
+    public static Cep of(String texto) {
+        int valor = parse(texto);
+        if (valor < 0) {
+            throw new CepInvalidoException(texto);
+        }
+        return new Cep(valor);
+    }
+
+    /**
+     * Converte o texto sem alocar: ignora espaços nas pontas e aceita um único hífen depois do quinto dígito.
+     *
+     * @return o CEP como inteiro ou -1 quando o texto é inválido
+     */
+    public static int parse(CharSequence texto) {
+        if (texto == null) {
+            return -1;
+        }
+        int inicio = 0;
+        int fim = texto.length();
+        while (inicio < fim && Character.isWhitespace(texto.charAt(inicio))) {
+            inicio++;
+        }
+        while (fim > inicio && Character.isWhitespace(texto.charAt(fim - 1))) {
+            fim--;
+        }
+
+        int valor = 0;
+        int digitos = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > DIGITOS) {
+                    return -1;
+                }
+                valor = valor * 10 + (c - '0');
+            } else if (c != '-' || i - inicio != POSICAO_HIFEN) {
+                return -1;
+            }
+        }
+        return digitos == DIGITOS ? valor : -1;
+    }
+
+    /**
+     * @return os 8 dígitos, ex.: 01310100
+     */
+    @Override
+    public String toString() {
+        char[] texto = new char[DIGITOS];
+        int restante = valor;
+        for (int i = DIGITOS - 1; i >= 0; i--) {
+            texto[i] = (char) ('0' + restante % 10);
+            restante /= 10;
+        }
+        return new String(texto);
+    }
+
+    /**
+     * @return o CEP com hífen, ex.: 01310-100
+     */
+    public String formatado() {
+        String digitos = toString();
+        return digitos.substring(0, POSICAO_HIFEN) + '-' + digitos.substring(POSICAO_HIFEN);
+    }
+
+    @Override
+    public int compareTo(Cep outro) {
+        return Integer.compare(valor, outro.valor);
+    }
+}
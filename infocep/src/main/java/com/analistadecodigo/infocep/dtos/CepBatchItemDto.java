@@ -0,0 +1,32 @@
+package com.analistadecodigo.infocep.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CepBatchItemDto {
+
+    public enum Status {
+        OK,
+        FALLBACK,
+        NAO_ENCONTRADO,
+        INVALIDO,
+        ERRO
+    }
+
+    /**
+     * Linha da entrada, preenchida apenas no processamento em streaming (/infocep/stream).
+     */
+    private Long linha;
+    private String cep;
+    private Status status;
+    private CepResponseDto endereco;
+    private String erro;
+}
@@ -1,7 +1,7 @@
 package com.analistadecodigo.infocep.dtos;
 
+import com.analistadecodigo.infocep.validators.CepValido;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,6 +12,6 @@ import lombok.NoArgsConstructor;
 public class CepRequestDto {
 
     @NotBlank(message = "CEP é obrigatório")
-    @Pattern(regexp = "\\d{5}-?\\d{3}", message = "Formato de CEP inválido")
+    @CepValido
     private String cep;
 }
@@ -1,14 +1,17 @@
 package com.analistadecodigo.infocep.dtos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
-@AllArgsConstructor
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class CepResponseDto {
     private String cep;
     private String logradouro;
@@ -20,5 +23,25 @@ public class CepResponseDto {
     private String gia;
     private String ddd;
     private String siafi;
-}
 
+    /**
+     * "erro": true é como a ViaCEP responde a um CEP bem formatado que não existe.
+     * Só é lido da resposta do provedor, nunca escrito.
+     */
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private boolean erro;
+
+    /**
+     * Indica que a resposta veio do fallback do circuit breaker
+     * e não deve ser armazenada em cache.
+     */
+    @JsonIgnore
+    private boolean fallback;
+
+    /**
+     * Indica que a resposta é a última versão válida conhecida do CEP,
+     * servida porque os provedores falharam ou o circuito está aberto.
+     */
+    @JsonIgnore
+    private boolean stale;
+}
@@ -0,0 +1,24 @@
+package com.analistadecodigo.infocep.dtos;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Linha de progresso intercalada com os resultados do streaming, serializada como {"progresso": {...}}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonTypeName("progresso")
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT)
+public class CepStreamProgressoDto {
+    private long lidas;
+    private long concluidas;
+    private long falhas;
+    private boolean finalizado;
+}
@@ -0,0 +1,15 @@
+package com.analistadecodigo.infocep.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * CEP fora do formato 00000-000 / 00000000. Vira 400 sem nenhuma chamada externa.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class CepInvalidoException extends IllegalArgumentException {
+
+    public CepInvalidoException(String cep) {
+        super("Formato de CEP inválido: " + cep);
+    }
+}
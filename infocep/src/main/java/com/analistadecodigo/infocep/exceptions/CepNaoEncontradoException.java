@@ -0,0 +1,17 @@
+package com.analistadecodigo.infocep.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * CEP com formato válido que nenhum provedor conhece. Vira 404 e fica no cache negativo por infocep.cache.negative-ttl.
+ *
+ * Sem stack trace: é uma resposta esperada, repetida por clientes que insistem no mesmo CEP.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class CepNaoEncontradoException extends RuntimeException {
+
+    public CepNaoEncontradoException(String cep) {
+        super("CEP não encontrado: " + cep, null, false, false);
+    }
+}
@@ -0,0 +1,31 @@
+package com.analistadecodigo.infocep.exceptions;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * Requisição recusada pelo limite de concorrência. Vira 503 com Retry-After, sem esperar em fila.
+ */
+public class SobrecargaException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public SobrecargaException(String limitador, Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Limite de concorrência atingido: " + limitador);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+        return headers;
+    }
+}
@@ -0,0 +1,276 @@
+package com.analistadecodigo.infocep.indexes;
+
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Arquivo binário de CEPs mapeado em memória (fora do heap).
+ *
+ * Layout:
+ * <pre>
+ * int    MAGIC
+ * int    VERSAO
+ * int    quantidade
+ * int[]  ceps ordenados (8 dígitos como inteiro)
+ * int[]  deslocamento de cada registro a partir do início da área de dados
+ * byte[] registros: 10 campos, cada um como short (tamanho em bytes, -1 para nulo) + UTF-8
+ * </pre>
+ */
+public final class CepIndexFile {
+
+    static final int MAGIC = 0x43455049;
+    static final int VERSAO = 1;
+    private static final int CABECALHO = 3 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int quantidade;
+    private final int inicioDeslocamentos;
+    private final int inicioDados;
+
+    private CepIndexFile(ByteBuffer buffer) {
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSAO) {
+            throw new IllegalArgumentException("Arquivo de índice de CEP inválido ou de versão incompatível");
+        }
+        this.buffer = buffer;
+        this.quantidade = buffer.getInt(2 * Integer.BYTES);
+        this.inicioDeslocamentos = CABECALHO + quantidade * Integer.BYTES;
+        this.inicioDados = inicioDeslocamentos + quantidade * Integer.BYTES;
+    }
+
+    public static CepIndexFile abrir(Path arquivo) throws IOException {
+        try (FileChannel channel = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Arquivo de índice maior que 2GB não é suportado: " + arquivo);
+            }
+            MappedByteBuffer mapeado = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CepIndexFile(mapeado);
+        }
+    }
+
+    /**
+     * Converte "01310-100" ou "01310100" para o inteiro 1310100.
+     *
+     * @return a chave do CEP ou -1 quando o texto não tem exatamente 8 dígitos
+     */
+    public static int chave(String cep) {
+        return Cep.parse(cep);
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    /**
+     * @return o endereço do CEP ou {@code null} quando ele não está no índice
+     */
+    public CepResponseDto buscar(int cep) {
+        int posicao = posicao(cep);
+        return posicao < 0 ? null : lerNaPosicao(posicao);
+    }
+
+    /**
+     * Página de até {@code limite} CEPs entre {@code de} e {@code ate}, inclusive, em ordem. Só calcula posições;
+     * os registros são lidos do arquivo um a um por {@link FaixaDeCeps#endereco}.
+     */
+    public FaixaDeCeps faixa(int de, int ate, int limite) {
+        int inicio = primeiraPosicaoAPartirDe(de);
+        int fimDaFaixa = primeiraPosicaoAPartirDe(ate + 1);
+        if (inicio >= fimDaFaixa) {
+            return FaixaDeCeps.VAZIA;
+        }
+        int fim = inicio + Math.min(fimDaFaixa - inicio, limite);
+        int proximo = fim < fimDaFaixa ? buffer.getInt(CABECALHO + fim * Integer.BYTES) : -1;
+        return new FaixaDeCeps(this, inicio, fim, fimDaFaixa - inicio, proximo);
+    }
+
+    CepResponseDto lerNaPosicao(int posicao) {
+        return ler(inicioDados + buffer.getInt(inicioDeslocamentos + posicao * Integer.BYTES));
+    }
+
+    /**
+     * @return a posição do primeiro CEP maior ou igual a {@code cep}, ou {@link #tamanho()} quando não há
+     */
+    private int primeiraPosicaoAPartirDe(int cep) {
+        int inicio = 0;
+        int fim = quantidade;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (buffer.getInt(CABECALHO + meio * Integer.BYTES) < cep) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    /**
+     * Percorre os registros em ordem de CEP lendo apenas uf, localidade e logradouro, sem montar o {@link CepResponseDto}.
+     */
+    public void percorrer(Visitante visitante) {
+        for (int i = 0; i < quantidade; i++) {
+            int[] cursor = {inicioDados + buffer.getInt(inicioDeslocamentos + i * Integer.BYTES)};
+            pularCampo(cursor);
+            String logradouro = lerCampo(cursor);
+            pularCampo(cursor);
+            pularCampo(cursor);
+            String localidade = lerCampo(cursor);
+            String uf = lerCampo(cursor);
+            visitante.visitar(buffer.getInt(CABECALHO + i * Integer.BYTES), uf, localidade, logradouro);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitante {
+        void visitar(int cep, String uf, String localidade, String logradouro);
+    }
+
+    private int posicao(int cep) {
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int valor = buffer.getInt(CABECALHO + meio * Integer.BYTES);
+            if (valor < cep) {
+                inicio = meio + 1;
+            } else if (valor > cep) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    private CepResponseDto ler(int deslocamento) {
+        int[] cursor = {deslocamento};
+        return CepResponseDto.builder()
+                .cep(lerCampo(cursor))
+                .logradouro(lerCampo(cursor))
+                .complemento(lerCampo(cursor))
+                .bairro(lerCampo(cursor))
+                .localidade(lerCampo(cursor))
+                .uf(lerCampo(cursor))
+                .ibge(lerCampo(cursor))
+                .gia(lerCampo(cursor))
+                .ddd(lerCampo(cursor))
+                .siafi(lerCampo(cursor))
+                .build();
+    }
+
+    private String lerCampo(int[] cursor) {
+        short tamanho = buffer.getShort(cursor[0]);
+        cursor[0] += Short.BYTES;
+        if (tamanho < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        buffer.get(cursor[0], bytes);
+        cursor[0] += tamanho;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void pularCampo(int[] cursor) {
+        short tamanho = buffer.getShort(cursor[0]);
+        cursor[0] += Short.BYTES + Math.max(tamanho, 0);
+    }
+
+    /**
+     * Grava os endereços no formato do índice. CEPs repetidos mantêm o último registro.
+     * O arquivo é escrito ao lado do destino e movido no final, para que leitores nunca vejam um arquivo parcial.
+     */
+    public static void escrever(Collection<CepResponseDto> enderecos, Path destino) throws IOException {
+        CepResponseDto[] ordenados = enderecos.stream()
+                .filter(endereco -> chave(endereco.getCep()) >= 0)
+                .sorted(Comparator.comparingInt(endereco -> chave(endereco.getCep())))
+                .toArray(CepResponseDto[]::new);
+        ordenados = removerRepetidos(ordenados);
+
+        byte[][] registros = new byte[ordenados.length][];
+        for (int i = 0; i < ordenados.length; i++) {
+            registros[i] = serializar(ordenados[i]);
+        }
+
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        try (OutputStream arquivo = Files.newOutputStream(temporario);
+             DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(arquivo))) {
+            saida.writeInt(MAGIC);
+            saida.writeInt(VERSAO);
+            saida.writeInt(ordenados.length);
+            for (CepResponseDto endereco : ordenados) {
+                saida.writeInt(chave(endereco.getCep()));
+            }
+            int deslocamento = 0;
+            for (byte[] registro : registros) {
+                saida.writeInt(deslocamento);
+                deslocamento += registro.length;
+            }
+            for (byte[] registro : registros) {
+                saida.write(registro);
+            }
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static CepResponseDto[] removerRepetidos(CepResponseDto[] ordenados) {
+        int unicos = 0;
+        for (int i = 0; i < ordenados.length; i++) {
+            boolean ultimoDaChave = i + 1 == ordenados.length
+                    || chave(ordenados[i + 1].getCep()) != chave(ordenados[i].getCep());
+            if (ultimoDaChave) {
+                ordenados[unicos++] = ordenados[i];
+            }
+        }
+        return Arrays.copyOf(ordenados, unicos);
+    }
+
+    private static byte[] serializar(CepResponseDto endereco) {
+        String[] campos = {
+                endereco.getCep(), endereco.getLogradouro(), endereco.getComplemento(), endereco.getBairro(),
+                endereco.getLocalidade(), endereco.getUf(), endereco.getIbge(), endereco.getGia(),
+                endereco.getDdd(), endereco.getSiafi()
+        };
+        ByteBuffer registro = ByteBuffer.allocate(tamanhoSerializado(campos));
+        for (String campo : campos) {
+            if (campo == null) {
+                registro.putShort((short) -1);
+                continue;
+            }
+            byte[] bytes = campo.getBytes(StandardCharsets.UTF_8);
+            registro.putShort((short) bytes.length);
+            registro.put(bytes);
+        }
+        return registro.array();
+    }
+
+    private static int tamanhoSerializado(String[] campos) {
+        int tamanho = 0;
+        for (String campo : campos) {
+            tamanho += Short.BYTES;
+            if (campo != null) {
+                int bytes = campo.getBytes(StandardCharsets.UTF_8).length;
+                if (bytes > Short.MAX_VALUE) {
+                    throw new IllegalArgumentException("Campo com mais de " + Short.MAX_VALUE + " bytes: " + campo);
+                }
+                tamanho += bytes;
+            }
+        }
+        return tamanho;
+    }
+}
@@ -0,0 +1,129 @@
+package com.analistadecodigo.infocep.indexes;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gera o arquivo do índice local a partir de um dump de endereços.
+ *
+ * Formatos aceitos pela extensão da entrada:
+ * - .csv: cabeçalho com os nomes dos campos do CepResponseDto, separados por vírgula ou ponto e vírgula
+ * - .json / .ndjson: array JSON ou um objeto por linha
+ *
+ * Uso a partir do jar da aplicação:
+ * <pre>
+ * java -cp app.jar -Dloader.main=com.analistadecodigo.infocep.indexes.CepIndexImporter \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher ceps.csv ceps.idx
+ * </pre>
+ */
+public final class CepIndexImporter {
+
+    private CepIndexImporter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CepIndexImporter <entrada.csv|entrada.json|entrada.ndjson> <saida.idx>");
+            System.exit(1);
+        }
+
+        Path entrada = Paths.get(args[0]);
+        Path saida = Paths.get(args[1]);
+        List<CepResponseDto> enderecos = ler(entrada);
+        CepIndexFile.escrever(enderecos, saida);
+        System.out.printf("%d registros lidos de %s, índice gravado em %s%n", enderecos.size(), entrada, saida);
+    }
+
+    static List<CepResponseDto> ler(Path entrada) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(entrada, StandardCharsets.UTF_8)) {
+            return entrada.getFileName().toString().toLowerCase().endsWith(".csv") ? lerCsv(reader) : lerJson(reader);
+        }
+    }
+
+    static List<CepResponseDto> lerJson(Reader reader) {
+        JsonMapper mapper = JsonMapper.builder()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        List<CepResponseDto> enderecos = new ArrayList<>();
+        try (MappingIterator<CepResponseDto> iterator = mapper.readerFor(CepResponseDto.class).readValues(reader)) {
+            iterator.forEachRemaining(enderecos::add);
+        }
+        return enderecos;
+    }
+
+    static List<CepResponseDto> lerCsv(BufferedReader reader) throws IOException {
+        String cabecalho = reader.readLine();
+        if (cabecalho == null) {
+            return List.of();
+        }
+        char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        List<String> colunas = separar(cabecalho, separador);
+
+        List<CepResponseDto> enderecos = new ArrayList<>();
+        String linha;
+        while ((linha = reader.readLine()) != null) {
+            if (linha.isBlank()) {
+                continue;
+            }
+            List<String> valores = separar(linha, separador);
+            Map<String, String> campos = new HashMap<>();
+            for (int i = 0; i < colunas.size() && i < valores.size(); i++) {
+                campos.put(colunas.get(i).trim(), valores.get(i).isEmpty() ? null : valores.get(i));
+            }
+            enderecos.add(CepResponseDto.builder()
+                    .cep(campos.get("cep"))
+                    .logradouro(campos.get("logradouro"))
+                    .complemento(campos.get("complemento"))
+                    .bairro(campos.get("bairro"))
+                    .localidade(campos.get("localidade"))
+                    .uf(campos.get("uf"))
+                    .ibge(campos.get("ibge"))
+                    .gia(campos.get("gia"))
+                    .ddd(campos.get("ddd"))
+                    .siafi(campos.get("siafi"))
+                    .build());
+        }
+        return enderecos;
+    }
+
+    /**
+     * Separa uma linha CSV respeitando campos entre aspas e aspas duplicadas ("").
+     */
+    public static List<String> separar(String linha, char separador) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (c == '"') {
+                if (entreAspas && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else {
+                    entreAspas = !entreAspas;
+                }
+            } else if (c == separador && !entreAspas) {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+}
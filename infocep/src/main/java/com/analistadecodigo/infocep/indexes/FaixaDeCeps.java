@@ -0,0 +1,26 @@
+package com.analistadecodigo.infocep.indexes;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+
+/**
+ * Página de uma consulta por faixa de CEPs: as posições [inicio, fim) do arquivo de índice de onde ela é lida.
+ * Guarda só posições, então a memória por requisição não depende do tamanho da faixa.
+ *
+ * @param restantes quantidade de CEPs da faixa a partir do início desta página, inclusive os dela
+ * @param proximo   primeiro CEP da página seguinte, ou -1 quando esta é a última
+ */
+public record FaixaDeCeps(CepIndexFile arquivo, int inicio, int fim, int restantes, int proximo) {
+
+    public static final FaixaDeCeps VAZIA = new FaixaDeCeps(null, 0, 0, 0, -1);
+
+    public int tamanho() {
+        return fim - inicio;
+    }
+
+    /**
+     * @param i posição dentro da página, de 0 a {@link #tamanho()} - 1
+     */
+    public CepResponseDto endereco(int i) {
+        return arquivo.lerNaPosicao(inicio + i);
+    }
+}
@@ -0,0 +1,278 @@
+package com.analistadecodigo.infocep.indexes;
+
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Índice reverso do {@link CepIndexFile}: dado UF, cidade e o começo do logradouro, devolve os CEPs que casam.
+ *
+ * Os nomes são normalizados (sem acento, minúsculos, só letras e dígitos separados por um espaço) e guardados
+ * uma única vez, em ordem, num só byte[]. Cada entrada é o par (nome, CEP); as entradas ficam ordenadas por
+ * cidade, nome e CEP, e cada cidade aponta para a sua faixa. A busca por prefixo é uma busca binária dentro da faixa
+ * seguida de uma varredura que para no limite de resultados.
+ *
+ * Cada logradouro entra também sem o tipo (primeira palavra) e as preposições que o seguem, para que "paulista"
+ * encontre "Avenida Paulista" e "consolacao" encontre "Rua da Consolação".
+ * Registros sem logradouro (CEP geral da cidade) ficam de fora.
+ */
+public final class IndiceDeLogradouros {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Set<String> PREPOSICOES = Set.of("de", "da", "do", "das", "dos", "d");
+    private static final int BITS_CEP = 27;
+    private static final int BITS_NOME = 22;
+    private static final int BITS_CIDADE = 14;
+    private static final long MASCARA_CEP = (1L << BITS_CEP) - 1;
+    private static final long MASCARA_NOME = (1L << BITS_NOME) - 1;
+
+    private final CepIndexFile arquivo;
+    private final Map<String, int[]> faixasPorCidade;
+    private final byte[] nomes;
+    private final int[] inicioDosNomes;
+    private final int[] nomeDaEntrada;
+    private final int[] cepDaEntrada;
+
+    private IndiceDeLogradouros(CepIndexFile arquivo, Map<String, int[]> faixasPorCidade, byte[] nomes,
+                                int[] inicioDosNomes, int[] nomeDaEntrada, int[] cepDaEntrada) {
+        this.arquivo = arquivo;
+        this.faixasPorCidade = faixasPorCidade;
+        this.nomes = nomes;
+        this.inicioDosNomes = inicioDosNomes;
+        this.nomeDaEntrada = nomeDaEntrada;
+        this.cepDaEntrada = cepDaEntrada;
+    }
+
+    public static IndiceDeLogradouros construir(CepIndexFile arquivo) {
+        Construtor construtor = new Construtor(arquivo.tamanho());
+        arquivo.percorrer(construtor);
+        return construtor.construir(arquivo);
+    }
+
+    /**
+     * @param prefixo começo do logradouro, comparado depois de normalizado; vazio lista os logradouros da cidade
+     * @return até {@code limite} endereços, em ordem de nome e CEP, sem CEPs repetidos
+     */
+    public List<CepResponseDto> buscar(String uf, String localidade, String prefixo, int limite) {
+        int[] faixa = faixasPorCidade.get(chaveDaCidade(uf, localidade));
+        if (faixa == null || limite <= 0) {
+            return List.of();
+        }
+
+        byte[] alvo = normalizar(prefixo).getBytes(StandardCharsets.UTF_8);
+        Set<Integer> ceps = new LinkedHashSet<>();
+        for (int i = primeiraEntrada(faixa[0], faixa[1], alvo); i < faixa[1] && ceps.size() < limite; i++) {
+            if (!comecaCom(nomeDaEntrada[i], alvo)) {
+                break;
+            }
+            ceps.add(cepDaEntrada[i]);
+        }
+
+        List<CepResponseDto> enderecos = new ArrayList<>(ceps.size());
+        for (int cep : ceps) {
+            CepResponseDto endereco = arquivo.buscar(cep);
+            if (endereco != null) {
+                enderecos.add(endereco);
+            }
+        }
+        return enderecos;
+    }
+
+    public int entradas() {
+        return cepDaEntrada.length;
+    }
+
+    public int cidades() {
+        return faixasPorCidade.size();
+    }
+
+    /**
+     * @return bytes ocupados pelos arrays do índice, sem contar o mapa de cidades (alguns KB por milhar de cidades)
+     */
+    public long bytes() {
+        return nomes.length + (long) Integer.BYTES * (inicioDosNomes.length + nomeDaEntrada.length + cepDaEntrada.length);
+    }
+
+    /**
+     * Remove acentos, passa para minúsculas e troca qualquer sequência que não seja letra ou dígito por um espaço.
+     */
+    static String normalizar(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        StringBuilder normalizado = new StringBuilder(semAcentos.length());
+        boolean separar = false;
+        for (int i = 0; i < semAcentos.length(); i++) {
+            char c = semAcentos.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separar && !normalizado.isEmpty()) {
+                    normalizado.append(' ');
+                }
+                normalizado.append(Character.toLowerCase(c));
+                separar = false;
+            } else {
+                separar = true;
+            }
+        }
+        return normalizado.toString();
+    }
+
+    private static String chaveDaCidade(String uf, String localidade) {
+        return normalizar(uf) + '|' + normalizar(localidade);
+    }
+
+    /**
+     * @return a primeira entrada da faixa cujo nome é maior ou igual ao alvo
+     */
+    private int primeiraEntrada(int inicio, int fim, byte[] alvo) {
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (comparar(nomeDaEntrada[meio], alvo) < 0) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    private int comparar(int nome, byte[] alvo) {
+        return Arrays.compareUnsigned(nomes, inicioDosNomes[nome], inicioDosNomes[nome + 1], alvo, 0, alvo.length);
+    }
+
+    private boolean comecaCom(int nome, byte[] alvo) {
+        int inicio = inicioDosNomes[nome];
+        return inicioDosNomes[nome + 1] - inicio >= alvo.length
+                && Arrays.equals(nomes, inicio, inicio + alvo.length, alvo, 0, alvo.length);
+    }
+
+    /**
+     * Junta as entradas numa única passada pelo arquivo. Cada entrada é um long com cidade, nome e CEP,
+     * nessa ordem de bits, para que a ordenação primitiva já agrupe por cidade e ordene por nome e CEP
+     * depois que o id provisório do nome é trocado pela sua posição em ordem alfabética.
+     */
+    private static final class Construtor implements CepIndexFile.Visitante {
+
+        private final Map<String, Integer> idDaCidade = new HashMap<>();
+        private final List<String> cidades = new ArrayList<>();
+        private final Map<String, Integer> idDoNome = new HashMap<>();
+        private final List<String> nomesPorId = new ArrayList<>();
+        private long[] entradas;
+        private int quantidade;
+
+        Construtor(int registros) {
+            this.entradas = new long[Math.max(16, registros)];
+        }
+
+        @Override
+        public void visitar(int cep, String uf, String localidade, String logradouro) {
+            String nome = normalizar(logradouro);
+            if (nome.isEmpty() || uf == null || localidade == null) {
+                return;
+            }
+            int cidade = id(idDaCidade, cidades, chaveDaCidade(uf, localidade));
+            adicionar(cidade, id(idDoNome, nomesPorId, nome), cep);
+            String semTipo = semTipo(nome);
+            if (!semTipo.isEmpty()) {
+                adicionar(cidade, id(idDoNome, nomesPorId, semTipo), cep);
+            }
+        }
+
+        /**
+         * @return o nome sem a primeira palavra e as preposições logo depois dela, ou vazio quando não sobra nada
+         */
+        private static String semTipo(String nome) {
+            int inicio = nome.indexOf(' ') + 1;
+            while (inicio > 0) {
+                int espaco = nome.indexOf(' ', inicio);
+                if (espaco < 0 || !PREPOSICOES.contains(nome.substring(inicio, espaco))) {
+                    break;
+                }
+                inicio = espaco + 1;
+            }
+            return inicio > 0 ? nome.substring(inicio) : "";
+        }
+
+        IndiceDeLogradouros construir(CepIndexFile arquivo) {
+            if (cidades.size() > 1 << BITS_CIDADE || nomesPorId.size() > 1 << BITS_NOME) {
+                throw new IllegalStateException("Índice de logradouros com cidades ou nomes demais: "
+                        + cidades.size() + " cidades, " + nomesPorId.size() + " nomes");
+            }
+
+            byte[][] bytesPorId = new byte[nomesPorId.size()][];
+            Integer[] ordem = new Integer[nomesPorId.size()];
+            int totalDeBytes = 0;
+            for (int id = 0; id < bytesPorId.length; id++) {
+                bytesPorId[id] = nomesPorId.get(id).getBytes(StandardCharsets.UTF_8);
+                ordem[id] = id;
+                totalDeBytes += bytesPorId[id].length;
+            }
+            Arrays.sort(ordem, (a, b) -> Arrays.compareUnsigned(bytesPorId[a], bytesPorId[b]));
+
+            byte[] nomes = new byte[totalDeBytes];
+            int[] inicioDosNomes = new int[ordem.length + 1];
+            int[] posicaoDoId = new int[ordem.length];
+            for (int posicao = 0; posicao < ordem.length; posicao++) {
+                byte[] bytes = bytesPorId[ordem[posicao]];
+                System.arraycopy(bytes, 0, nomes, inicioDosNomes[posicao], bytes.length);
+                inicioDosNomes[posicao + 1] = inicioDosNomes[posicao] + bytes.length;
+                posicaoDoId[ordem[posicao]] = posicao;
+            }
+
+            long[] ordenadas = Arrays.copyOf(entradas, quantidade);
+            for (int i = 0; i < ordenadas.length; i++) {
+                int nome = (int) ((ordenadas[i] >>> BITS_CEP) & MASCARA_NOME);
+                ordenadas[i] = (ordenadas[i] & ~(MASCARA_NOME << BITS_CEP)) | ((long) posicaoDoId[nome] << BITS_CEP);
+            }
+            Arrays.sort(ordenadas);
+
+            int[] nomeDaEntrada = new int[ordenadas.length];
+            int[] cepDaEntrada = new int[ordenadas.length];
+            Map<String, int[]> faixas = new HashMap<>(cidades.size() * 2);
+            int[] faixa = null;
+            int cidadeDaFaixa = -1;
+            for (int i = 0; i < ordenadas.length; i++) {
+                int cidade = (int) (ordenadas[i] >>> (BITS_CEP + BITS_NOME));
+                if (cidade != cidadeDaFaixa) {
+                    cidadeDaFaixa = cidade;
+                    faixa = new int[]{i, i};
+                    faixas.put(cidades.get(cidade), faixa);
+                }
+                faixa[1] = i + 1;
+                nomeDaEntrada[i] = (int) ((ordenadas[i] >>> BITS_CEP) & MASCARA_NOME);
+                cepDaEntrada[i] = (int) (ordenadas[i] & MASCARA_CEP);
+            }
+
+            return new IndiceDeLogradouros(arquivo, Collections.unmodifiableMap(faixas), nomes, inicioDosNomes,
+                    nomeDaEntrada, cepDaEntrada);
+        }
+
+        private void adicionar(int cidade, int nome, int cep) {
+            if (quantidade == entradas.length) {
+                entradas = Arrays.copyOf(entradas, entradas.length * 2);
+            }
+            entradas[quantidade++] = ((long) cidade << (BITS_CEP + BITS_NOME)) | ((long) nome << BITS_CEP) | cep;
+        }
+
+        private static int id(Map<String, Integer> ids, List<String> valores, String valor) {
+            Integer id = ids.get(valor);
+            if (id == null) {
+                id = valores.size();
+                ids.put(valor, id);
+                valores.add(valor);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.analistadecodigo.infocep.indexes;
+
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índice local de CEPs consultado antes da ViaCEP.
+ * O arquivo é mapeado em memória na inicialização e trocado sem reiniciar
+ * sempre que sua data de modificação mudar.
+ *
+ * Com reverse-enabled, cada carga monta também o {@link IndiceDeLogradouros} (no heap) antes de trocar o arquivo,
+ * e a busca por logradouro usa sempre o par arquivo/índice da mesma carga.
+ */
+@Component
+public class LocalCepIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCepIndex.class);
+
+    private final boolean enabled;
+    private final boolean reverso;
+    private final Path arquivo;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer buscasPorLogradouro;
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    private volatile CepIndexFile atual;
+    private volatile IndiceDeLogradouros logradouros;
+    private volatile FileTime modificadoEm;
+
+    public LocalCepIndex(CepIndexProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.reverso = properties.isReverseEnabled();
+        this.arquivo = Paths.get(properties.getPath());
+        this.hits = Counter.builder("infocep.index.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("infocep.index.lookups").tag("result", "miss").register(meterRegistry);
+        this.buscasPorLogradouro = Timer.builder("infocep.index.reverse.lookups")
+                .description("Latência das buscas de endereço por UF, cidade e prefixo do logradouro")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("infocep.index.size", this, LocalCepIndex::tamanho).register(meterRegistry);
+
+        if (enabled) {
+            recarregar();
+        }
+    }
+
+    /**
+     * @return o endereço do CEP ou {@code null} quando o índice está desligado ou não contém o CEP
+     */
+    public CepResponseDto buscar(Cep cep) {
+        CepIndexFile indice = atual;
+        if (indice == null) {
+            return null;
+        }
+
+        CepResponseDto response = indice.buscar(cep.valor());
+        (response == null ? misses : hits).increment();
+        return response;
+    }
+
+    /**
+     * @return o endereço do CEP ou {@code null} quando o texto não é um CEP válido ou não está no índice
+     */
+    public CepResponseDto buscar(String cep) {
+        int chave = CepIndexFile.chave(cep);
+        return chave < 0 ? null : buscar(new Cep(chave));
+    }
+
+    /**
+     * @return até {@code limite} endereços da cidade cujo logradouro começa com o prefixo,
+     *         ou lista vazia quando o índice reverso está desligado ou não carregado
+     */
+    public List<CepResponseDto> buscarPorLogradouro(String uf, String localidade, String prefixo, int limite) {
+        IndiceDeLogradouros indice = logradouros;
+        if (indice == null) {
+            return List.of();
+        }
+        return buscasPorLogradouro.record(() -> indice.buscar(uf, localidade, prefixo, limite));
+    }
+
+    /**
+     * @return a página de até {@code limite} CEPs entre {@code de} e {@code ate}, inclusive,
+     *         ou {@link FaixaDeCeps#VAZIA} quando o índice não está carregado
+     */
+    public FaixaDeCeps faixa(Cep de, Cep ate, int limite) {
+        CepIndexFile indice = atual;
+        return indice == null ? FaixaDeCeps.VAZIA : indice.faixa(de.valor(), ate.valor(), limite);
+    }
+
+    public int tamanho() {
+        CepIndexFile indice = atual;
+        return indice == null ? 0 : indice.tamanho();
+    }
+
+    @Scheduled(fixedDelayString = "${infocep.index.reload-interval:60s}")
+    void verificarAtualizacao() {
+        if (enabled) {
+            recarregar();
+        }
+    }
+
+    /**
+     * Mapeia o arquivo novamente se ele mudou desde a última carga.
+     * Buscas em andamento continuam usando o mapeamento anterior até terminarem.
+     */
+    public void recarregar() {
+        recarga.lock();
+        try {
+            if (!Files.exists(arquivo)) {
+                logger.warn("LocalCepIndex - recarregar: Arquivo de índice {} não encontrado", arquivo);
+                return;
+            }
+
+            FileTime modificacao = Files.getLastModifiedTime(arquivo);
+            if (modificacao.equals(modificadoEm)) {
+                return;
+            }
+
+            CepIndexFile novo = CepIndexFile.abrir(arquivo);
+            if (reverso) {
+                long inicio = System.nanoTime();
+                IndiceDeLogradouros novoReverso = IndiceDeLogradouros.construir(novo);
+                logradouros = novoReverso;
+                logger.info("LocalCepIndex - recarregar: Índice reverso montado com {} entradas em {} cidades ({} KB) em {} ms",
+                        novoReverso.entradas(), novoReverso.cidades(), novoReverso.bytes() / 1024,
+                        (System.nanoTime() - inicio) / 1_000_000);
+            }
+            atual = novo;
+            modificadoEm = modificacao;
+            logger.info("LocalCepIndex - recarregar: Índice {} carregado com {} CEPs", arquivo, novo.tamanho());
+        } catch (IOException | RuntimeException e) {
+            logger.warn("LocalCepIndex - recarregar - Exception: Erro ao carregar índice {} - Erro: {}", arquivo, e.getMessage());
+        } finally {
+            recarga.unlock();
+        }
+    }
+}
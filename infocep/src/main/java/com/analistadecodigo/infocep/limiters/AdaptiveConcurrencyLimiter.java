@@ -0,0 +1,162 @@
+package com.analistadecodigo.infocep.limiters;
+
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requisições simultâneas que se ajusta pela latência, no estilo do gradient2 do Netflix concurrency-limits.
+ *
+ * - a latência de referência é uma média longa (~600 amostras) das latências observadas
+ * - cada requisição concluída compara sua latência com a referência: enquanto estiver dentro da tolerância
+ *   o limite cresce (~raiz quadrada do limite por amostra); quando a latência sobe, ele cai na proporção
+ * - requisições descartadas (timeout, 5xx do provedor) cortam o limite em 10%
+ * - o limite só cresce se estiver sendo usado (pelo menos metade em andamento), para não inflar em tráfego baixo
+ *
+ * Acima do limite, {@link #tentarAdquirir()} recusa na hora em vez de enfileirar.
+ *
+ * Métricas com tag limiter: infocep.concurrency.limit, infocep.concurrency.inflight e infocep.concurrency.rejected.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int JANELA_LONGA = 600;
+    private static final double FATOR_DESCARTE = 0.9;
+
+    private final boolean enabled;
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final double suavizacao;
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final Counter rejeicoes;
+
+    private volatile double limite;
+    private double rttLongo;
+
+    public AdaptiveConcurrencyLimiter(String nome, ConcurrencyLimitProperties.Limite properties, MeterRegistry meterRegistry) {
+        if (properties.getMinLimit() < 1 || properties.getMinLimit() > properties.getMaxLimit()) {
+            throw new IllegalArgumentException("Limites de concorrência inválidos para " + nome);
+        }
+        this.enabled = properties.isEnabled();
+        this.minimo = properties.getMinLimit();
+        this.maximo = properties.getMaxLimit();
+        this.tolerancia = properties.getTolerance();
+        this.suavizacao = properties.getSmoothing();
+        this.limite = Math.clamp(properties.getInitialLimit(), minimo, maximo);
+        this.rejeicoes = Counter.builder("infocep.concurrency.rejected")
+                .description("Requisições recusadas por exceder o limite de concorrência")
+                .tag("limiter", nome)
+                .register(meterRegistry);
+        Gauge.builder("infocep.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimite)
+                .description("Limite de concorrência atual")
+                .tag("limiter", nome)
+                .register(meterRegistry);
+        Gauge.builder("infocep.concurrency.inflight", this, AdaptiveConcurrencyLimiter::getEmAndamento)
+                .description("Requisições em andamento")
+                .tag("limiter", nome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a permissão, que deve ser encerrada com {@link Permissao#sucesso()}, {@link Permissao#descartar()}
+     *         ou {@link Permissao#ignorar()}; vazio quando o limite foi atingido
+     */
+    public Optional<Permissao> tentarAdquirir() {
+        while (true) {
+            int atual = emAndamento.get();
+            if (enabled && atual >= getLimite()) {
+                rejeicoes.increment();
+                return Optional.empty();
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return Optional.of(new Permissao(atual + 1));
+            }
+        }
+    }
+
+    public int getLimite() {
+        return (int) limite;
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    synchronized void registrarSucesso(long rttNanos, int emAndamentoNoInicio) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        rttLongo = rttLongo == 0 ? rttNanos : rttLongo + (rttNanos - rttLongo) / JANELA_LONGA;
+        // Depois de um pico, a média longa fica alta demais e o limite cresceria sem freio: aproxima-a da latência atual
+        if (rttLongo / rttNanos > 2) {
+            rttLongo *= 0.95;
+        }
+        if (emAndamentoNoInicio < limite / 2) {
+            return;
+        }
+
+        double gradiente = Math.clamp(tolerancia * rttLongo / rttNanos, 0.5, 1.0);
+        double novo = limite * gradiente + Math.sqrt(limite);
+        atualizar(limite * (1 - suavizacao) + novo * suavizacao);
+    }
+
+    synchronized void registrarDescarte() {
+        atualizar(limite * FATOR_DESCARTE);
+    }
+
+    private void atualizar(double novo) {
+        limite = Math.clamp(novo, minimo, maximo);
+    }
+
+    /**
+     * Uma vaga no limite. Só o primeiro encerramento tem efeito.
+     */
+    public final class Permissao {
+
+        private final long inicio = System.nanoTime();
+        private final int emAndamentoNoInicio;
+        private final AtomicBoolean encerrada = new AtomicBoolean();
+
+        private Permissao(int emAndamentoNoInicio) {
+            this.emAndamentoNoInicio = emAndamentoNoInicio;
+        }
+
+        /**
+         * A requisição terminou normalmente; sua latência ajusta o limite.
+         */
+        public void sucesso() {
+            if (encerrar()) {
+                registrarSucesso(System.nanoTime() - inicio, emAndamentoNoInicio);
+            }
+        }
+
+        /**
+         * A requisição falhou por sobrecarga (timeout, 5xx); o limite diminui.
+         */
+        public void descartar() {
+            if (encerrar()) {
+                registrarDescarte();
+            }
+        }
+
+        /**
+         * A requisição terminou sem dizer nada sobre a carga (ex.: entrada inválida); só libera a vaga.
+         */
+        public void ignorar() {
+            encerrar();
+        }
+
+        private boolean encerrar() {
+            if (!encerrada.compareAndSet(false, true)) {
+                return false;
+            }
+            emAndamento.decrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.analistadecodigo.infocep.limiters;
+
+import java.util.function.Supplier;
+
+/**
+ * Prioridade da busca em andamento na thread atual, usada pelo {@link TokenBucketRateLimiter}
+ * para dar preferência às buscas interativas sobre lote, streaming, aquecimento e atualização em segundo plano.
+ *
+ * O padrão é {@link #INTERATIVA}; quem roda em nome de um lote marca a thread com {@link #executar}.
+ */
+public enum Prioridade {
+
+    INTERATIVA,
+    LOTE;
+
+    private static final ThreadLocal<Prioridade> ATUAL = ThreadLocal.withInitial(() -> INTERATIVA);
+
+    public static Prioridade atual() {
+        return ATUAL.get();
+    }
+
+    public <T> T executar(Supplier<T> tarefa) {
+        Prioridade anterior = ATUAL.get();
+        ATUAL.set(this);
+        try {
+            return tarefa.get();
+        } finally {
+            ATUAL.set(anterior);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.analistadecodigo.infocep.limiters;
+
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket por provedor: permits-per-second tokens por segundo, acumulando até burst.
+ *
+ * - buscas interativas pegam qualquer token e, sem token, reservam o próximo e esperam até interactive-max-wait
+ * - buscas de lote não usam a reserva (batch-reserve do burst) e não reservam tokens futuros:
+ *   esperam o balde encher acima da reserva e tentam de novo, até batch-max-wait,
+ *   de modo que nunca ficam na frente de uma busca interativa
+ * - no máximo max-waiting threads esperam ao mesmo tempo; acima disso a recusa é imediata
+ *
+ * A recusa é uma {@link SobrecargaException}, tratada pelo roteador como falha do provedor.
+ * O modo reativo usa {@link #reservarSemEsperar()}, que reserva o token como uma busca interativa
+ * e devolve a espera em vez de bloquear a thread.
+ *
+ * Métricas com tags provider e priority: infocep.provider.ratelimit.permits, infocep.provider.ratelimit.wait
+ * e infocep.provider.ratelimit.rejected.
+ */
+public class TokenBucketRateLimiter {
+
+    @FunctionalInterface
+    interface Espera {
+        void esperar(long nanos) throws InterruptedException;
+    }
+
+    private final String nome;
+    private final boolean enabled;
+    private final double capacidade;
+    private final double reservaInterativa;
+    private final double nanosPorToken;
+    private final long esperaMaximaInterativa;
+    private final long esperaMaximaLote;
+    private final int maximoAguardando;
+    private final LongSupplier relogio;
+    private final Espera espera;
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final Map<Prioridade, Counter> permissoes = new EnumMap<>(Prioridade.class);
+    private final Map<Prioridade, Timer> esperas = new EnumMap<>(Prioridade.class);
+    private final Map<Prioridade, Counter> rejeicoes = new EnumMap<>(Prioridade.class);
+
+    private double tokens;
+    private long atualizadoEm;
+
+    public TokenBucketRateLimiter(String nome, CepProvidersProperties.RateLimit properties, MeterRegistry meterRegistry) {
+        this(nome, properties, meterRegistry, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    TokenBucketRateLimiter(String nome, CepProvidersProperties.RateLimit properties, MeterRegistry meterRegistry,
+                           LongSupplier relogio, Espera espera) {
+        if (properties.getPermitsPerSecond() <= 0 || properties.getBurst() < 1) {
+            throw new IllegalArgumentException("Limite de taxa inválido para o provedor " + nome);
+        }
+        this.nome = nome;
+        this.enabled = properties.isEnabled();
+        this.capacidade = properties.getBurst();
+        this.reservaInterativa = Math.min(capacidade - 1, capacidade * properties.getBatchReserve());
+        this.nanosPorToken = TimeUnit.SECONDS.toNanos(1) / properties.getPermitsPerSecond();
+        this.esperaMaximaInterativa = properties.getInteractiveMaxWait().toNanos();
+        this.esperaMaximaLote = properties.getBatchMaxWait().toNanos();
+        this.maximoAguardando = properties.getMaxWaiting();
+        this.relogio = relogio;
+        this.espera = espera;
+        this.tokens = capacidade;
+        this.atualizadoEm = relogio.getAsLong();
+
+        for (Prioridade prioridade : Prioridade.values()) {
+            String tag = prioridade.name().toLowerCase();
+            permissoes.put(prioridade, Counter.builder("infocep.provider.ratelimit.permits")
+                    .description("Chamadas liberadas pelo limite de taxa do provedor")
+                    .tags("provider", nome, "priority", tag)
+                    .register(meterRegistry));
+            esperas.put(prioridade, Timer.builder("infocep.provider.ratelimit.wait")
+                    .description("Tempo de espera por um token antes de chamar o provedor")
+                    .tags("provider", nome, "priority", tag)
+                    .register(meterRegistry));
+            rejeicoes.put(prioridade, Counter.builder("infocep.provider.ratelimit.rejected")
+                    .description("Chamadas recusadas pelo limite de taxa do provedor")
+                    .tags("provider", nome, "priority", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Espera por um token, com a prioridade da thread atual.
+     *
+     * @throws SobrecargaException quando o token não sai dentro da espera máxima ou a fila de espera está cheia
+     */
+    public void adquirir() {
+        if (!enabled) {
+            return;
+        }
+
+        Prioridade prioridade = Prioridade.atual();
+        long inicio = relogio.getAsLong();
+        try {
+            boolean liberado = prioridade == Prioridade.INTERATIVA ? adquirirInterativa() : adquirirLote(inicio);
+            if (!liberado) {
+                rejeicoes.get(prioridade).increment();
+                throw new SobrecargaException("taxa de chamadas ao provedor " + nome, Duration.ofNanos((long) nanosPorToken));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera pelo limite de taxa interrompida", e);
+        }
+
+        permissoes.get(prioridade).increment();
+        esperas.get(prioridade).record(relogio.getAsLong() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Reserva um token com as regras das buscas interativas, sem bloquear: quem chama agenda a chamada
+     * ao provedor para depois da espera devolvida.
+     *
+     * @return a espera até o token existir, zero quando já está disponível
+     * @throws SobrecargaException quando o token não sai dentro da espera máxima interativa
+     */
+    public Duration reservarSemEsperar() {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+
+        long faltam = reservar(true);
+        if (faltam < 0) {
+            rejeicoes.get(Prioridade.INTERATIVA).increment();
+            throw new SobrecargaException("taxa de chamadas ao provedor " + nome, Duration.ofNanos((long) nanosPorToken));
+        }
+        permissoes.get(Prioridade.INTERATIVA).increment();
+        esperas.get(Prioridade.INTERATIVA).record(faltam, TimeUnit.NANOSECONDS);
+        return Duration.ofNanos(faltam);
+    }
+
+    private boolean adquirirInterativa() throws InterruptedException {
+        long faltam = reservar(aguardando.get() < maximoAguardando);
+        if (faltam < 0) {
+            return false;
+        }
+        if (faltam > 0) {
+            // O token já é desta chamada: só falta ele existir
+            aguardar(faltam);
+        }
+        return true;
+    }
+
+    private boolean adquirirLote(long inicio) throws InterruptedException {
+        while (true) {
+            long faltam = tentarSemReservar();
+            if (faltam == 0) {
+                return true;
+            }
+            if (relogio.getAsLong() - inicio + faltam > esperaMaximaLote || aguardando.get() >= maximoAguardando) {
+                return false;
+            }
+            aguardar(faltam);
+        }
+    }
+
+    private void aguardar(long nanos) throws InterruptedException {
+        aguardando.incrementAndGet();
+        try {
+            espera.esperar(nanos);
+        } finally {
+            aguardando.decrementAndGet();
+        }
+    }
+
+    /**
+     * Tira um token, mesmo que ainda não exista, desde que a espera caiba no limite interativo.
+     *
+     * @param podeEsperar false quando a fila de espera está cheia: só serve um token já disponível
+     * @return zero quando o token já estava disponível, a espera em nanos até ele existir,
+     *         ou -1 quando não é possível esperar por ele (nada é reservado)
+     */
+    private synchronized long reservar(boolean podeEsperar) {
+        reabastecer();
+        long faltam = faltamPara(1);
+        if (faltam > 0 && (!podeEsperar || faltam > esperaMaximaInterativa)) {
+            return -1;
+        }
+        tokens -= 1;
+        return faltam;
+    }
+
+    /**
+     * Tira um token só se o balde tem mais que a reserva das buscas interativas.
+     *
+     * @return zero quando conseguiu, senão a espera em nanos até haver um token acima da reserva
+     */
+    private synchronized long tentarSemReservar() {
+        reabastecer();
+        long faltam = faltamPara(reservaInterativa + 1);
+        if (faltam == 0) {
+            tokens -= 1;
+        }
+        return faltam;
+    }
+
+    private long faltamPara(double necessarios) {
+        return tokens >= necessarios ? 0 : Math.max(1, (long) Math.ceil((necessarios - tokens) * nanosPorToken));
+    }
+
+    private void reabastecer() {
+        long agora = relogio.getAsLong();
+        tokens = Math.min(capacidade, tokens + (agora - atualizadoEm) / nanosPorToken);
+        atualizadoEm = agora;
+    }
+}
@@ -0,0 +1,76 @@
+package com.analistadecodigo.infocep.peers;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Anel de hash consistente: cada réplica ocupa {@code pontosPorMembro} pontos do espaço de 32 bits
+ * e o dono de uma chave é a réplica do primeiro ponto igual ou depois do hash dela.
+ * Quando uma réplica entra ou sai, só as chaves dos pontos dela mudam de dono.
+ *
+ * Os pontos ficam num int[] ordenado, com a réplica de cada ponto num array paralelo; a busca é binária.
+ * Imutável: mudar os membros é montar outro anel.
+ */
+public final class AnelDeHashConsistente {
+
+    private final List<String> membros;
+    private final int[] pontos;
+    private final int[] membroDoPonto;
+
+    public AnelDeHashConsistente(List<String> membros, int pontosPorMembro) {
+        this.membros = membros.stream().distinct().sorted().toList();
+        long[] ordenados = new long[this.membros.size() * pontosPorMembro];
+        for (int m = 0; m < this.membros.size(); m++) {
+            for (int v = 0; v < pontosPorMembro; v++) {
+                int ponto = espalhar((this.membros.get(m) + '#' + v).hashCode());
+                ordenados[m * pontosPorMembro + v] = ((long) ponto << 32) | m;
+            }
+        }
+        Arrays.sort(ordenados);
+
+        this.pontos = new int[ordenados.length];
+        this.membroDoPonto = new int[ordenados.length];
+        for (int i = 0; i < ordenados.length; i++) {
+            pontos[i] = (int) (ordenados[i] >> 32);
+            membroDoPonto[i] = (int) ordenados[i];
+        }
+    }
+
+    /**
+     * @return a réplica dona da chave, ou {@code null} quando o anel está vazio
+     */
+    public String dono(int chave) {
+        if (pontos.length == 0) {
+            return null;
+        }
+        int hash = espalhar(chave);
+        int inicio = 0;
+        int fim = pontos.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (pontos[meio] < hash) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return membros.get(membroDoPonto[inicio == pontos.length ? 0 : inicio]);
+    }
+
+    public List<String> membros() {
+        return membros;
+    }
+
+    /**
+     * Finalizador do MurmurHash3: CEPs vizinhos (e nomes que só mudam no último caractere) caem longe no anel.
+     */
+    private static int espalhar(int valor) {
+        int h = valor;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,221 @@
+package com.analistadecodigo.infocep.peers;
+
+import com.analistadecodigo.infocep.configs.CepPeersProperties;
+import com.analistadecodigo.infocep.controllers.StaleResponseAdvice;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Divide os CEPs entre as réplicas com um {@link AnelDeHashConsistente}: cada CEP tem uma réplica dona,
+ * a única que o busca nos provedores e o guarda no cache. As outras encaminham a busca para a dona
+ * (em /internal/peers/ceps/{cep}), então a capacidade de cache e a economia de chamadas aos provedores
+ * crescem com o número de réplicas em vez de se repetirem em cada uma.
+ *
+ * As respostas da dona ficam num near cache pequeno, separado do {@link com.analistadecodigo.infocep.caches.CepCache}
+ * para não ocupar o espaço dos CEPs desta réplica; a admissão do Caffeine mantém nele só os mais acessados.
+ * Se a dona não responde a tempo ou devolve o fallback de indisponibilidade, a busca segue nesta réplica como se
+ * o CEP fosse dela. A última versão conhecida vinda da dona volta marcada como stale. Nenhuma das duas vai para o
+ * near cache. Como fallback e stale não são serializados, a dona os sinaliza nos cabeçalhos {@value #FALLBACK_HEADER}
+ * (ou Cache-Control no-store) e {@value StaleResponseAdvice#STALE_HEADER}. Só o 404 com {@value #NAO_ENCONTRADO_HEADER}
+ * é CEP inexistente; um 404 sem ele (réplica de outra versão, sem o endpoint) é falha de encaminhamento.
+ *
+ * Os membros são a lista fixa, os endereços do discovery-host (resolvido a cada refresh-interval) e esta réplica.
+ * Métricas: infocep.peers.members, infocep.peers.near (result=hit|miss) e infocep.peers.forward (result=ok|not_found|error).
+ */
+public class CepPeerRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepPeerRouter.class);
+    private static final String CAMINHO = "/internal/peers/ceps/{cep}";
+
+    public static final String FALLBACK_HEADER = "X-Infocep-Fallback";
+    public static final String NAO_ENCONTRADO_HEADER = "X-Infocep-Nao-Encontrado";
+
+    private final boolean enabled;
+    private final String self;
+    private final List<String> fixos;
+    private final String discoveryHost;
+    private final int porta;
+    private final int pontosPorMembro;
+    private final RestTemplate restTemplate;
+    private final Cache<Cep, CepResponseDto> nearCache;
+    private final Counter nearHits;
+    private final Counter nearMisses;
+    private final Timer encaminhadas;
+    private final Timer naoEncontradas;
+    private final Timer falhas;
+
+    private volatile AnelDeHashConsistente anel;
+
+    public CepPeerRouter(CepPeersProperties properties, RestTemplate restTemplate, MeterRegistry meterRegistry) {
+        this.self = properties.getSelf().strip();
+        this.enabled = properties.isEnabled() && !self.isEmpty();
+        if (properties.isEnabled() && self.isEmpty()) {
+            logger.warn("CepPeerRouter - CepPeerRouter: infocep.peers.self vazio, divisão entre réplicas desligada");
+        }
+        this.fixos = List.copyOf(properties.getMembers());
+        this.discoveryHost = properties.getDiscoveryHost().strip();
+        this.porta = properties.getPort();
+        this.pontosPorMembro = properties.getVirtualNodes();
+        this.restTemplate = restTemplate;
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(properties.getNearCacheMaximumSize())
+                .expireAfterWrite(properties.getNearCacheTtl())
+                .build();
+        this.nearHits = Counter.builder("infocep.peers.near").tag("result", "hit").register(meterRegistry);
+        this.nearMisses = Counter.builder("infocep.peers.near").tag("result", "miss").register(meterRegistry);
+        this.encaminhadas = encaminhamento("ok", meterRegistry);
+        this.naoEncontradas = encaminhamento("not_found", meterRegistry);
+        this.falhas = encaminhamento("error", meterRegistry);
+        this.anel = new AnelDeHashConsistente(membros(List.of()), pontosPorMembro);
+        Gauge.builder("infocep.peers.members", this, router -> router.anel.membros().size()).register(meterRegistry);
+    }
+
+    private static Timer encaminhamento(String resultado, MeterRegistry meterRegistry) {
+        return Timer.builder("infocep.peers.forward")
+                .description("Buscas encaminhadas para a réplica dona do CEP")
+                .tag("result", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a réplica dona do CEP, ou {@code null} quando é esta ou a divisão está desligada
+     */
+    public String dono(Cep cep) {
+        if (!enabled) {
+            return null;
+        }
+        String dono = anel.dono(cep.valor());
+        return self.equals(dono) ? null : dono;
+    }
+
+    /**
+     * Busca o CEP no near cache ou na réplica dona.
+     *
+     * @return o endereço, ou {@code null} quando o CEP é desta réplica ou a dona falhou ou devolveu o fallback,
+     * e a busca deve seguir aqui
+     * @throws CepNaoEncontradoException quando a dona diz, com {@value #NAO_ENCONTRADO_HEADER}, que o CEP não existe
+     */
+    public CepResponseDto buscar(Cep cep) {
+        String dono = dono(cep);
+        if (dono == null) {
+            return null;
+        }
+
+        CepResponseDto proximo = nearCache.getIfPresent(cep);
+        if (proximo != null) {
+            nearHits.increment();
+            return proximo;
+        }
+        nearMisses.increment();
+
+        CepResponseDto response = encaminhar(dono, cep);
+        if (response != null && !response.isFallback() && !response.isStale()) {
+            nearCache.put(cep, response);
+        }
+        return response;
+    }
+
+    private CepResponseDto encaminhar(String dono, Cep cep) {
+        long inicio = System.nanoTime();
+        Timer resultado = encaminhadas;
+        try {
+            logger.debug("CepPeerRouter - encaminhar: Buscando CEP {} na réplica {}", cep, dono);
+            ResponseEntity<CepResponseDto> resposta = restTemplate.getForEntity("http://" + dono + CAMINHO, CepResponseDto.class, cep.toString());
+            HttpHeaders headers = resposta.getHeaders();
+            if (resposta.getBody() == null || fallback(headers)) {
+                resultado = falhas;
+                logger.warn("CepPeerRouter - encaminhar: Réplica {} devolveu o fallback para o CEP {}, buscando nesta réplica", dono, cep);
+                return null;
+            }
+            if ("true".equals(headers.getFirst(StaleResponseAdvice.STALE_HEADER))) {
+                return resposta.getBody().toBuilder().stale(true).build();
+            }
+            return resposta.getBody();
+        } catch (HttpClientErrorException.NotFound e) {
+            if (e.getResponseHeaders() == null || !"true".equals(e.getResponseHeaders().getFirst(NAO_ENCONTRADO_HEADER))) {
+                resultado = falhas;
+                logger.warn("CepPeerRouter - encaminhar: Réplica {} não tem o endpoint de encaminhamento, buscando o CEP {} nesta réplica", dono, cep);
+                return null;
+            }
+            resultado = naoEncontradas;
+            throw new CepNaoEncontradoException(cep.toString());
+        } catch (RestClientException e) {
+            resultado = falhas;
+            logger.warn("CepPeerRouter - encaminhar - Exception: Réplica {} não respondeu pelo CEP {} - Erro: {}", dono, cep, e.getMessage());
+            return null;
+        } finally {
+            resultado.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static boolean fallback(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return "true".equals(headers.getFirst(FALLBACK_HEADER))
+                || (cacheControl != null && cacheControl.contains("no-store"));
+    }
+
+    @Scheduled(fixedDelayString = "${infocep.peers.refresh-interval:15s}")
+    void atualizarMembros() {
+        if (!enabled || discoveryHost.isEmpty()) {
+            return;
+        }
+        try {
+            List<String> descobertos = Arrays.stream(InetAddress.getAllByName(discoveryHost))
+                    .map(endereco -> endereco.getHostAddress().contains(":")
+                            ? "[" + endereco.getHostAddress() + "]:" + porta
+                            : endereco.getHostAddress() + ":" + porta)
+                    .toList();
+            atualizarMembros(descobertos);
+        } catch (UnknownHostException e) {
+            logger.warn("CepPeerRouter - atualizarMembros - UnknownHostException: Não foi possível resolver {} - Erro: {}",
+                    discoveryHost, e.getMessage());
+        }
+    }
+
+    /**
+     * Troca o anel quando os membros mudam. Os CEPs que mudam de dona chegam frios a ela.
+     */
+    void atualizarMembros(List<String> descobertos) {
+        AnelDeHashConsistente novo = new AnelDeHashConsistente(membros(descobertos), pontosPorMembro);
+        if (!novo.membros().equals(anel.membros())) {
+            anel = novo;
+            logger.info("CepPeerRouter - atualizarMembros: {} réplicas no anel: {}", novo.membros().size(), novo.membros());
+        }
+    }
+
+    public List<String> membros() {
+        return anel.membros();
+    }
+
+    private List<String> membros(List<String> descobertos) {
+        List<String> membros = new ArrayList<>(fixos);
+        membros.addAll(descobertos);
+        if (!self.isEmpty()) {
+            membros.add(self);
+        }
+        return membros;
+    }
+}
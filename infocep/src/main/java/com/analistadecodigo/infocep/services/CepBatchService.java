@@ -0,0 +1,123 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.configs.CepBatchProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepBatchItemDto;
+import com.analistadecodigo.infocep.dtos.CepRequestDto;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.limiters.Prioridade;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Resolve vários CEPs em uma única requisição.
+ * Os CEPs são validados e deduplicados, e as buscas rodam em um pool limitado
+ * compartilhado entre todos os lotes (cepBatchExecutor), para não sobrecarregar a ViaCEP.
+ */
+@Service
+public class CepBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepBatchService.class);
+
+    private final CepService cepService;
+    private final Validator validator;
+    private final ExecutorService executor;
+    private final int tamanhoMaximo;
+
+    public CepBatchService(CepService cepService, Validator validator, CepBatchProperties properties,
+                           ExecutorService cepBatchExecutor) {
+        this.cepService = cepService;
+        this.validator = validator;
+        this.tamanhoMaximo = properties.getMaxSize();
+        this.executor = cepBatchExecutor;
+    }
+
+    public List<CepBatchItemDto> buscarPorCeps(List<CepRequestDto> ceps) {
+        if (ceps.size() > tamanhoMaximo) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Lote com " + ceps.size() + " CEPs excede o máximo de " + tamanhoMaximo);
+        }
+
+        // CEPs válidos são deduplicados pelo Cep; inválidos, pelo texto recebido; elementos null, nunca
+        Map<Object, CompletableFuture<CepBatchItemDto>> resultados = new LinkedHashMap<>();
+
+        for (CepRequestDto requisicao : ceps) {
+            if (requisicao == null) {
+                resultados.put(new Object(), CompletableFuture.completedFuture(CepBatchItemDto.builder()
+                        .status(CepBatchItemDto.Status.INVALIDO)
+                        .erro("CEP é obrigatório")
+                        .build()));
+                continue;
+            }
+
+            Set<ConstraintViolation<CepRequestDto>> violacoes = validator.validate(requisicao);
+            if (!violacoes.isEmpty()) {
+                String cep = requisicao.getCep();
+                resultados.putIfAbsent("invalido:" + cep, CompletableFuture.completedFuture(CepBatchItemDto.builder()
+                        .cep(cep)
+                        .status(CepBatchItemDto.Status.INVALIDO)
+                        .erro(violacoes.iterator().next().getMessage())
+                        .build()));
+                continue;
+            }
+
+            String cep = requisicao.getCep();
+            resultados.computeIfAbsent(Cep.of(cep),
+                    chave -> CompletableFuture.supplyAsync(() -> buscar(cepService, cep), executor));
+        }
+
+        List<CepBatchItemDto> itens = new ArrayList<>(resultados.size());
+        for (CompletableFuture<CepBatchItemDto> resultado : resultados.values()) {
+            itens.add(resultado.join());
+        }
+        return itens;
+    }
+
+    /**
+     * Resolve um CEP já validado e traduz o resultado, inclusive falhas, para um item de lote.
+     * Também usado pelo {@link CepStreamService}. Roda com {@link Prioridade#LOTE} no limite de taxa dos provedores.
+     */
+    static CepBatchItemDto buscar(CepService cepService, String cep) {
+        try {
+            CepResponseDto response = Prioridade.LOTE.executar(() -> cepService.buscarPorCep(cep));
+            if (response == null) {
+                return CepBatchItemDto.builder()
+                        .cep(cep)
+                        .status(CepBatchItemDto.Status.NAO_ENCONTRADO)
+                        .build();
+            }
+
+            return CepBatchItemDto.builder()
+                    .cep(cep)
+                    .status(response.isFallback() ? CepBatchItemDto.Status.FALLBACK : CepBatchItemDto.Status.OK)
+                    .endereco(response)
+                    .build();
+        } catch (CepNaoEncontradoException e) {
+            return CepBatchItemDto.builder()
+                    .cep(cep)
+                    .status(CepBatchItemDto.Status.NAO_ENCONTRADO)
+                    .build();
+        } catch (Exception e) {
+            logger.warn("CepBatchService - buscar - Exception: Erro ao buscar CEP {} no lote - Erro: {}", cep, e.getMessage());
+            return CepBatchItemDto.builder()
+                    .cep(cep)
+                    .status(CepBatchItemDto.Status.ERRO)
+                    .erro(e.getMessage())
+                    .build();
+        }
+    }
+}
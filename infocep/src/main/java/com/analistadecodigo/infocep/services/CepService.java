@@ -1,57 +1,314 @@
 package com.analistadecodigo.infocep.services;
 
+import com.analistadecodigo.infocep.caches.CepCache;
+import com.analistadecodigo.infocep.clients.CepProviderRouter;
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
 import com.analistadecodigo.infocep.dtos.CepResponseDto;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import com.analistadecodigo.infocep.limiters.Prioridade;
+import com.analistadecodigo.infocep.peers.CepPeerRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.restclient.RestTemplateBuilder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 @Service
 public class CepService {
 
     private static final Logger logger = LoggerFactory.getLogger(CepService.class);
-    private static final String VIA_CEP_CB = "viaCep";
 
-    private final RestTemplate restTemplate;
+    private final CepProviderRouter cepProviderRouter;
+    private final CepCache cepCache;
+    private final LocalCepIndex localCepIndex;
+    private final CepPeerRouter cepPeerRouter;
+    private final ConcurrentMap<Cep, CompletableFuture<CepResponseDto>> chamadasEmAndamento = new ConcurrentHashMap<>();
+    private final Set<Cep> atualizacoesEmAndamento = ConcurrentHashMap.newKeySet();
+    private final Executor cepProviderExecutor;
+    private final AdaptiveConcurrencyLimiter limiteDeSaida;
+    private final Duration retryAfter;
+    private final Counter chamadasCoalescidas;
+    private final Counter respostasStale;
+    private final Counter atualizacoes;
+    private final Timer etapaValidacao;
+    private final Timer etapaCache;
+    private final Timer etapaIndice;
+    private final Timer etapaPar;
+    private final Timer etapaOrigem;
+
+    public CepService(CepProviderRouter cepProviderRouter, CepCache cepCache, LocalCepIndex localCepIndex,
+                      CepPeerRouter cepPeerRouter, Executor cepProviderExecutor, AdaptiveConcurrencyLimiter cepOutboundLimiter,
+                      ConcurrencyLimitProperties limitProperties, MeterRegistry meterRegistry) {
+        this.cepProviderRouter = cepProviderRouter;
+        this.cepCache = cepCache;
+        this.localCepIndex = localCepIndex;
+        this.cepPeerRouter = cepPeerRouter;
+        this.cepProviderExecutor = cepProviderExecutor;
+        this.limiteDeSaida = cepOutboundLimiter;
+        this.retryAfter = limitProperties.getRetryAfter();
+        this.chamadasCoalescidas = Counter.builder("infocep.lookup.coalesced")
+                .description("Buscas que reaproveitaram uma chamada aos provedores já em andamento")
+                .register(meterRegistry);
+        this.respostasStale = Counter.builder("infocep.lookup.stale")
+                .description("Buscas respondidas com a última versão conhecida porque os provedores falharam")
+                .register(meterRegistry);
+        this.atualizacoes = Counter.builder("infocep.cache.refreshes")
+                .description("Atualizações de CEPs em cache disparadas em segundo plano antes de expirarem")
+                .register(meterRegistry);
+        this.etapaValidacao = etapa("validacao", meterRegistry);
+        this.etapaCache = etapa("cache", meterRegistry);
+        this.etapaIndice = etapa("indice", meterRegistry);
+        this.etapaPar = etapa("par", meterRegistry);
+        this.etapaOrigem = etapa("origem", meterRegistry);
+    }
 
-    public CepService(RestTemplateBuilder builder) {
-        this.restTemplate = builder.build();
+    /**
+     * Latência de cada etapa da busca em infocep.lookup.stage: validacao, cache (L1 e L2), indice,
+     * par (réplica dona do CEP) e origem (coalescência, limite de saída e provedores). O detalhe da origem fica em infocep.provider.request,
+     * http.client.requests e infocep.http-client.*.
+     */
+    private static Timer etapa(String nome, MeterRegistry meterRegistry) {
+        return Timer.builder("infocep.lookup.stage")
+                .description("Latência de cada etapa da busca de CEP")
+                .tag("stage", nome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
-    @CircuitBreaker(name = VIA_CEP_CB, fallbackMethod = "buscarPorCepFallback")
+    /**
+     * @throws com.analistadecodigo.infocep.exceptions.CepInvalidoException quando o texto não é um CEP,
+     *         antes de qualquer consulta a cache ou provedor
+     * @throws CepNaoEncontradoException quando os provedores dizem que o CEP não existe, ou já disseram
+     *         há menos de infocep.cache.negative-ttl
+     */
     public CepResponseDto buscarPorCep(String cep) {
-        String url = "https://viacep.com.br/ws/" + cep + "/json/";
-        logger.info("CepService - buscarPorCep: Realizando requisição para ViaCEP na URL: {}", url);
+        return buscarPorCep(etapaValidacao.record(() -> Cep.of(cep)));
+    }
+
+    public CepResponseDto buscarPorCep(Cep cep) {
+        return buscarPorCep(cep, true);
+    }
+
+    /**
+     * Busca pedida por outra réplica que considera esta a dona do CEP. Não encaminha de novo,
+     * mesmo que os anéis das duas discordem por um instante, para que uma busca nunca volte em círculo.
+     */
+    public CepResponseDto buscarComoDono(String cep) {
+        return buscarPorCep(etapaValidacao.record(() -> Cep.of(cep)), false);
+    }
+
+    private CepResponseDto buscarPorCep(Cep cep, boolean encaminhar) {
+        CepResponseDto emCache = etapaCache.record(() -> cepCache.get(cep));
+        if (emCache != null) {
+            logger.debug("CepService - buscarPorCep: CEP {} encontrado em cache", cep);
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.CACHE);
+            if (cepCache.precisaAtualizar(cep)) {
+                atualizarEmSegundoPlano(cep);
+            }
+            return emCache;
+        }
+
+        if (cepCache.naoEncontrado(cep)) {
+            logger.debug("CepService - buscarPorCep: CEP {} inexistente segundo o cache negativo", cep);
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.CACHE_NEGATIVO);
+            throw new CepNaoEncontradoException(cep.toString());
+        }
 
+        CepResponseDto noIndice = etapaIndice.record(() -> localCepIndex.buscar(cep));
+        if (noIndice != null) {
+            logger.debug("CepService - buscarPorCep: CEP {} encontrado no índice local", cep);
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.INDICE);
+            return noIndice;
+        }
+
+        if (encaminhar) {
+            CepResponseDto noDono = buscarNoDono(cep);
+            if (noDono != null) {
+                return noDono;
+            }
+        }
+
+        return etapaOrigem.record(() -> buscarNaOrigem(cep));
+    }
+
+    /**
+     * Busca o CEP na réplica dona quando não é esta. O resultado não vai para o cache local, só para o near cache
+     * do {@link CepPeerRouter}; CEP inexistente vai para o cache negativo local, que é pequeno.
+     *
+     * @return o endereço, ou {@code null} quando a busca deve seguir nesta réplica
+     */
+    private CepResponseDto buscarNoDono(Cep cep) {
+        if (cepPeerRouter.dono(cep) == null) {
+            return null;
+        }
         try {
-            CepResponseDto response = restTemplate.getForObject(url, CepResponseDto.class);
-            logger.info("CepService - buscarPorCep: Resposta recebida com sucesso para CEP: {}", cep);
+            CepResponseDto response = etapaPar.record(() -> cepPeerRouter.buscar(cep));
+            if (response != null) {
+                logger.debug("CepService - buscarNoDono: CEP {} encontrado na réplica dona", cep);
+                ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.PAR);
+            }
             return response;
-        } catch (Exception e) {
-            logger.warn("CepService - buscarPorCep - Exception: Erro ao fazer requisição para ViaCEP - CEP: {} - Erro: {}", cep, e.getMessage());
+        } catch (CepNaoEncontradoException e) {
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.PAR);
+            cepCache.registrarNaoEncontrado(cep);
             throw e;
         }
     }
 
     /**
-     * Fallback chamado quando:
-     * - API fora
-     * - Timeout
-     * - Circuit aberto
+     * Garante no máximo uma chamada aos provedores em andamento por CEP.
+     * Chamadas concorrentes para o mesmo CEP aguardam e recebem o mesmo resultado (ou a mesma exceção).
      */
-    private CepResponseDto buscarPorCepFallback(String cep, Throwable throwable) {
-        logger.warn("CepService - buscarPorCepFallback: Fallback acionado para CEP: {} - Motivo: {}", cep, throwable.getMessage());
-        logger.info("CepService - buscarPorCepFallback: Retornando dados padrão de fallback para CEP: {}", cep);
+    private CepResponseDto buscarNaOrigem(Cep cep) {
+        CompletableFuture<CepResponseDto> novaChamada = new CompletableFuture<>();
+        CompletableFuture<CepResponseDto> emAndamento = chamadasEmAndamento.putIfAbsent(cep, novaChamada);
+        if (emAndamento != null) {
+            chamadasCoalescidas.increment();
+            logger.debug("CepService - buscarNaOrigem: Aguardando chamada em andamento para CEP {}", cep);
+            long inicio = System.nanoTime();
+            try {
+                return aguardar(emAndamento);
+            } finally {
+                ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.COALESCIDA);
+                ResumoDaBusca.registrarEspera(System.nanoTime() - inicio);
+            }
+        }
 
-        return CepResponseDto.builder()
-                .cep(cep)
-                .logradouro("Indisponível")
-                .bairro("Indisponível")
-                .localidade("Indisponível")
-                .uf("NA")
-                .build();
+        try {
+            CepResponseDto response = consultarProvedores(cep);
+            novaChamada.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            novaChamada.completeExceptionally(e);
+            throw e;
+        } finally {
+            chamadasEmAndamento.remove(cep, novaChamada);
+        }
+    }
+
+    /**
+     * Consulta os provedores e guarda respostas válidas no cache, e CEPs inexistentes no cache negativo.
+     * Se os provedores falham, devolvem o fallback ou o limite de saída está cheio,
+     * serve a última versão conhecida do CEP quando existir.
+     */
+    private CepResponseDto consultarProvedores(Cep cep) {
+        CepResponseDto response;
+        long inicio = System.nanoTime();
+        try {
+            response = chamarProvedores(cep);
+        } catch (CepNaoEncontradoException e) {
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.PROVEDOR);
+            cepCache.registrarNaoEncontrado(cep);
+            throw e;
+        } catch (RuntimeException e) {
+            CepResponseDto anterior = versaoAnterior(cep);
+            if (anterior == null) {
+                throw e;
+            }
+            logger.warn("CepService - consultarProvedores - Exception: Servindo versão anterior do CEP {} - Erro: {}", cep, e.getMessage());
+            return anterior;
+        } finally {
+            ResumoDaBusca.registrarEspera(System.nanoTime() - inicio);
+        }
+
+        if (response == null || !response.isFallback()) {
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.PROVEDOR);
+            if (response != null) {
+                cepCache.put(cep, response);
+            }
+            return response;
+        }
+
+        CepResponseDto anterior = versaoAnterior(cep);
+        if (anterior == null) {
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.FALLBACK);
+            return response;
+        }
+        logger.warn("CepService - consultarProvedores: Provedores indisponíveis, servindo versão anterior do CEP {}", cep);
+        return anterior;
     }
-}
 
+    /**
+     * Chama os provedores dentro do limite de concorrência de saída.
+     * Erros e respostas de fallback (circuito aberto) contam como descarte e reduzem o limite;
+     * CEP inexistente é uma resposta normal e conta como sucesso.
+     */
+    private CepResponseDto chamarProvedores(Cep cep) {
+        AdaptiveConcurrencyLimiter.Permissao permissao = limiteDeSaida.tentarAdquirir()
+                .orElseThrow(() -> new SobrecargaException("outbound", retryAfter));
+        try {
+            CepResponseDto response = cepProviderRouter.buscarPorCep(cep.toString());
+            if (response != null && response.isFallback()) {
+                permissao.descartar();
+            } else {
+                permissao.sucesso();
+            }
+            return response;
+        } catch (CepNaoEncontradoException e) {
+            permissao.sucesso();
+            throw e;
+        } catch (RuntimeException | Error e) {
+            permissao.descartar();
+            throw e;
+        }
+    }
+
+    private CepResponseDto versaoAnterior(Cep cep) {
+        CepResponseDto anterior = cepCache.ultimoConhecido(cep);
+        if (anterior == null) {
+            return null;
+        }
+        respostasStale.increment();
+        ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.STALE);
+        return anterior.toBuilder().stale(true).build();
+    }
+
+    /**
+     * Renova um CEP que ainda está em cache mas perto de expirar, sem atrasar a resposta atual.
+     * Apenas uma atualização por CEP roda de cada vez, com {@link Prioridade#LOTE} no limite de taxa dos provedores.
+     */
+    private void atualizarEmSegundoPlano(Cep cep) {
+        if (!atualizacoesEmAndamento.add(cep)) {
+            return;
+        }
+        atualizacoes.increment();
+        try {
+            cepProviderExecutor.execute(() -> {
+                try {
+                    Prioridade.LOTE.executar(() -> buscarNaOrigem(cep));
+                } catch (Exception e) {
+                    logger.warn("CepService - atualizarEmSegundoPlano - Exception: Erro ao atualizar CEP {} - Erro: {}", cep, e.getMessage());
+                } finally {
+                    atualizacoesEmAndamento.remove(cep);
+                }
+            });
+        } catch (RuntimeException e) {
+            atualizacoesEmAndamento.remove(cep);
+            logger.warn("CepService - atualizarEmSegundoPlano - Exception: Atualização do CEP {} não agendada - Erro: {}", cep, e.getMessage());
+        }
+    }
+
+    private static CepResponseDto aguardar(CompletableFuture<CepResponseDto> chamada) {
+        try {
+            return chamada.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+}
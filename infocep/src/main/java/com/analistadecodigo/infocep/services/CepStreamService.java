@@ -0,0 +1,337 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.configs.CepStreamProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepBatchItemDto;
+import com.analistadecodigo.infocep.dtos.CepStreamProgressoDto;
+import com.analistadecodigo.infocep.indexes.CepIndexImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enriquece arquivos grandes de CEPs em streaming: lê a entrada linha a linha, resolve cada CEP pelo
+ * {@link CepService} e escreve um {@link CepBatchItemDto} por linha em NDJSON assim que a busca termina.
+ *
+ * - no máximo infocep.stream.concurrency buscas por requisição e infocep.stream.total-concurrency somando todas;
+ *   ao atingir um dos limites a leitura pausa, e o TCP segura o cliente (backpressure)
+ * - linhas maiores que infocep.stream.max-line-length são descartadas sem ir para a memória e saem como INVALIDO
+ * - a saída não segue a ordem da entrada: cada item traz o número da linha de origem
+ * - linhas inválidas e falhas aparecem na própria saída, com status INVALIDO ou ERRO
+ * - a cada infocep.stream.progress-interval linhas, e no fim, uma linha {"progresso": {...}} é escrita
+ */
+@Service
+public class CepStreamService {
+
+    public enum Formato {
+        NDJSON,
+        CSV
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(CepStreamService.class);
+    private static final int BUFFER_SAIDA = 64 * 1024;
+
+    private final CepService cepService;
+    private final JsonMapper jsonMapper;
+    private final ExecutorService executor;
+    private final int concorrencia;
+    private final int intervaloProgresso;
+    private final int tamanhoMaximoLinha;
+    private final Semaphore permissoesGlobais;
+
+    public CepStreamService(CepService cepService, JsonMapper jsonMapper, CepStreamProperties properties,
+                            ExecutorService cepProviderExecutor) {
+        this.cepService = cepService;
+        this.jsonMapper = jsonMapper;
+        this.executor = cepProviderExecutor;
+        this.concorrencia = properties.getConcurrency();
+        this.intervaloProgresso = properties.getProgressInterval();
+        this.tamanhoMaximoLinha = properties.getMaxLineLength();
+        this.permissoesGlobais = new Semaphore(properties.getTotalConcurrency());
+    }
+
+    public void enriquecer(InputStream entrada, Formato formato, OutputStream saida) throws IOException {
+        LeitorDeLinhas reader = new LeitorDeLinhas(new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)),
+                tamanhoMaximoLinha);
+        Execucao execucao = new Execucao(new BufferedOutputStream(saida, BUFFER_SAIDA));
+        LeitorDeCep leitor = formato == Formato.CSV ? new LeitorCsv() : this::extrairDoJson;
+
+        String texto;
+        long linha = 0;
+        while ((texto = reader.proxima()) != null && execucao.erroDeEscrita == null) {
+            linha++;
+            if (reader.excedeu()) {
+                execucao.lidas.incrementAndGet();
+                execucao.concluir(CepBatchItemDto.builder()
+                        .linha(linha)
+                        .status(CepBatchItemDto.Status.INVALIDO)
+                        .erro("Linha com mais de " + tamanhoMaximoLinha + " caracteres")
+                        .build());
+                continue;
+            }
+            if (texto.isBlank() || !leitor.aceitar(texto)) {
+                continue;
+            }
+
+            execucao.lidas.incrementAndGet();
+            processar(execucao, leitor.cep(texto), linha);
+
+            if (intervaloProgresso > 0 && execucao.lidas.get() % intervaloProgresso == 0) {
+                execucao.escrever(execucao.progresso(false), true);
+            }
+        }
+
+        execucao.aguardarBuscas();
+        if (execucao.erroDeEscrita != null) {
+            throw execucao.erroDeEscrita;
+        }
+        execucao.escrever(execucao.progresso(true), true);
+        logger.info("CepStreamService - enriquecer: Streaming concluído com {} linhas, {} falhas",
+                execucao.lidas.get(), execucao.falhas.get());
+    }
+
+    private void processar(Execucao execucao, String cep, long linha) {
+        if (Cep.parse(cep) < 0) {
+            execucao.concluir(CepBatchItemDto.builder()
+                    .linha(linha)
+                    .cep(cep)
+                    .status(CepBatchItemDto.Status.INVALIDO)
+                    .erro("Formato de CEP inválido")
+                    .build());
+            return;
+        }
+
+        execucao.reservar();
+        try {
+            executor.execute(() -> {
+                try {
+                    CepBatchItemDto item = CepBatchService.buscar(cepService, cep);
+                    item.setLinha(linha);
+                    execucao.concluir(item);
+                } finally {
+                    execucao.liberar();
+                }
+            });
+        } catch (RuntimeException e) {
+            execucao.liberar();
+            throw e;
+        }
+    }
+
+    /**
+     * Aceita {"cep": "01310-100", ...}, "01310-100" ou o CEP sem aspas.
+     */
+    private String extrairDoJson(String texto) {
+        try {
+            JsonNode no = jsonMapper.readTree(texto);
+            if (no.isObject()) {
+                JsonNode cep = no.get("cep");
+                return cep == null || cep.isNull() ? null : cep.asString();
+            }
+            return no.isString() ? no.asString() : texto.trim();
+        } catch (JacksonException e) {
+            return texto.trim();
+        }
+    }
+
+    /**
+     * Lê linhas com no máximo tamanhoMaximo caracteres. O resto de uma linha maior é lido e descartado
+     * até a quebra de linha, então a memória usada não depende da entrada.
+     */
+    private static final class LeitorDeLinhas {
+
+        private final Reader reader;
+        private final int tamanhoMaximo;
+        private final StringBuilder linha = new StringBuilder();
+        private boolean excedeu;
+
+        private LeitorDeLinhas(Reader reader, int tamanhoMaximo) {
+            this.reader = reader;
+            this.tamanhoMaximo = tamanhoMaximo;
+        }
+
+        /**
+         * @return a próxima linha sem a quebra, vazia quando ela excedeu o tamanho máximo, ou null no fim da entrada
+         */
+        String proxima() throws IOException {
+            linha.setLength(0);
+            excedeu = false;
+            int lido = reader.read();
+            if (lido < 0) {
+                return null;
+            }
+            while (lido >= 0 && lido != '\n') {
+                if (linha.length() < tamanhoMaximo) {
+                    linha.append((char) lido);
+                } else if (lido != '\r') {
+                    excedeu = true;
+                }
+                lido = reader.read();
+            }
+            int fim = linha.length();
+            if (fim > 0 && linha.charAt(fim - 1) == '\r') {
+                linha.setLength(fim - 1);
+            }
+            return excedeu ? "" : linha.toString();
+        }
+
+        boolean excedeu() {
+            return excedeu;
+        }
+    }
+
+    /**
+     * Extrai o CEP de uma linha. {@link #aceitar} permite descartar linhas que não são dados, como o cabeçalho do CSV.
+     */
+    @FunctionalInterface
+    private interface LeitorDeCep {
+
+        String cep(String texto);
+
+        default boolean aceitar(String texto) {
+            return true;
+        }
+    }
+
+    /**
+     * A primeira linha define a coluna do CEP: se já é um CEP, não há cabeçalho e o CEP está na primeira coluna;
+     * caso contrário é o cabeçalho e a coluna é a de nome "cep".
+     */
+    private static final class LeitorCsv implements LeitorDeCep {
+
+        private boolean primeiraLinha = true;
+        private char separador = ',';
+        private int coluna;
+
+        @Override
+        public boolean aceitar(String texto) {
+            if (!primeiraLinha) {
+                return true;
+            }
+            primeiraLinha = false;
+            separador = texto.indexOf(';') >= 0 ? ';' : ',';
+            List<String> campos = CepIndexImporter.separar(texto, separador);
+            if (Cep.parse(campos.get(0)) >= 0) {
+                return true;
+            }
+            for (int i = 0; i < campos.size(); i++) {
+                if (campos.get(i).trim().equalsIgnoreCase("cep")) {
+                    coluna = i;
+                    return false;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cabeçalho do CSV sem a coluna cep");
+        }
+
+        @Override
+        public String cep(String texto) {
+            List<String> campos = CepIndexImporter.separar(texto, separador);
+            return coluna < campos.size() ? campos.get(coluna) : null;
+        }
+    }
+
+    /**
+     * Estado de uma requisição: contadores, limite de buscas em andamento e a saída compartilhada entre as threads.
+     */
+    private final class Execucao {
+
+        private final OutputStream saida;
+        private final Semaphore permissoes = new Semaphore(concorrencia);
+        private final AtomicLong lidas = new AtomicLong();
+        private final AtomicLong concluidas = new AtomicLong();
+        private final AtomicLong falhas = new AtomicLong();
+        private volatile IOException erroDeEscrita;
+
+        private Execucao(OutputStream saida) {
+            this.saida = saida;
+        }
+
+        /**
+         * Reserva uma busca no limite desta requisição e depois no limite somado de todos os streams.
+         */
+        void reservar() {
+            try {
+                permissoes.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Streaming de CEPs interrompido", e);
+            }
+            try {
+                permissoesGlobais.acquire();
+            } catch (InterruptedException e) {
+                permissoes.release();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Streaming de CEPs interrompido", e);
+            }
+        }
+
+        void liberar() {
+            permissoesGlobais.release();
+            permissoes.release();
+        }
+
+        void aguardarBuscas() {
+            try {
+                permissoes.acquire(concorrencia);
+                permissoes.release(concorrencia);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Streaming de CEPs interrompido", e);
+            }
+        }
+
+        void concluir(CepBatchItemDto item) {
+            if (item.getStatus() == CepBatchItemDto.Status.INVALIDO || item.getStatus() == CepBatchItemDto.Status.ERRO) {
+                falhas.incrementAndGet();
+            }
+            concluidas.incrementAndGet();
+            escrever(item, false);
+        }
+
+        CepStreamProgressoDto progresso(boolean finalizado) {
+            return CepStreamProgressoDto.builder()
+                    .lidas(lidas.get())
+                    .concluidas(concluidas.get())
+                    .falhas(falhas.get())
+                    .finalizado(finalizado)
+                    .build();
+        }
+
+        /**
+         * Falhas de escrita (cliente desconectou) interrompem a leitura da entrada e são relançadas no final.
+         */
+        synchronized void escrever(Object valor, boolean descarregar) {
+            if (erroDeEscrita != null) {
+                return;
+            }
+            try {
+                saida.write(jsonMapper.writeValueAsBytes(valor));
+                saida.write('\n');
+                if (descarregar) {
+                    saida.flush();
+                }
+            } catch (IOException e) {
+                logger.warn("CepStreamService - escrever - Exception: Erro ao escrever resposta - Erro: {}", e.getMessage());
+                erroDeEscrita = e;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.caches.CepCacheSnapshot;
+import com.analistadecodigo.infocep.configs.CepWarmupProperties;
+import com.analistadecodigo.infocep.limiters.Prioridade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquece o cache antes de a aplicação aceitar tráfego: carrega o snapshot em disco e busca os CEPs
+ * de infocep.warmup.ceps que ainda não estão em cache.
+ *
+ * Roda como {@link ApplicationRunner}: o Spring Boot só muda o readiness para ACCEPTING_TRAFFIC
+ * depois que todos os runners terminam, então o /actuator/health/readiness fica fora do ar
+ * até o aquecimento acabar ou estourar o infocep.warmup.timeout.
+ */
+@Service
+public class CepWarmupService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CepWarmupService.class);
+
+    private final CepCacheSnapshot cepCacheSnapshot;
+    private final CepService cepService;
+    private final ExecutorService executor;
+    private final List<String> ceps;
+    private final Duration timeout;
+
+    public CepWarmupService(CepCacheSnapshot cepCacheSnapshot, CepService cepService, CepWarmupProperties properties,
+                            ExecutorService cepProviderExecutor) {
+        this.cepCacheSnapshot = cepCacheSnapshot;
+        this.cepService = cepService;
+        this.executor = cepProviderExecutor;
+        this.ceps = List.copyOf(properties.getCeps());
+        this.timeout = properties.getTimeout();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        aquecer();
+    }
+
+    public void aquecer() {
+        long inicio = System.nanoTime();
+        int doSnapshot = cepCacheSnapshot.carregar();
+        int buscados = buscarListaDeAquecimento();
+        if (doSnapshot > 0 || !ceps.isEmpty()) {
+            logger.info("CepWarmupService - aquecer: Cache aquecido com {} CEPs do snapshot e {} de {} da lista em {} ms",
+                    doSnapshot, buscados, ceps.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        }
+    }
+
+    /**
+     * Busca os CEPs em paralelo. Os que já vieram do snapshot são respondidos pelo cache sem chamar os provedores.
+     *
+     * @return quantidade de CEPs resolvidos dentro do timeout
+     */
+    private int buscarListaDeAquecimento() {
+        if (ceps.isEmpty()) {
+            return 0;
+        }
+
+        AtomicInteger resolvidos = new AtomicInteger();
+        CompletableFuture<?>[] buscas = ceps.stream()
+                .map(cep -> CompletableFuture.runAsync(() -> {
+                    try {
+                        Prioridade.LOTE.executar(() -> cepService.buscarPorCep(cep));
+                        resolvidos.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        logger.warn("CepWarmupService - buscarListaDeAquecimento - Exception: Erro ao aquecer CEP {} - Erro: {}", cep, e.getMessage());
+                    }
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+
+        try {
+            CompletableFuture.allOf(buscas).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("CepWarmupService - buscarListaDeAquecimento - Exception: Aquecimento não terminou em {}, seguindo com {} CEPs",
+                    timeout, resolvidos.get());
+        } catch (ExecutionException e) {
+            logger.warn("CepWarmupService - buscarListaDeAquecimento - Exception: Erro no aquecimento - Erro: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return resolvidos.get();
+    }
+}
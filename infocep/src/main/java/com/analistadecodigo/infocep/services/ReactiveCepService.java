@@ -0,0 +1,174 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.caches.CepCache;
+import com.analistadecodigo.infocep.clients.ReactiveViaCepClient;
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepInvalidoException;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Mesmo fluxo do {@link CepService} (cache, índice local, chamada única por CEP),
+ * mas sem bloquear threads enquanto a ViaCEP responde. Cache e índice são consultados na thread da requisição,
+ * então a origem dessas respostas vai para o {@link ResumoDaBusca}. As chamadas à ViaCEP passam pelo mesmo limite de
+ * concorrência de saída do modo bloqueante.
+ */
+@Service
+@ConditionalOnProperty(name = "infocep.lookup.mode", havingValue = "reactive")
+public class ReactiveCepService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveCepService.class);
+
+    private final ReactiveViaCepClient viaCepClient;
+    private final CepCache cepCache;
+    private final LocalCepIndex localCepIndex;
+    private final AdaptiveConcurrencyLimiter limiteDeSaida;
+    private final Duration retryAfter;
+    private final ConcurrentMap<Cep, Mono<CepResponseDto>> chamadasEmAndamento = new ConcurrentHashMap<>();
+    private final Counter chamadasCoalescidas;
+    private final Counter respostasStale;
+
+    public ReactiveCepService(ReactiveViaCepClient viaCepClient, CepCache cepCache, LocalCepIndex localCepIndex,
+                              AdaptiveConcurrencyLimiter cepOutboundLimiter, ConcurrencyLimitProperties limitProperties,
+                              MeterRegistry meterRegistry) {
+        this.viaCepClient = viaCepClient;
+        this.cepCache = cepCache;
+        this.localCepIndex = localCepIndex;
+        this.limiteDeSaida = cepOutboundLimiter;
+        this.retryAfter = limitProperties.getRetryAfter();
+        this.chamadasCoalescidas = Counter.builder("infocep.lookup.coalesced")
+                .description("Buscas que reaproveitaram uma chamada aos provedores já em andamento")
+                .register(meterRegistry);
+        this.respostasStale = Counter.builder("infocep.lookup.stale")
+                .description("Buscas respondidas com a última versão conhecida porque os provedores falharam")
+                .register(meterRegistry);
+    }
+
+    /**
+     * CEPs mal formatados terminam com {@link CepInvalidoException} sem consultar cache ou ViaCEP.
+     */
+    public Mono<CepResponseDto> buscarPorCep(String cep) {
+        int valor = Cep.parse(cep);
+        if (valor < 0) {
+            return Mono.error(new CepInvalidoException(cep));
+        }
+        return buscarPorCep(new Cep(valor));
+    }
+
+    public Mono<CepResponseDto> buscarPorCep(Cep cep) {
+        CepResponseDto emCache = cepCache.get(cep);
+        if (emCache != null) {
+            logger.debug("ReactiveCepService - buscarPorCep: CEP {} encontrado em cache", cep);
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.CACHE);
+            if (cepCache.precisaAtualizar(cep)) {
+                buscarNaOrigem(cep).subscribe(
+                        response -> logger.debug("ReactiveCepService - buscarPorCep: CEP {} atualizado em segundo plano", cep),
+                        e -> logger.warn("ReactiveCepService - buscarPorCep - Exception: Erro ao atualizar CEP {} - Erro: {}", cep, e.getMessage()));
+            }
+            return Mono.just(emCache);
+        }
+
+        if (cepCache.naoEncontrado(cep)) {
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.CACHE_NEGATIVO);
+            return Mono.error(new CepNaoEncontradoException(cep.toString()));
+        }
+
+        CepResponseDto noIndice = localCepIndex.buscar(cep);
+        if (noIndice != null) {
+            logger.debug("ReactiveCepService - buscarPorCep: CEP {} encontrado no índice local", cep);
+            ResumoDaBusca.registrarOrigem(ResumoDaBusca.Origem.INDICE);
+            return Mono.just(noIndice);
+        }
+
+        return buscarNaOrigem(cep);
+    }
+
+    /**
+     * Inscrições concorrentes para o mesmo CEP compartilham a mesma chamada à ViaCEP.
+     * A entrada sai do mapa quando a chamada termina, com sucesso, erro ou cancelamento;
+     * só a própria chamada, nunca uma mais nova que já tenha tomado o lugar dela.
+     * Se a ViaCEP falha, a última versão conhecida do CEP é servida quando existir.
+     */
+    private Mono<CepResponseDto> buscarNaOrigem(Cep cep) {
+        AtomicReference<Mono<CepResponseDto>> propria = new AtomicReference<>();
+        Mono<CepResponseDto> novaChamada = chamarViaCep(cep)
+                .doOnNext(response -> {
+                    if (!response.isFallback()) {
+                        cepCache.put(cep, response);
+                    }
+                })
+                .map(response -> response.isFallback() ? versaoAnterior(cep, response) : response)
+                .doOnError(CepNaoEncontradoException.class, e -> cepCache.registrarNaoEncontrado(cep))
+                .onErrorResume(e -> {
+                    if (e instanceof CepNaoEncontradoException || cepCache.ultimoConhecido(cep) == null) {
+                        return Mono.error(e);
+                    }
+                    logger.warn("ReactiveCepService - buscarNaOrigem - Exception: Servindo versão anterior do CEP {} - Erro: {}", cep, e.getMessage());
+                    return Mono.just(versaoAnterior(cep, null));
+                })
+                .doFinally(sinal -> chamadasEmAndamento.remove(cep, propria.get()))
+                .cache();
+        propria.set(novaChamada);
+
+        Mono<CepResponseDto> emAndamento = chamadasEmAndamento.putIfAbsent(cep, novaChamada);
+        if (emAndamento != null) {
+            chamadasCoalescidas.increment();
+            logger.debug("ReactiveCepService - buscarNaOrigem: Aguardando chamada em andamento para CEP {}", cep);
+            return emAndamento;
+        }
+        return novaChamada;
+    }
+
+    /**
+     * Chama a ViaCEP dentro do limite de concorrência de saída, com as mesmas regras do {@link CepService}:
+     * erros e fallback descartam, CEP inexistente conta como sucesso e cancelamento só libera a vaga.
+     */
+    private Mono<CepResponseDto> chamarViaCep(Cep cep) {
+        return Mono.defer(() -> {
+            AdaptiveConcurrencyLimiter.Permissao permissao = limiteDeSaida.tentarAdquirir()
+                    .orElseThrow(() -> new SobrecargaException("outbound", retryAfter));
+            return viaCepClient.buscarPorCep(cep.toString())
+                    .doOnNext(response -> {
+                        if (response.isFallback()) {
+                            permissao.descartar();
+                        } else {
+                            permissao.sucesso();
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (e instanceof CepNaoEncontradoException) {
+                            permissao.sucesso();
+                        } else {
+                            permissao.descartar();
+                        }
+                    })
+                    .doFinally(sinal -> permissao.ignorar());
+        });
+    }
+
+    private CepResponseDto versaoAnterior(Cep cep, CepResponseDto fallback) {
+        CepResponseDto anterior = cepCache.ultimoConhecido(cep);
+        if (anterior == null) {
+            return fallback;
+        }
+        logger.warn("ReactiveCepService - versaoAnterior: ViaCEP indisponível, servindo versão anterior do CEP {}", cep);
+        respostasStale.increment();
+        return anterior.toBuilder().stale(true).build();
+    }
+}
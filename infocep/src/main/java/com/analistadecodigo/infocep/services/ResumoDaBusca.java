@@ -0,0 +1,84 @@
+package com.analistadecodigo.infocep.services;
+
+/**
+ * De onde veio a resposta da busca em andamento na thread atual e quanto tempo ela esperou pelos provedores,
+ * preenchido pelo {@link CepService} para a linha de resumo por requisição.
+ *
+ * Só existe entre {@link #iniciar} e {@link #encerrar}; fora disso (lote, streaming, atualização em segundo plano)
+ * o registro é ignorado.
+ */
+public final class ResumoDaBusca {
+
+    public enum Origem {
+        CACHE,
+        CACHE_NEGATIVO,
+        INDICE,
+        PAR,
+        PROVEDOR,
+        COALESCIDA,
+        STALE,
+        FALLBACK
+    }
+
+    private static final ThreadLocal<ResumoDaBusca> ATUAL = new ThreadLocal<>();
+
+    private Origem origem;
+    private long nanosNaOrigem = -1;
+
+    private ResumoDaBusca() {
+    }
+
+    public static ResumoDaBusca iniciar() {
+        ResumoDaBusca resumo = new ResumoDaBusca();
+        ATUAL.set(resumo);
+        return resumo;
+    }
+
+    /**
+     * @return o resumo da thread atual sem encerrá-lo, ou null se nenhum foi iniciado
+     */
+    public static ResumoDaBusca atual() {
+        return ATUAL.get();
+    }
+
+    /**
+     * @return o resumo da thread atual, ou null se nenhum foi iniciado
+     */
+    public static ResumoDaBusca encerrar() {
+        ResumoDaBusca resumo = ATUAL.get();
+        ATUAL.remove();
+        return resumo;
+    }
+
+    static void registrarOrigem(Origem origem) {
+        ResumoDaBusca resumo = ATUAL.get();
+        if (resumo != null) {
+            resumo.origem = origem;
+        }
+    }
+
+    static void registrarEspera(long nanos) {
+        ResumoDaBusca resumo = ATUAL.get();
+        if (resumo != null) {
+            resumo.nanosNaOrigem = nanos;
+        }
+    }
+
+    public Origem getOrigem() {
+        return origem;
+    }
+
+    /**
+     * @return true quando a resposta saiu desta réplica sem esperar ninguém: cache, cache negativo ou índice local
+     */
+    public boolean isLocal() {
+        return origem == Origem.CACHE || origem == Origem.CACHE_NEGATIVO || origem == Origem.INDICE;
+    }
+
+    /**
+     * @return tempo esperando pelos provedores (ou pela chamada coalescida), ou -1 se a busca não chegou à origem
+     */
+    public long getNanosNaOrigem() {
+        return nanosNaOrigem;
+    }
+}
@@ -0,0 +1,27 @@
+package com.analistadecodigo.infocep.validators;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida o CEP com o mesmo parser do {@link com.analistadecodigo.infocep.dtos.Cep}, sem expressão regular.
+ * Valores nulos são considerados válidos; use junto com {@code @NotBlank}.
+ */
+@Documented
+@Constraint(validatedBy = CepValidoValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CepValido {
+
+    String message() default "Formato de CEP inválido";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,13 @@
+package com.analistadecodigo.infocep.validators;
+
+import com.analistadecodigo.infocep.dtos.Cep;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class CepValidoValidator implements ConstraintValidator<CepValido, String> {
+
+    @Override
+    public boolean isValid(String cep, ConstraintValidatorContext context) {
+        return cep == null || Cep.parse(cep) >= 0;
+    }
+}
@@ -0,0 +1,164 @@
+package com.analistadecodigo.infocep.caches;
+
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.configs.CepWarmupProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do CepCacheSnapshot")
+class CepCacheSnapshotTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final Instant agora = Instant.parse("2026-01-10T12:00:00Z");
+
+    private CepWarmupProperties properties;
+    private CepResponseDto paulista;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CepWarmupProperties();
+        properties.setSnapshotEnabled(true);
+        properties.setSnapshotPath(diretorio.resolve("snapshots/cep-cache.snapshot").toString());
+        paulista = CepResponseDto.builder()
+                .cep("01310-100")
+                .logradouro("Avenida Paulista")
+                .bairro("Bela Vista")
+                .localidade("São Paulo")
+                .uf("SP")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve gravar o cache em disco e recarregá-lo em um cache novo")
+    void testGravarERecarregar() throws Exception {
+        // Arrange
+        CepCache origem = novoCache();
+        origem.put(Cep.of("01310100"), paulista);
+        origem.put(Cep.of("20040020"), CepResponseDto.builder().cep("20040-020").localidade("Rio de Janeiro").uf("RJ").build());
+        CepCache destino = novoCache();
+
+        // Act
+        int gravados = snapshot(origem, agora).salvar();
+        int carregados = snapshot(destino, agora.plus(Duration.ofMinutes(10))).carregar();
+
+        // Assert
+        assertEquals(2, gravados);
+        assertEquals(2, carregados);
+        assertEquals(paulista, destino.get(Cep.of("01310100")));
+        assertEquals("Rio de Janeiro", destino.get(Cep.of("20040020")).getLocalidade());
+        try (Stream<Path> arquivos = Files.list(diretorio.resolve("snapshots"))) {
+            assertEquals(List.of(Path.of(properties.getSnapshotPath())), arquivos.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recarregar cada CEP com a idade que tinha, somada ao tempo desde a gravação")
+    void testRecarregarComIdadeDosCeps() {
+        // Arrange
+        CepCache origem = novoCache();
+        origem.carregar(Cep.of("01310100"), paulista, Duration.ofHours(21));
+        origem.carregar(Cep.of("20040020"), paulista.toBuilder().cep("20040-020").build(), Duration.ofHours(23));
+        origem.put(Cep.of("30130010"), paulista.toBuilder().cep("30130-010").build());
+        CepCache destino = novoCache();
+
+        // Act
+        snapshot(origem, agora).salvar();
+        int carregados = snapshot(destino, agora.plus(Duration.ofHours(2))).carregar();
+
+        // Assert
+        assertEquals(2, carregados);
+        assertTrue(destino.precisaAtualizar(Cep.of("01310100")));
+        assertTrue(destino.idade(Cep.of("01310100")).orElseThrow().compareTo(Duration.ofHours(23)) >= 0);
+        assertNull(destino.get(Cep.of("20040020")));
+        assertNotNull(destino.ultimoConhecido(Cep.of("20040020")));
+        assertFalse(destino.precisaAtualizar(Cep.of("30130010")));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar snapshot mais antigo que a idade máxima")
+    void testIgnorarSnapshotAntigo() {
+        // Arrange
+        CepCache origem = novoCache();
+        origem.put(Cep.of("01310100"), paulista);
+        snapshot(origem, agora).salvar();
+        CepCache destino = novoCache();
+
+        // Act
+        int carregados = snapshot(destino, agora.plus(Duration.ofHours(25))).carregar();
+
+        // Assert
+        assertEquals(0, carregados);
+        assertNull(destino.get(Cep.of("01310100")));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar snapshot corrompido sem impedir a inicialização")
+    void testIgnorarSnapshotCorrompido() throws Exception {
+        // Arrange
+        Path arquivo = Path.of(properties.getSnapshotPath());
+        Files.createDirectories(arquivo.getParent());
+        Files.writeString(arquivo, "não é gzip");
+
+        // Act & Assert
+        assertEquals(0, snapshot(novoCache(), agora).carregar());
+    }
+
+    @Test
+    @DisplayName("Não deve sobrescrever o snapshot com um cache vazio")
+    void testNaoSobrescreverComCacheVazio() {
+        // Arrange
+        CepCache origem = novoCache();
+        origem.put(Cep.of("01310100"), paulista);
+        snapshot(origem, agora).salvar();
+
+        // Act
+        int gravados = snapshot(novoCache(), agora).salvar();
+
+        // Assert
+        assertEquals(0, gravados);
+        assertEquals(1, snapshot(novoCache(), agora).carregar());
+    }
+
+    @Test
+    @DisplayName("Não deve gravar nem carregar quando o snapshot está desligado")
+    void testSnapshotDesligado() {
+        // Arrange
+        properties.setSnapshotEnabled(false);
+        CepCache cache = novoCache();
+        cache.put(Cep.of("01310100"), paulista);
+
+        // Act & Assert
+        assertEquals(0, snapshot(cache, agora).salvar());
+        assertFalse(Files.exists(Path.of(properties.getSnapshotPath())));
+        assertEquals(0, snapshot(cache, agora).carregar());
+    }
+
+    private CepCache novoCache() {
+        return new CepCache(new CepCacheProperties(), new SimpleMeterRegistry(), Optional.empty());
+    }
+
+    private CepCacheSnapshot snapshot(CepCache cache, Instant instante) {
+        return new CepCacheSnapshot(cache, jsonMapper, properties, Clock.fixed(instante, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,236 @@
+package com.analistadecodigo.infocep.caches;
+
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do CepCache")
+class CepCacheTest {
+
+    private CepCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private CepResponseDto cepResponseDto;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CepCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        cepResponseDto = CepResponseDto.builder()
+                .cep("01310-100")
+                .logradouro("Avenida Paulista")
+                .localidade("São Paulo")
+                .uf("SP")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve retornar CEP armazenado no cache local")
+    void testRetornarDoCacheLocal() {
+        // Arrange
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.empty());
+
+        // Act
+        cache.put(Cep.of("01310100"), cepResponseDto);
+
+        // Assert
+        assertEquals(cepResponseDto, cache.get(Cep.of("01310100")));
+        assertNull(cache.get(Cep.of("20040020")));
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o tamanho máximo do cache local")
+    void testRespeitarTamanhoMaximo() {
+        // Arrange
+        properties.setMaximumSize(2);
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.empty());
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            cache.put(new Cep(i), cepResponseDto);
+        }
+
+        // Assert
+        assertEquals(2, cache.tamanho());
+        assertEquals(98.0, meterRegistry.get("cache.evictions").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve buscar no cache compartilhado quando o local não tem o CEP")
+    void testBuscarNoCacheCompartilhado() {
+        // Arrange
+        Map<String, CepResponseDto> armazenamento = new HashMap<>();
+        armazenamento.put("01310100", cepResponseDto);
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.of(new MapSharedCepCache(armazenamento)));
+
+        // Act
+        CepResponseDto resultado = cache.get(Cep.of("01310100"));
+        CepResponseDto ausente = cache.get(Cep.of("20040020"));
+
+        // Assert
+        assertEquals(cepResponseDto, resultado);
+        assertNull(ausente);
+        assertEquals(1.0, meterRegistry.get("infocep.cache.shared").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("infocep.cache.shared").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve gravar nos dois níveis de cache")
+    void testGravarNosDoisNiveis() {
+        // Arrange
+        Map<String, CepResponseDto> armazenamento = new HashMap<>();
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.of(new MapSharedCepCache(armazenamento)));
+
+        // Act
+        cache.put(Cep.of("01310100"), cepResponseDto);
+
+        // Assert
+        assertEquals(cepResponseDto, armazenamento.get("01310100"));
+    }
+
+    @Test
+    @DisplayName("Não deve armazenar nada quando o cache está desligado")
+    void testCacheDesligado() {
+        // Arrange
+        properties.setEnabled(false);
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.empty());
+
+        // Act
+        cache.put(Cep.of("01310100"), cepResponseDto);
+
+        // Assert
+        assertNull(cache.get(Cep.of("01310100")));
+    }
+
+    @Test
+    @DisplayName("Deve guardar cidade e bairro repetidos uma única vez e devolver o endereço completo")
+    void testDeduplicarCidadeEBairro() {
+        // Arrange
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.empty());
+        CepResponseDto paulista = CepResponseDto.builder()
+                .cep("01310-100").logradouro("Avenida Paulista").complemento("lado par").bairro("Bela Vista")
+                .localidade("São Paulo").uf("SP").ibge("3550308").gia("1004").ddd("11").siafi("7107")
+                .build();
+        CepResponseDto brigadeiro = paulista.toBuilder()
+                .cep("01310-000").logradouro("Avenida Brigadeiro Luís Antônio").complemento(null)
+                .bairro(new String("Bela Vista"))
+                .build();
+
+        // Act
+        cache.put(Cep.of("01310100"), paulista);
+        cache.put(Cep.of("01310000"), brigadeiro);
+
+        // Assert
+        assertEquals(paulista, cache.get(Cep.of("01310100")));
+        assertEquals(brigadeiro, cache.get(Cep.of("01310000")));
+        assertEquals(1.0, meterRegistry.get("infocep.cache.dictionary.size").tag("table", "municipios").gauge().value());
+        assertSame(cache.get(Cep.of("01310100")).getBairro(), cache.get(Cep.of("01310000")).getBairro());
+    }
+
+    @Test
+    @DisplayName("Deve preservar o texto do CEP quando o provedor não usa hífen")
+    void testPreservarTextoDoCep() {
+        // Arrange
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.empty());
+        CepResponseDto semHifen = cepResponseDto.toBuilder().cep("01310100").build();
+
+        // Act
+        cache.put(Cep.of("01310100"), semHifen);
+
+        // Assert
+        assertEquals("01310100", cache.get(Cep.of("01310100")).getCep());
+    }
+
+    @Test
+    @DisplayName("Deve carregar CEPs apenas no cache local e listá-los entre os mais acessados")
+    void testCarregarEListarMaisAcessados() {
+        // Arrange
+        Map<String, CepResponseDto> armazenamento = new HashMap<>();
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.of(new MapSharedCepCache(armazenamento)));
+
+        // Act
+        cache.carregar(Cep.of("01310100"), cepResponseDto, Duration.ZERO);
+        cache.carregar(Cep.of("20040020"), cepResponseDto.toBuilder().cep("20040-020").build(), Duration.ZERO);
+        Map<Cep, CepResponseDto> maisAcessados = cache.maisAcessados(10);
+
+        // Assert
+        assertTrue(armazenamento.isEmpty());
+        assertEquals(2, maisAcessados.size());
+        assertEquals(cepResponseDto, maisAcessados.get(Cep.of("01310100")));
+        assertEquals(1, cache.maisAcessados(1).size());
+    }
+
+    @Test
+    @DisplayName("Deve carregar CEPs com o tempo de vida que restava a eles, sem reiniciar o ttl")
+    void testCarregarComIdade() {
+        // Arrange
+        properties.setTtl(Duration.ofHours(24));
+        properties.setRefreshAfter(Duration.ofHours(20));
+        properties.setStaleTtl(Duration.ofDays(7));
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.empty());
+        Cep velho = Cep.of("01310100");
+        Cep expirado = Cep.of("20040020");
+        Cep foraDaJanelaStale = Cep.of("30130010");
+
+        // Act
+        boolean velhoCarregado = cache.carregar(velho, cepResponseDto, Duration.ofHours(23));
+        boolean expiradoCarregado = cache.carregar(expirado, cepResponseDto, Duration.ofHours(25));
+        boolean foraDaJanelaCarregado = cache.carregar(foraDaJanelaStale, cepResponseDto, Duration.ofDays(8));
+
+        // Assert
+        assertTrue(velhoCarregado);
+        assertTrue(cache.precisaAtualizar(velho));
+        assertTrue(cache.idade(velho).orElseThrow().compareTo(Duration.ofHours(23)) >= 0);
+        assertFalse(expiradoCarregado);
+        assertNull(cache.get(expirado));
+        assertEquals(cepResponseDto, cache.ultimoConhecido(expirado));
+        assertFalse(foraDaJanelaCarregado);
+        assertNull(cache.ultimoConhecido(foraDaJanelaStale));
+    }
+
+    @Test
+    @DisplayName("Deve lembrar CEPs inexistentes até o negative-ttl e esquecê-los quando o CEP passa a existir")
+    void testCacheNegativo() {
+        // Arrange
+        properties.setNegativeTtl(Duration.ofMinutes(5));
+        CepCache cache = new CepCache(properties, meterRegistry, Optional.empty());
+
+        // Act
+        cache.registrarNaoEncontrado(Cep.of("99999999"));
+        boolean antes = cache.naoEncontrado(Cep.of("99999999"));
+        boolean outro = cache.naoEncontrado(Cep.of("01310100"));
+        cache.put(Cep.of("99999999"), cepResponseDto);
+
+        // Assert
+        assertTrue(antes);
+        assertFalse(outro);
+        assertFalse(cache.naoEncontrado(Cep.of("99999999")));
+        assertEquals(1.0, meterRegistry.get("infocep.cache.negative").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("infocep.cache.negative").tag("result", "miss").counter().count());
+    }
+
+    private record MapSharedCepCache(Map<String, CepResponseDto> armazenamento) implements SharedCepCache {
+
+        @Override
+        public CepResponseDto get(String cep) {
+            return armazenamento.get(cep);
+        }
+
+        @Override
+        public void put(String cep, CepResponseDto response) {
+            armazenamento.put(cep, response);
+        }
+    }
+}
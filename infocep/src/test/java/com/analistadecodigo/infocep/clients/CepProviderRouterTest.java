@@ -0,0 +1,243 @@
+package com.analistadecodigo.infocep.clients;
+
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.limiters.Prioridade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do CepProviderRouter")
+class CepProviderRouterTest {
+
+    private ExecutorService executor;
+    private SimpleMeterRegistry meterRegistry;
+    private CepProvidersProperties.Hedge hedge;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newCachedThreadPool();
+        meterRegistry = new SimpleMeterRegistry();
+        hedge = new CepProvidersProperties.Hedge();
+        hedge.setMinDelay(Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve disparar hedge e retornar o provedor mais rápido quando o principal demora")
+    void testHedgeQuandoPrincipalDemora() {
+        // Arrange
+        ProvedorFalso lento = new ProvedorFalso("lento", 2_000, false, true);
+        ProvedorFalso rapido = new ProvedorFalso("rapido", 0, false, true);
+        lento.getLatencia().registrar(1_000_000);
+        rapido.getLatencia().registrar(5_000_000);
+        CepProviderRouter router = new CepProviderRouter(List.of(lento, rapido), hedge, executor, meterRegistry);
+
+        // Act
+        long inicio = System.nanoTime();
+        CepResponseDto response = router.buscarPorCep("01310100");
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        // Assert
+        assertEquals("rapido", response.getLogradouro());
+        assertTrue(duracaoMs < 1_000, "A busca deveria terminar pelo hedge, levou " + duracaoMs + "ms");
+        assertEquals(1.0, meterRegistry.get("infocep.provider.hedges").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve passar para o próximo provedor quando o principal falha")
+    void testFailoverQuandoPrincipalFalha() {
+        // Arrange
+        ProvedorFalso comErro = new ProvedorFalso("comErro", 0, true, true);
+        ProvedorFalso reserva = new ProvedorFalso("reserva", 0, false, true);
+        reserva.getLatencia().registrar(1_000_000_000);
+        CepProviderRouter router = new CepProviderRouter(List.of(comErro, reserva), hedge, executor, meterRegistry);
+
+        // Act
+        CepResponseDto response = router.buscarPorCep("01310100");
+
+        // Assert
+        assertEquals("reserva", response.getLogradouro());
+        assertEquals(1, comErro.chamadas.get());
+        assertEquals(1, reserva.chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve propagar o último erro quando todos os provedores falham")
+    void testTodosProvedoresFalham() {
+        // Arrange
+        hedge.setEnabled(false);
+        ProvedorFalso primeiro = new ProvedorFalso("primeiro", 0, true, true);
+        ProvedorFalso segundo = new ProvedorFalso("segundo", 0, true, true);
+        CepProviderRouter router = new CepProviderRouter(List.of(primeiro, segundo), hedge, executor, meterRegistry);
+
+        // Act & Assert
+        assertThrows(HttpServerErrorException.class, () -> router.buscarPorCep("01310100"));
+        assertEquals(1, primeiro.chamadas.get());
+        assertEquals(1, segundo.chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve encerrar a busca quando um provedor diz que o CEP não existe, sem tentar os outros")
+    void testCepInexistenteNaoPassaParaProximoProvedor() {
+        // Arrange
+        hedge.setEnabled(false);
+        ProvedorFalso naoConhece = new ProvedorFalso("naoConhece", 0, new CepNaoEncontradoException("99999999"), true);
+        ProvedorFalso comErro = new ProvedorFalso("comErro", 0, true, false);
+        CepProviderRouter router = new CepProviderRouter(List.of(naoConhece, comErro), hedge, executor, meterRegistry);
+
+        // Act & Assert
+        assertThrows(CepNaoEncontradoException.class, () -> router.buscarPorCep("99999999"));
+        assertEquals(1, naoConhece.chamadas.get());
+        assertEquals(0, comErro.chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve propagar CEP inexistente com hedge mesmo quando o outro provedor falha")
+    void testCepInexistenteComHedge() {
+        // Arrange
+        ProvedorFalso naoConhece = new ProvedorFalso("naoConhece", 0, new CepNaoEncontradoException("99999999"), true);
+        ProvedorFalso comErro = new ProvedorFalso("comErro", 0, true, false);
+        CepProviderRouter router = new CepProviderRouter(List.of(naoConhece, comErro), hedge, executor, meterRegistry);
+
+        // Act & Assert
+        assertThrows(CepNaoEncontradoException.class, () -> router.buscarPorCep("99999999"));
+        assertEquals(1, naoConhece.chamadas.get());
+        assertEquals(0, comErro.chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve ordenar por disponibilidade e depois pela menor latência média")
+    void testOrdenacaoPorDisponibilidadeELatencia() {
+        // Arrange
+        ProvedorFalso indisponivel = new ProvedorFalso("indisponivel", 0, false, false);
+        ProvedorFalso lento = new ProvedorFalso("lento", 0, false, true);
+        ProvedorFalso rapido = new ProvedorFalso("rapido", 0, false, true);
+        lento.getLatencia().registrar(80_000_000);
+        rapido.getLatencia().registrar(10_000_000);
+        CepProviderRouter router = new CepProviderRouter(List.of(indisponivel, lento, rapido), hedge, executor, meterRegistry);
+
+        // Act
+        List<CepProvider> ordenados = router.ordenar();
+
+        // Assert
+        assertEquals(List.of(rapido, lento, indisponivel), ordenados);
+    }
+
+    @Test
+    @DisplayName("Deve levar a prioridade de quem pediu a busca para as tentativas no executor")
+    void testPropagarPrioridadeParaHedge() {
+        // Arrange
+        ProvedorFalso lento = new ProvedorFalso("lento", 300, false, true);
+        ProvedorFalso rapido = new ProvedorFalso("rapido", 0, false, true);
+        lento.getLatencia().registrar(1_000_000);
+        rapido.getLatencia().registrar(5_000_000);
+        CepProviderRouter router = new CepProviderRouter(List.of(lento, rapido), hedge, executor, meterRegistry);
+
+        // Act
+        CepResponseDto response = Prioridade.LOTE.executar(() -> router.buscarPorCep("01310100"));
+
+        // Assert
+        assertEquals("rapido", response.getLogradouro());
+        assertEquals(Prioridade.LOTE, lento.prioridade);
+        assertEquals(Prioridade.LOTE, rapido.prioridade);
+        assertEquals(Prioridade.INTERATIVA, Prioridade.atual());
+    }
+
+    @Test
+    @DisplayName("Deve contar os fallbacks pelo tipo da falha")
+    void testContarFallbacks() {
+        // Arrange
+        ProvedorFalso provedor = new ProvedorFalso("unico", 0, false, true);
+        CepProviderRouter router = new CepProviderRouter(List.of(provedor), hedge, executor, meterRegistry);
+
+        // Act
+        CepResponseDto response = router.buscarPorCepFallback("01310100",
+                new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // Assert
+        assertTrue(response.isFallback());
+        assertEquals(1.0, meterRegistry.get("infocep.provider.fallbacks")
+                .tag("reason", "HttpServerErrorException").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar roteador sem provedores")
+    void testRoteadorSemProvedores() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new CepProviderRouter(List.of(), hedge, executor, meterRegistry));
+    }
+
+    private static class ProvedorFalso implements CepProvider {
+
+        private final String nome;
+        private final long atrasoMs;
+        private final RuntimeException erro;
+        private final boolean disponivel;
+        private final LatencyTracker latencia = new LatencyTracker(16);
+        private final AtomicInteger chamadas = new AtomicInteger();
+        private volatile Prioridade prioridade;
+
+        ProvedorFalso(String nome, long atrasoMs, boolean falhar, boolean disponivel) {
+            this(nome, atrasoMs, falhar ? new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR) : null, disponivel);
+        }
+
+        ProvedorFalso(String nome, long atrasoMs, RuntimeException erro, boolean disponivel) {
+            this.nome = nome;
+            this.atrasoMs = atrasoMs;
+            this.erro = erro;
+            this.disponivel = disponivel;
+        }
+
+        @Override
+        public String getNome() {
+            return nome;
+        }
+
+        @Override
+        public CepResponseDto buscarPorCep(String cep) {
+            chamadas.incrementAndGet();
+            prioridade = Prioridade.atual();
+            if (atrasoMs > 0) {
+                try {
+                    Thread.sleep(atrasoMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            }
+            if (erro != null) {
+                throw erro;
+            }
+            return CepResponseDto.builder().cep(cep).logradouro(nome).build();
+        }
+
+        @Override
+        public boolean isDisponivel() {
+            return disponivel;
+        }
+
+        @Override
+        public LatencyTracker getLatencia() {
+            return latencia;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.analistadecodigo.infocep.clients;
+
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.limiters.TokenBucketRateLimiter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do HttpCepProvider")
+class HttpCepProviderTest {
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private RestTemplateBuilder restTemplateBuilder;
+
+    private HttpCepProvider provedor;
+
+    @BeforeEach
+    void setUp() {
+        when(restTemplateBuilder.build()).thenReturn(restTemplate);
+        CepProvidersProperties.RateLimit semLimite = new CepProvidersProperties.RateLimit();
+        semLimite.setEnabled(false);
+        provedor = new HttpCepProvider("viaCep", "https://viacep.com.br/ws/{cep}/json/", restTemplateBuilder,
+                CircuitBreaker.ofDefaults("viaCep"),
+                new TokenBucketRateLimiter("viaCep", semLimite, new SimpleMeterRegistry()), ObservationRegistry.NOOP);
+    }
+
+    @Test
+    @DisplayName("Deve medir a latência só das chamadas respondidas")
+    void testLatenciaSoDeChamadasRespondidas() {
+        // Arrange
+        when(restTemplate.getForObject(anyString(), eq(CepResponseDto.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(CepResponseDto.builder().cep("01310-100").logradouro("Avenida Paulista").build());
+
+        // Act
+        assertThrows(ResourceAccessException.class, () -> provedor.buscarPorCep("01310100"));
+        long semAmostras = provedor.getLatencia().percentil(0.5);
+        CepResponseDto response = provedor.buscarPorCep("01310100");
+
+        // Assert
+        assertEquals(-1, semAmostras);
+        assertEquals("Avenida Paulista", response.getLogradouro());
+        assertTrue(provedor.getLatencia().percentil(0.5) >= 0);
+    }
+}
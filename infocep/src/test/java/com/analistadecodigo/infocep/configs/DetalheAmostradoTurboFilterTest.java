@@ -0,0 +1,52 @@
+package com.analistadecodigo.infocep.configs;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do DetalheAmostradoTurboFilter")
+class DetalheAmostradoTurboFilterTest {
+
+    private final LoggerContext contexto = new LoggerContext();
+    private final DetalheAmostradoTurboFilter filtro = new DetalheAmostradoTurboFilter();
+    private final Logger doInfocep = contexto.getLogger("com.analistadecodigo.infocep.services.CepService");
+    private final Logger deTerceiro = contexto.getLogger("org.apache.hc.client5.http.wire");
+
+    @AfterEach
+    void tearDown() {
+        MDC.remove(DetalheAmostradoTurboFilter.CHAVE_MDC);
+    }
+
+    @Test
+    @DisplayName("Deve liberar DEBUG dos loggers do infocep apenas nas requisições amostradas")
+    void testLiberarDebugAmostrado() {
+        // Arrange
+        FilterReply semMarca = filtro.decide(null, doInfocep, Level.DEBUG, "", null, null);
+        MDC.put(DetalheAmostradoTurboFilter.CHAVE_MDC, "true");
+
+        // Act
+        FilterReply comMarca = filtro.decide(null, doInfocep, Level.DEBUG, "", null, null);
+
+        // Assert
+        assertEquals(FilterReply.NEUTRAL, semMarca);
+        assertEquals(FilterReply.ACCEPT, comMarca);
+    }
+
+    @Test
+    @DisplayName("Não deve liberar TRACE nem loggers de outras bibliotecas")
+    void testNaoLiberarTraceNemTerceiros() {
+        // Arrange
+        MDC.put(DetalheAmostradoTurboFilter.CHAVE_MDC, "true");
+
+        // Act & Assert
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, doInfocep, Level.TRACE, "", null, null));
+        assertEquals(FilterReply.NEUTRAL, filtro.decide(null, deTerceiro, Level.DEBUG, "", null, null));
+    }
+}
@@ -0,0 +1,101 @@
+package com.analistadecodigo.infocep.configs;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do HttpClientConfig")
+class HttpClientConfigTest {
+
+    private final HttpClientConfig config = new HttpClientConfig();
+
+    private HttpServer servidor;
+    private SimpleMeterRegistry meterRegistry;
+    private HttpClientProperties properties;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        servidor.createContext("/ws/01310100/json/", exchange -> {
+            byte[] corpo = "{\"cep\":\"01310-100\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, corpo.length);
+            exchange.getResponseBody().write(corpo);
+            exchange.close();
+        });
+        servidor.createContext("/lento", exchange -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        servidor.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new HttpClientProperties();
+        properties.setReadTimeout(Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        servidor.stop(0);
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar conexões do pool e registrar métricas")
+    void testReutilizarConexoesDoPool() {
+        // Arrange
+        RestTemplate restTemplate = novoRestTemplate();
+        String url = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/ws/01310100/json/";
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(restTemplate.getForObject(url, String.class));
+        }
+
+        // Assert
+        assertEquals(5, meterRegistry.get("infocep.http-client.pool.wait").timer().count());
+        assertEquals(50.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    @Test
+    @DisplayName("Deve falhar pelo timeout de leitura quando o servidor demora")
+    void testTimeoutDeLeitura() {
+        // Arrange
+        RestTemplate restTemplate = novoRestTemplate();
+        String url = "http://127.0.0.1:" + servidor.getAddress().getPort() + "/lento";
+
+        // Act & Assert
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(url, String.class));
+    }
+
+    private RestTemplate novoRestTemplate() {
+        connectionManager = config.viaCepConnectionManager(properties, meterRegistry);
+        httpClient = config.viaCepHttpClient(connectionManager, properties);
+        RestTemplate restTemplate = new RestTemplate();
+        config.pooledRestTemplateCustomizer(httpClient).customize(restTemplate);
+        return restTemplate;
+    }
+}
@@ -0,0 +1,39 @@
+package com.analistadecodigo.infocep.configs;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do ObservabilityConfig")
+class ObservabilityConfigTest {
+
+    private final ClientRequestObservationConvention convention = new ObservabilityConfig().cepClientRequestObservationConvention();
+
+    @Test
+    @DisplayName("Deve trocar o CEP da URL pelo marcador na tag uri de http.client.requests")
+    void testTrocarCepPorMarcador() {
+        // Arrange & Act & Assert
+        assertEquals("/ws/{cep}/json/", uri("https://viacep.com.br/ws/01310100/json/"));
+        assertEquals("/cep/{cep}", uri("https://outro.provedor/cep/01310-100"));
+        assertEquals("/ws/123/json/", uri("https://viacep.com.br/ws/123/json/"));
+    }
+
+    private String uri(String url) {
+        ClientRequestObservationContext context = new ClientRequestObservationContext(
+                new MockClientHttpRequest(HttpMethod.GET, URI.create(url)));
+        context.setUriTemplate(url);
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> keyValue.getKey().equals("uri"))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+}
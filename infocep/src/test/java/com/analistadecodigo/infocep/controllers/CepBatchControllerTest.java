@@ -0,0 +1,47 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.dtos.CepBatchItemDto;
+import com.analistadecodigo.infocep.dtos.CepRequestDto;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.services.CepBatchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepBatchController")
+class CepBatchControllerTest {
+
+    @Mock
+    private CepBatchService cepBatchService;
+
+    @InjectMocks
+    private CepBatchController cepBatchController;
+
+    @Test
+    @DisplayName("Deve delegar busca em lote ao serviço")
+    void testBuscarCepsEmLote() {
+        // Arrange
+        CepResponseDto endereco = CepResponseDto.builder().cep("01310100").uf("SP").build();
+        List<CepRequestDto> ceps = List.of(new CepRequestDto("01310100"), new CepRequestDto("20040020"));
+        List<CepBatchItemDto> itens = List.of(
+                CepBatchItemDto.builder().cep("01310100").status(CepBatchItemDto.Status.OK).endereco(endereco).build(),
+                CepBatchItemDto.builder().cep("20040020").status(CepBatchItemDto.Status.FALLBACK).build());
+        when(cepBatchService.buscarPorCeps(ceps)).thenReturn(itens);
+
+        // Act
+        List<CepBatchItemDto> resultado = cepBatchController.buscarCeps(ceps);
+
+        // Assert
+        assertEquals(itens, resultado);
+        verify(cepBatchService, times(1)).buscarPorCeps(ceps);
+    }
+}
@@ -116,4 +116,4 @@ class CepControllerTest {
         // Assert
         verify(cepService, times(1)).buscarPorCep(cep);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepInvalidoException;
+import com.analistadecodigo.infocep.indexes.CepIndexFile;
+import com.analistadecodigo.infocep.indexes.FaixaDeCeps;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepFaixaController")
+class CepFaixaControllerTest {
+
+    @Mock
+    private LocalCepIndex localCepIndex;
+
+    @TempDir
+    Path diretorio;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private CepFaixaController cepFaixaController;
+
+    @BeforeEach
+    void setUp() {
+        cepFaixaController = new CepFaixaController(localCepIndex, mapper, new CepIndexProperties());
+    }
+
+    @Test
+    @DisplayName("Deve escrever a página em NDJSON com os headers de paginação")
+    void testEscreverPagina() throws Exception {
+        // Arrange
+        CepResponseDto se = CepResponseDto.builder().cep("01001-000").logradouro("Praça da Sé").uf("SP").build();
+        CepResponseDto paulista = CepResponseDto.builder().cep("01310-100").logradouro("Avenida Paulista").uf("SP").build();
+        CepResponseDto consolacao = CepResponseDto.builder().cep("01301-000").logradouro("Rua da Consolação").uf("SP").build();
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepIndexFile.escrever(List.of(se, paulista, consolacao), arquivo);
+        FaixaDeCeps pagina = CepIndexFile.abrir(arquivo).faixa(1_000_000, 1_999_999, 2);
+        when(localCepIndex.faixa(Cep.of("01000000"), Cep.of("01999999"), 2)).thenReturn(pagina);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        cepFaixaController.buscarFaixa(null, null, "01", 2, response);
+
+        // Assert
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType().split(";")[0]);
+        assertEquals("3", response.getHeader(CepFaixaController.HEADER_RESTANTES));
+        assertEquals("01310100", response.getHeader(CepFaixaController.HEADER_PROXIMO));
+        assertEquals(mapper.writeValueAsString(se) + "\n" + mapper.writeValueAsString(consolacao) + "\n",
+                response.getContentAsString());
+    }
+
+    @Test
+    @DisplayName("Deve converter o prefixo em faixa e limitar a página ao máximo configurado")
+    void testPrefixoELimite() throws Exception {
+        // Arrange
+        when(localCepIndex.faixa(any(), any(), anyInt())).thenReturn(FaixaDeCeps.VAZIA);
+
+        // Act
+        cepFaixaController.buscarFaixa(null, null, "01310-1", 1_000_000, new MockHttpServletResponse());
+        cepFaixaController.buscarFaixa("01310150", null, "01310", 0, new MockHttpServletResponse());
+        cepFaixaController.buscarFaixa("20000-000", "20999-999", null, 1000, new MockHttpServletResponse());
+
+        // Assert
+        verify(localCepIndex).faixa(Cep.of("01310100"), Cep.of("01310199"), 10_000);
+        verify(localCepIndex).faixa(Cep.of("01310150"), Cep.of("01310999"), 1);
+        verify(localCepIndex).faixa(Cep.of("20000000"), Cep.of("20999999"), 1000);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 400 parâmetros ausentes, faixa invertida e prefixo inválido")
+    void testRecusarParametrosInvalidos() {
+        // Act
+        ResponseStatusException semParametros = assertThrows(ResponseStatusException.class,
+                () -> cepFaixaController.buscarFaixa("01000000", null, null, 10, new MockHttpServletResponse()));
+        ResponseStatusException invertida = assertThrows(ResponseStatusException.class,
+                () -> cepFaixaController.buscarFaixa("02000000", "01000000", null, 10, new MockHttpServletResponse()));
+        ResponseStatusException prefixo = assertThrows(ResponseStatusException.class,
+                () -> cepFaixaController.buscarFaixa(null, null, "013a", 10, new MockHttpServletResponse()));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, semParametros.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, invertida.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, prefixo.getStatusCode());
+        assertThrows(CepInvalidoException.class,
+                () -> cepFaixaController.buscarFaixa("0100", "01999999", null, 10, new MockHttpServletResponse()));
+        assertThrows(ResponseStatusException.class, () -> CepFaixaController.faixaDoPrefixo("123456789"));
+        assertArrayEquals(new int[]{0, 9_999_999}, CepFaixaController.faixaDoPrefixo("0"));
+        verifyNoInteractions(localCepIndex);
+    }
+}
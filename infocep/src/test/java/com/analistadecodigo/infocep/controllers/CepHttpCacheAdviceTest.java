@@ -0,0 +1,104 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.HttpCacheProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.services.CepService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Testes do CepHttpCacheAdvice")
+class CepHttpCacheAdviceTest {
+
+    private final CepService cepService = mock(CepService.class);
+    private MockMvc mockMvc;
+    private CepResponseDto paulista;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepController(cepService))
+                .setControllerAdvice(new CepHttpCacheAdvice(new HttpCacheProperties()), new StaleResponseAdvice())
+                .build();
+        paulista = CepResponseDto.builder()
+                .cep("01310-100").logradouro("Avenida Paulista").bairro("Bela Vista").localidade("São Paulo").uf("SP")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve enviar ETag e Cache-Control público com max-age e stale-while-revalidate")
+    void testEnviarEtagECacheControl() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista);
+
+        // Act & Assert
+        mockMvc.perform(get("/infocep/01310100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, CepHttpCacheAdvice.etag(paulista)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public, stale-while-revalidate=86400"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem corpo quando If-None-Match corresponde ao ETag")
+    void testResponder304() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista);
+        String etag = CepHttpCacheAdvice.etag(paulista);
+
+        // Act & Assert
+        mockMvc.perform(get("/infocep/01310100").header(HttpHeaders.IF_NONE_MATCH, "\"outro\", W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/infocep/01310100").header(HttpHeaders.IF_NONE_MATCH, "\"outro\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deve marcar o fallback como não armazenável e sem ETag")
+    void testFallbackNaoArmazenavel() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista.toBuilder().fallback(true).build());
+
+        // Act & Assert
+        mockMvc.perform(get("/infocep/01310100").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Deve exigir revalidação da última versão conhecida")
+    void testStaleExigeRevalidacao() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista.toBuilder().stale(true).build());
+
+        // Act & Assert
+        mockMvc.perform(get("/infocep/01310100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(header().string(StaleResponseAdvice.STALE_HEADER, "true"));
+    }
+
+    @Test
+    @DisplayName("Deve gerar ETags diferentes quando qualquer campo muda, inclusive entre campos vizinhos")
+    void testEtagDependeDoConteudo() {
+        // Arrange
+        CepResponseDto deslocado = paulista.toBuilder().logradouro("Avenida PaulistaBela").bairro(" Vista").build();
+
+        // Act & Assert
+        assertEquals(CepHttpCacheAdvice.etag(paulista), CepHttpCacheAdvice.etag(paulista.toBuilder().stale(true).build()));
+        assertNotEquals(CepHttpCacheAdvice.etag(paulista), CepHttpCacheAdvice.etag(paulista.toBuilder().uf("RJ").build()));
+        assertNotEquals(CepHttpCacheAdvice.etag(paulista), CepHttpCacheAdvice.etag(deslocado));
+    }
+}
@@ -0,0 +1,122 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.configs.HttpCacheProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.services.CepService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Testes do CepJsonHttpMessageConverter")
+class CepJsonHttpMessageConverterTest {
+
+    private final CepService cepService = mock(CepService.class);
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private SimpleMeterRegistry meterRegistry;
+    private MockMvc mockMvc;
+    private CepResponseDto paulista;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepController(cepService))
+                .setControllerAdvice(new CepHttpCacheAdvice(new HttpCacheProperties()), new StaleResponseAdvice())
+                .setMessageConverters(new CepJsonHttpMessageConverter(mapper, new CepCacheProperties(), meterRegistry),
+                        new JacksonJsonHttpMessageConverter(mapper))
+                .build();
+        paulista = CepResponseDto.builder()
+                .cep("01310-100").logradouro("Avenida Paulista").complemento("lado par").bairro("Bela Vista")
+                .localidade("São Paulo").uf("SP").ibge("3550308").gia("1004").ddd("11").siafi("7107")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve escrever o mesmo JSON do Jackson e reaproveitar os bytes nos acertos seguintes")
+    void testReaproveitarBytes() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista, paulista.toBuilder().build());
+
+        // Act
+        byte[] primeira = mockMvc.perform(get("/infocep/01310100")).andReturn().getResponse().getContentAsByteArray();
+        byte[] segunda = mockMvc.perform(get("/infocep/01310100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/json"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertArrayEquals(mapper.writeValueAsBytes(paulista), primeira);
+        assertArrayEquals(primeira, segunda);
+        assertEquals(1.0, meterRegistry.get("infocep.cache.serialized").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("infocep.cache.serialized").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve enviar a versão gzip a quem aceita, com Vary e ETag fraco")
+    void testEnviarGzip() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista);
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/infocep/01310100").header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/" + CepHttpCacheAdvice.etag(paulista)))
+                .andReturn();
+
+        // Assert
+        byte[] gzip = resultado.getResponse().getContentAsByteArray();
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            assertArrayEquals(mapper.writeValueAsBytes(paulista), entrada.readAllBytes());
+        }
+        assertEquals(gzip.length, resultado.getResponse().getContentLength());
+    }
+
+    @Test
+    @DisplayName("Não deve comprimir quando gzip vem com q=0")
+    void testRecusarGzipComQualidadeZero() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista);
+
+        // Act & Assert
+        mockMvc.perform(get("/infocep/01310100").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, CepHttpCacheAdvice.etag(paulista)));
+    }
+
+    @Test
+    @DisplayName("Não deve servir bytes antigos quando o endereço do CEP muda")
+    void testNaoServirBytesAntigos() throws Exception {
+        // Arrange
+        CepResponseDto atualizado = paulista.toBuilder().logradouro("Avenida Paulista - até 610").build();
+        when(cepService.buscarPorCep("01310100")).thenReturn(paulista, atualizado);
+
+        // Act
+        mockMvc.perform(get("/infocep/01310100"));
+        byte[] corpo = mockMvc.perform(get("/infocep/01310100")).andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        assertArrayEquals(mapper.writeValueAsBytes(atualizado), corpo);
+        assertEquals(2.0, meterRegistry.get("infocep.cache.serialized").tag("result", "miss").counter().count());
+    }
+}
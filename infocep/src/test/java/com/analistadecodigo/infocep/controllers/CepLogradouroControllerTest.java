@@ -0,0 +1,60 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepLogradouroController")
+class CepLogradouroControllerTest {
+
+    @Mock
+    private LocalCepIndex localCepIndex;
+
+    private CepLogradouroController cepLogradouroController;
+
+    @BeforeEach
+    void setUp() {
+        cepLogradouroController = new CepLogradouroController(localCepIndex, new CepIndexProperties());
+    }
+
+    @Test
+    @DisplayName("Deve delegar a busca por logradouro ao índice local")
+    void testBuscarPorLogradouro() {
+        // Arrange
+        List<CepResponseDto> enderecos = List.of(CepResponseDto.builder().cep("01310-100").logradouro("Avenida Paulista").build());
+        when(localCepIndex.buscarPorLogradouro("SP", "São Paulo", "paul", 10)).thenReturn(enderecos);
+
+        // Act
+        List<CepResponseDto> resultado = cepLogradouroController.buscarPorLogradouro("SP", "São Paulo", "paul", 10);
+
+        // Assert
+        assertEquals(enderecos, resultado);
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de resultados ao máximo configurado")
+    void testLimitarResultados() {
+        // Arrange
+        when(localCepIndex.buscarPorLogradouro(anyString(), anyString(), anyString(), anyInt())).thenReturn(List.of());
+
+        // Act
+        cepLogradouroController.buscarPorLogradouro("SP", "São Paulo", "", 10_000);
+        cepLogradouroController.buscarPorLogradouro("SP", "São Paulo", "", 0);
+
+        // Assert
+        verify(localCepIndex).buscarPorLogradouro("SP", "São Paulo", "", 50);
+        verify(localCepIndex).buscarPorLogradouro("SP", "São Paulo", "", 1);
+    }
+}
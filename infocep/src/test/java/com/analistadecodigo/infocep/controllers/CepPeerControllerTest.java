@@ -0,0 +1,90 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.configs.CepPeersProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.peers.CepPeerRouter;
+import com.analistadecodigo.infocep.services.CepService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepPeerController")
+class CepPeerControllerTest {
+
+    @Mock
+    private CepService cepService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        CepPeersProperties properties = new CepPeersProperties();
+        properties.setEnabled(true);
+        mockMvc = MockMvcBuilders.standaloneSetup(new CepPeerController(cepService, properties)).build();
+    }
+
+    @Test
+    @DisplayName("Deve responder a busca encaminhada sem encaminhar de novo")
+    void testBuscarComoDono() throws Exception {
+        // Arrange
+        when(cepService.buscarComoDono("01310100"))
+                .thenReturn(CepResponseDto.builder().cep("01310-100").logradouro("Avenida Paulista").build());
+
+        // Act & Assert
+        mockMvc.perform(get("/internal/peers/ceps/01310100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.logradouro").value("Avenida Paulista"))
+                .andExpect(header().doesNotExist(CepPeerRouter.FALLBACK_HEADER));
+        verify(cepService, never()).buscarPorCep(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar o fallback de indisponibilidade no cabeçalho")
+    void testSinalizarFallback() throws Exception {
+        // Arrange
+        when(cepService.buscarComoDono("01310100"))
+                .thenReturn(CepResponseDto.builder().cep("01310100").logradouro("Indisponível").fallback(true).build());
+
+        // Act & Assert
+        mockMvc.perform(get("/internal/peers/ceps/01310100"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CepPeerRouter.FALLBACK_HEADER, "true"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 404 para CEP inexistente")
+    void testCepInexistente() throws Exception {
+        // Arrange
+        when(cepService.buscarComoDono("99999999")).thenThrow(new CepNaoEncontradoException("99999999"));
+
+        // Act & Assert
+        mockMvc.perform(get("/internal/peers/ceps/99999999"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(CepPeerRouter.NAO_ENCONTRADO_HEADER, "true"));
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 quando a divisão entre réplicas está desligada")
+    void testDivisaoDesligada() throws Exception {
+        // Arrange
+        MockMvc desligado = MockMvcBuilders.standaloneSetup(new CepPeerController(cepService, new CepPeersProperties())).build();
+
+        // Act & Assert
+        desligado.perform(get("/internal/peers/ceps/01310100"))
+                .andExpect(status().isServiceUnavailable());
+        verifyNoInteractions(cepService);
+    }
+}
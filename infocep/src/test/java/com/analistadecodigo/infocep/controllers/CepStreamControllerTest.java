@@ -0,0 +1,58 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.services.CepStreamService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepStreamController")
+class CepStreamControllerTest {
+
+    @Mock
+    private CepStreamService cepStreamService;
+
+    @InjectMocks
+    private CepStreamController cepStreamController;
+
+    @Test
+    @DisplayName("Deve delegar CSV ao serviço e responder em NDJSON")
+    void testEnriquecerCsv() throws Exception {
+        // Arrange
+        InputStream corpo = new ByteArrayInputStream("cep\n01310100\n".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        cepStreamController.enriquecer(MediaType.parseMediaType("text/csv;charset=UTF-8"), corpo, response);
+
+        // Assert
+        assertTrue(response.getContentType().startsWith(MediaType.APPLICATION_NDJSON_VALUE));
+        verify(cepStreamService, times(1)).enriquecer(eq(corpo), eq(CepStreamService.Formato.CSV), any());
+    }
+
+    @Test
+    @DisplayName("Deve tratar application/x-ndjson como NDJSON")
+    void testEnriquecerNdjson() throws Exception {
+        // Arrange
+        InputStream corpo = new ByteArrayInputStream("\"01310100\"\n".getBytes());
+
+        // Act
+        cepStreamController.enriquecer(MediaType.APPLICATION_NDJSON, corpo, new MockHttpServletResponse());
+
+        // Assert
+        verify(cepStreamService, times(1)).enriquecer(eq(corpo), eq(CepStreamService.Formato.NDJSON), any());
+    }
+}
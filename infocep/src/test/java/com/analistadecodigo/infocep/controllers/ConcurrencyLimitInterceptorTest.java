@@ -0,0 +1,138 @@
+package com.analistadecodigo.infocep.controllers;
+
+import com.analistadecodigo.infocep.caches.CepCache;
+import com.analistadecodigo.infocep.clients.CepProviderRouter;
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.configs.CepPeersProperties;
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import com.analistadecodigo.infocep.peers.CepPeerRouter;
+import com.analistadecodigo.infocep.services.CepService;
+import com.analistadecodigo.infocep.services.ResumoDaBusca;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Testes do ConcurrencyLimitInterceptor")
+class ConcurrencyLimitInterceptorTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("inbound",
+                new ConcurrencyLimitProperties.Limite(true, 1, 1, 1, 2.0, 0.2), new SimpleMeterRegistry());
+        interceptor = new ConcurrencyLimitInterceptor(limiter, new ConcurrencyLimitProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ResumoDaBusca.encerrar();
+    }
+
+    @Test
+    @DisplayName("Deve recusar com SobrecargaException quando o limite de entrada está cheio")
+    void testRecusarAcimaDoLimite() {
+        // Arrange
+        MockHttpServletRequest primeira = new MockHttpServletRequest("GET", "/infocep/01310100");
+        interceptor.preHandle(primeira, new MockHttpServletResponse(), new Object());
+
+        // Act & Assert
+        assertThrows(SobrecargaException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("GET", "/infocep/20040020"), new MockHttpServletResponse(), new Object()));
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com Retry-After sem chamar o serviço")
+    void testResponder503ComRetryAfter() throws Exception {
+        // Arrange
+        CepService cepService = mock(CepService.class);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CepController(cepService))
+                .addInterceptors(interceptor)
+                .build();
+        limiter.tentarAdquirir().orElseThrow();
+
+        // Act & Assert
+        mockMvc.perform(get("/infocep/01310100"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        verifyNoInteractions(cepService);
+    }
+
+    @Test
+    @DisplayName("Deve devolver a vaga ao concluir e não adquirir de novo no despacho assíncrono")
+    void testDevolverVagaAoConcluir() {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/infocep/01310100");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        assertTrue(interceptor.preHandle(request, response, new Object()));
+        int emAndamento = limiter.getEmAndamento();
+        interceptor.afterCompletion(request, response, new Object(), null);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        // Assert
+        assertEquals(1, emAndamento);
+        assertEquals(0, limiter.getEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Deve ajustar o limite só com buscas que saíram da réplica, não com respostas do cache")
+    void testAjustarLimiteSoComBuscasNaOrigem() throws Exception {
+        // Arrange
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter entrada = new AdaptiveConcurrencyLimiter("inbound",
+                new ConcurrencyLimitProperties.Limite(true, 2, 1, 10, 2.0, 1.0), meterRegistry);
+        ConcurrencyLimitProperties limitProperties = new ConcurrencyLimitProperties();
+        CepProviderRouter cepProviderRouter = mock(CepProviderRouter.class);
+        CepCache cepCache = new CepCache(new CepCacheProperties(), meterRegistry, Optional.empty());
+        CepResponseDto paulista = CepResponseDto.builder().cep("01310-100").logradouro("Avenida Paulista").build();
+        cepCache.put(Cep.of("01310100"), paulista);
+        when(cepProviderRouter.buscarPorCep("20040020")).thenReturn(paulista.toBuilder().cep("20040-020").build());
+        CepService cepService = new CepService(cepProviderRouter, cepCache,
+                new LocalCepIndex(new CepIndexProperties(), meterRegistry),
+                new CepPeerRouter(new CepPeersProperties(), new RestTemplate(), meterRegistry), Runnable::run,
+                new AdaptiveConcurrencyLimiter("outbound", limitProperties.getOutbound(), meterRegistry),
+                limitProperties, meterRegistry);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CepController(cepService))
+                .addInterceptors(new ConcurrencyLimitInterceptor(entrada, limitProperties))
+                .build();
+
+        // Act
+        mockMvc.perform(get("/infocep/01310100")).andExpect(status().isOk());
+        int depoisDoCache = entrada.getLimite();
+        mockMvc.perform(get("/infocep/20040020")).andExpect(status().isOk());
+
+        // Assert
+        assertEquals(2, depoisDoCache);
+        assertTrue(entrada.getLimite() > 2, "Limite depois da busca nos provedores: " + entrada.getLimite());
+        assertEquals(0, entrada.getEmAndamento());
+        assertNull(ResumoDaBusca.atual());
+    }
+}
@@ -0,0 +1,135 @@
+package com.analistadecodigo.infocep.controllers;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.configs.DetalheAmostradoTurboFilter;
+import com.analistadecodigo.infocep.configs.LoggingProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import com.analistadecodigo.infocep.services.CepService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Testes do LookupSummaryInterceptor")
+class LookupSummaryInterceptorTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LookupSummaryInterceptor.class);
+    private final ListAppender<ILoggingEvent> linhas = new ListAppender<>();
+    private final CepService cepService = mock(CepService.class);
+    private final LoggingProperties properties = new LoggingProperties();
+    private Level nivelAnterior;
+
+    @BeforeEach
+    void setUp() {
+        nivelAnterior = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        linhas.start();
+        logger.addAppender(linhas);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(linhas);
+        logger.setLevel(nivelAnterior);
+    }
+
+    @Test
+    @DisplayName("Deve escrever uma linha de resumo com CEP, status e duração como pares chave-valor")
+    void testEscreverLinhaDeResumo() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100")).thenReturn(CepResponseDto.builder().cep("01310-100").build());
+
+        // Act
+        mockMvc().perform(get("/infocep/01310100")).andExpect(status().isOk());
+
+        // Assert
+        assertEquals(1, linhas.list.size());
+        Map<String, Object> campos = campos(linhas.list.get(0));
+        assertEquals("01310100", campos.get("cep"));
+        assertEquals(200, campos.get("status"));
+        assertTrue(campos.containsKey("duracaoMs"));
+        assertFalse(campos.containsKey("upstreamMs"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar no resumo as requisições recusadas pelo limite de entrada")
+    void testResumirRequisicaoRecusada() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("inbound",
+                new ConcurrencyLimitProperties.Limite(true, 1, 1, 1, 2.0, 0.2), new SimpleMeterRegistry());
+        limiter.tentarAdquirir().orElseThrow();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CepController(cepService))
+                .addInterceptors(new LookupSummaryInterceptor(properties),
+                        new ConcurrencyLimitInterceptor(limiter, new ConcurrencyLimitProperties()))
+                .build();
+
+        // Act
+        mockMvc.perform(get("/infocep/01310100")).andExpect(status().isServiceUnavailable());
+
+        // Assert
+        assertEquals(503, campos(linhas.list.get(0)).get("status"));
+    }
+
+    @Test
+    @DisplayName("Deve marcar o MDC apenas durante as requisições sorteadas")
+    void testMarcarRequisicaoAmostrada() throws Exception {
+        // Arrange
+        properties.setSampleRate(1.0);
+        AtomicReference<String> marca = new AtomicReference<>();
+        when(cepService.buscarPorCep("01310100")).thenAnswer(invocation -> {
+            marca.set(MDC.get(DetalheAmostradoTurboFilter.CHAVE_MDC));
+            return CepResponseDto.builder().cep("01310-100").build();
+        });
+
+        // Act
+        mockMvc().perform(get("/infocep/01310100")).andExpect(status().isOk());
+
+        // Assert
+        assertEquals("true", marca.get());
+        assertNull(MDC.get(DetalheAmostradoTurboFilter.CHAVE_MDC));
+    }
+
+    @Test
+    @DisplayName("Não deve escrever o resumo quando desligado")
+    void testResumoDesligado() throws Exception {
+        // Arrange
+        properties.setSummaryEnabled(false);
+        when(cepService.buscarPorCep("01310100")).thenReturn(CepResponseDto.builder().cep("01310-100").build());
+
+        // Act
+        mockMvc().perform(get("/infocep/01310100")).andExpect(status().isOk());
+
+        // Assert
+        assertTrue(linhas.list.isEmpty());
+    }
+
+    private MockMvc mockMvc() {
+        return MockMvcBuilders.standaloneSetup(new CepController(cepService))
+                .addInterceptors(new LookupSummaryInterceptor(properties))
+                .build();
+    }
+
+    private static Map<String, Object> campos(ILoggingEvent evento) {
+        return evento.getKeyValuePairs().stream().collect(Collectors.toMap(par -> par.key, par -> par.value));
+    }
+}
@@ -0,0 +1,66 @@
+package com.analistadecodigo.infocep.dtos;
+
+import com.analistadecodigo.infocep.exceptions.CepInvalidoException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do Cep")
+class CepTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"01310100", "01310-100", " 01310-100 ", "\t01310100\n"})
+    @DisplayName("Deve normalizar CEP com e sem hífen para o mesmo valor")
+    void testNormalizarCep(String texto) {
+        // Act
+        Cep cep = Cep.of(texto);
+
+        // Assert
+        assertEquals(1310100, cep.valor());
+        assertEquals(new Cep(1310100), cep);
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"1310100", "013101000", "0131-0100", "01310--100", "01310-10-0", "-01310100",
+            "01310 100", "ABCDEFGH", "０１３１０１００"})
+    @DisplayName("Deve rejeitar textos que não são CEP")
+    void testRejeitarCepInvalido(String texto) {
+        // Act & Assert
+        assertEquals(-1, Cep.parse(texto));
+        assertThrows(CepInvalidoException.class, () -> Cep.of(texto));
+    }
+
+    @Test
+    @DisplayName("Deve manter os zeros à esquerda ao formatar")
+    void testFormatarComZerosAEsquerda() {
+        // Arrange
+        Cep cep = Cep.of("01001-000");
+
+        // Act & Assert
+        assertEquals("01001000", cep.toString());
+        assertEquals("01001-000", cep.formatado());
+        assertEquals("00000000", new Cep(0).toString());
+        assertEquals("99999-999", new Cep(99_999_999).formatado());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar valores fora da faixa de 8 dígitos")
+    void testRejeitarValorForaDaFaixa() {
+        // Act & Assert
+        assertThrows(CepInvalidoException.class, () -> new Cep(-1));
+        assertThrows(CepInvalidoException.class, () -> new Cep(100_000_000));
+    }
+
+    @Test
+    @DisplayName("Deve ordenar pelo valor numérico")
+    void testOrdenarPeloValor() {
+        // Act & Assert
+        assertTrue(Cep.of("01310-100").compareTo(Cep.of("20040-020")) < 0);
+        assertEquals(0, Cep.of("01310100").compareTo(Cep.of("01310-100")));
+    }
+}
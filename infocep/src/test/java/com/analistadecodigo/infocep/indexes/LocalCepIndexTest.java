@@ -0,0 +1,273 @@
+package com.analistadecodigo.infocep.indexes;
+
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do índice local de CEPs")
+class LocalCepIndexTest {
+
+    @TempDir
+    Path diretorio;
+
+    private CepResponseDto paulista;
+    private CepResponseDto centroRio;
+
+    @BeforeEach
+    void setUp() {
+        paulista = CepResponseDto.builder()
+                .cep("01310-100")
+                .logradouro("Avenida Paulista")
+                .complemento("de 612 a 1510 - lado par")
+                .bairro("Bela Vista")
+                .localidade("São Paulo")
+                .uf("SP")
+                .ibge("3550308")
+                .gia("1004")
+                .ddd("11")
+                .siafi("7107")
+                .build();
+        centroRio = CepResponseDto.builder()
+                .cep("20040-020")
+                .logradouro("Rua da Assembleia")
+                .bairro("Centro")
+                .localidade("Rio de Janeiro")
+                .uf("RJ")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve converter CEP em chave inteira")
+    void testConverterCepEmChave() {
+        assertEquals(1310100, CepIndexFile.chave("01310-100"));
+        assertEquals(1310100, CepIndexFile.chave("01310100"));
+        assertEquals(-1, CepIndexFile.chave("0131-0100"));
+        assertEquals(-1, CepIndexFile.chave("1310100"));
+        assertEquals(-1, CepIndexFile.chave("ABCDEFGH"));
+        assertEquals(-1, CepIndexFile.chave(null));
+    }
+
+    @Test
+    @DisplayName("Deve gravar e ler endereços do arquivo de índice")
+    void testGravarELerArquivo() throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("ceps.idx");
+
+        // Act
+        CepIndexFile.escrever(List.of(centroRio, paulista), arquivo);
+        CepIndexFile indice = CepIndexFile.abrir(arquivo);
+
+        // Assert
+        assertEquals(2, indice.tamanho());
+        assertEquals(paulista, indice.buscar(1310100));
+        assertEquals(centroRio, indice.buscar(20040020));
+        assertNull(indice.buscar(99999999));
+    }
+
+    @Test
+    @DisplayName("Deve manter o último registro quando o CEP se repete")
+    void testManterUltimoRegistroRepetido() throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepResponseDto atualizado = CepResponseDto.builder().cep("01310100").logradouro("Av. Paulista").build();
+
+        // Act
+        CepIndexFile.escrever(List.of(paulista, atualizado), arquivo);
+
+        // Assert
+        CepIndexFile indice = CepIndexFile.abrir(arquivo);
+        assertEquals(1, indice.tamanho());
+        assertEquals("Av. Paulista", indice.buscar(1310100).getLogradouro());
+    }
+
+    @Test
+    @DisplayName("Deve trocar o arquivo sem reiniciar quando ele é modificado")
+    void testRecarregarArquivoModificado() throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepIndexFile.escrever(List.of(paulista), arquivo);
+        CepIndexProperties properties = new CepIndexProperties();
+        properties.setEnabled(true);
+        properties.setPath(arquivo.toString());
+        LocalCepIndex localCepIndex = new LocalCepIndex(properties, new SimpleMeterRegistry());
+        assertNull(localCepIndex.buscar("20040020"));
+
+        // Act
+        CepIndexFile.escrever(List.of(paulista, centroRio), arquivo);
+        Files.setLastModifiedTime(arquivo, FileTime.from(Instant.now().plusSeconds(10)));
+        localCepIndex.recarregar();
+
+        // Assert
+        assertEquals(2, localCepIndex.tamanho());
+        assertEquals(centroRio, localCepIndex.buscar("20040-020"));
+    }
+
+    @Test
+    @DisplayName("Não deve responder quando o índice está desligado")
+    void testIndiceDesligado() {
+        // Arrange
+        LocalCepIndex localCepIndex = new LocalCepIndex(new CepIndexProperties(), new SimpleMeterRegistry());
+
+        // Act & Assert
+        assertNull(localCepIndex.buscar("01310100"));
+        assertEquals(0, localCepIndex.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve importar endereços de CSV com aspas")
+    void testImportarCsv() throws Exception {
+        // Arrange
+        String csv = """
+                cep;logradouro;complemento;bairro;localidade;uf
+                01310-100;Avenida Paulista;"de 612 a 1510; lado par";Bela Vista;São Paulo;SP
+                20040-020;Rua da Assembleia;;Centro;Rio de Janeiro;RJ
+                """;
+
+        // Act
+        List<CepResponseDto> enderecos = CepIndexImporter.lerCsv(new BufferedReader(new StringReader(csv)));
+
+        // Assert
+        assertEquals(2, enderecos.size());
+        assertEquals("de 612 a 1510; lado par", enderecos.get(0).getComplemento());
+        assertNull(enderecos.get(1).getComplemento());
+        assertEquals("RJ", enderecos.get(1).getUf());
+    }
+
+    @Test
+    @DisplayName("Deve importar endereços de JSON em array ou um por linha")
+    void testImportarJson() {
+        // Arrange
+        String array = "[{\"cep\":\"01310-100\",\"uf\":\"SP\",\"regiao\":\"Sudeste\"},{\"cep\":\"20040-020\",\"uf\":\"RJ\"}]";
+        String ndjson = "{\"cep\":\"01310-100\",\"uf\":\"SP\"}\n{\"cep\":\"20040-020\",\"uf\":\"RJ\"}\n";
+
+        // Act
+        List<CepResponseDto> deArray = CepIndexImporter.lerJson(new StringReader(array));
+        List<CepResponseDto> deLinhas = CepIndexImporter.lerJson(new StringReader(ndjson));
+
+        // Assert
+        assertEquals(2, deArray.size());
+        assertEquals(deArray, deLinhas);
+    }
+
+    @Test
+    @DisplayName("Deve buscar endereços pelo começo do logradouro ignorando acentos, caixa e o tipo do logradouro")
+    void testBuscarPorLogradouro() throws Exception {
+        // Arrange
+        CepResponseDto consolacao = paulista.toBuilder().cep("01301-000").logradouro("Rua da Consolação").build();
+        CepResponseDto paulistaOutroTrecho = paulista.toBuilder().cep("01311-000").complemento("lado ímpar").build();
+        CepResponseDto geral = paulista.toBuilder().cep("01000-000").logradouro(null).build();
+        LocalCepIndex localCepIndex = indiceCom(List.of(paulista, consolacao, paulistaOutroTrecho, geral, centroRio));
+
+        // Act
+        List<CepResponseDto> porNome = localCepIndex.buscarPorLogradouro("sp", "Sao Paulo", "AV. PAULI", 10);
+        List<CepResponseDto> semTipo = localCepIndex.buscarPorLogradouro("SP", "São Paulo", "consolaçao", 10);
+        List<CepResponseDto> todos = localCepIndex.buscarPorLogradouro("SP", "São Paulo", "", 10);
+
+        // Assert
+        assertEquals(List.of(), porNome);
+        assertEquals(List.of(paulista, paulistaOutroTrecho), localCepIndex.buscarPorLogradouro("sp", "Sao Paulo", "AVENIDA PAULI", 10));
+        assertEquals(List.of(paulista, paulistaOutroTrecho), localCepIndex.buscarPorLogradouro("SP", "São Paulo", "paulista", 10));
+        assertEquals(List.of(consolacao), semTipo);
+        assertEquals(3, todos.size());
+        assertFalse(todos.contains(geral));
+    }
+
+    @Test
+    @DisplayName("Deve separar as buscas por cidade e respeitar o limite sem repetir CEPs")
+    void testBuscarPorLogradouroNaCidadeComLimite() throws Exception {
+        // Arrange
+        CepResponseDto assembleiaSp = paulista.toBuilder().cep("01000-001").logradouro("Rua da Assembleia").build();
+        CepResponseDto ruaA = centroRio.toBuilder().cep("20040-001").logradouro("Rua A").build();
+        LocalCepIndex localCepIndex = indiceCom(List.of(centroRio, assembleiaSp, ruaA));
+
+        // Act
+        List<CepResponseDto> rio = localCepIndex.buscarPorLogradouro("RJ", "Rio de Janeiro", "rua", 10);
+        List<CepResponseDto> limitado = localCepIndex.buscarPorLogradouro("RJ", "Rio de Janeiro", "", 1);
+
+        // Assert
+        assertEquals(List.of(ruaA, centroRio), rio);
+        assertEquals(List.of(ruaA), limitado);
+        assertEquals(List.of(), localCepIndex.buscarPorLogradouro("MG", "Belo Horizonte", "rua", 10));
+    }
+
+    @Test
+    @DisplayName("Não deve montar o índice reverso quando ele está desligado")
+    void testIndiceReversoDesligado() throws Exception {
+        // Arrange
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepIndexFile.escrever(List.of(paulista), arquivo);
+        CepIndexProperties properties = new CepIndexProperties();
+        properties.setEnabled(true);
+        properties.setPath(arquivo.toString());
+        properties.setReverseEnabled(false);
+
+        // Act
+        LocalCepIndex localCepIndex = new LocalCepIndex(properties, new SimpleMeterRegistry());
+
+        // Assert
+        assertEquals(paulista, localCepIndex.buscar("01310100"));
+        assertEquals(List.of(), localCepIndex.buscarPorLogradouro("SP", "São Paulo", "avenida", 10));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a faixa de CEPs em ordem, paginada pelo próximo CEP")
+    void testBuscarFaixa() throws Exception {
+        // Arrange
+        CepResponseDto consolacao = paulista.toBuilder().cep("01301-000").logradouro("Rua da Consolação").build();
+        CepResponseDto paulistaOutroTrecho = paulista.toBuilder().cep("01311-000").build();
+        LocalCepIndex localCepIndex = indiceCom(List.of(paulista, consolacao, paulistaOutroTrecho, centroRio));
+
+        // Act
+        FaixaDeCeps primeira = localCepIndex.faixa(Cep.of("01000000"), Cep.of("01999999"), 2);
+        FaixaDeCeps segunda = localCepIndex.faixa(new Cep(primeira.proximo()), Cep.of("01999999"), 2);
+
+        // Assert
+        assertEquals(2, primeira.tamanho());
+        assertEquals(3, primeira.restantes());
+        assertEquals(consolacao, primeira.endereco(0));
+        assertEquals(paulista, primeira.endereco(1));
+        assertEquals(1311000, primeira.proximo());
+        assertEquals(1, segunda.tamanho());
+        assertEquals(paulistaOutroTrecho, segunda.endereco(0));
+        assertEquals(-1, segunda.proximo());
+        assertEquals(0, localCepIndex.faixa(Cep.of("30000000"), Cep.of("39999999"), 10).tamanho());
+        assertEquals(centroRio, localCepIndex.faixa(Cep.of("20040020"), Cep.of("20040020"), 10).endereco(0));
+    }
+
+    @Test
+    @DisplayName("Deve devolver faixa vazia quando o índice está desligado")
+    void testBuscarFaixaComIndiceDesligado() {
+        // Arrange
+        LocalCepIndex localCepIndex = new LocalCepIndex(new CepIndexProperties(), new SimpleMeterRegistry());
+
+        // Act
+        FaixaDeCeps faixa = localCepIndex.faixa(Cep.of("00000000"), Cep.of("99999999"), 10);
+
+        // Assert
+        assertSame(FaixaDeCeps.VAZIA, faixa);
+    }
+
+    private LocalCepIndex indiceCom(List<CepResponseDto> enderecos) throws Exception {
+        Path arquivo = diretorio.resolve("ceps.idx");
+        CepIndexFile.escrever(enderecos, arquivo);
+        CepIndexProperties properties = new CepIndexProperties();
+        properties.setEnabled(true);
+        properties.setPath(arquivo.toString());
+        return new LocalCepIndex(properties, new SimpleMeterRegistry());
+    }
+}
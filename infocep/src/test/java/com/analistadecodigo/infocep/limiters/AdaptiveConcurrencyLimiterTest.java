@@ -0,0 +1,140 @@
+package com.analistadecodigo.infocep.limiters;
+
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do AdaptiveConcurrencyLimiter")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILISSEGUNDO = 1_000_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitProperties.Limite properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ConcurrencyLimitProperties.Limite(true, 10, 2, 100, 2.0, 0.2);
+    }
+
+    @Test
+    @DisplayName("Deve recusar imediatamente acima do limite e liberar a vaga ao encerrar a permissão")
+    void testRecusarAcimaDoLimite() {
+        // Arrange
+        properties.setInitialLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("teste", properties, meterRegistry);
+
+        // Act
+        AdaptiveConcurrencyLimiter.Permissao primeira = limiter.tentarAdquirir().orElseThrow();
+        limiter.tentarAdquirir().orElseThrow();
+        Optional<AdaptiveConcurrencyLimiter.Permissao> terceira = limiter.tentarAdquirir();
+        primeira.ignorar();
+        primeira.ignorar();
+
+        // Assert
+        assertTrue(terceira.isEmpty());
+        assertEquals(1, limiter.getEmAndamento());
+        assertTrue(limiter.tentarAdquirir().isPresent());
+        assertEquals(1.0, meterRegistry.get("infocep.concurrency.rejected").tag("limiter", "teste").counter().count());
+        assertEquals(2.0, meterRegistry.get("infocep.concurrency.inflight").tag("limiter", "teste").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve aumentar o limite enquanto a latência fica estável e o limite está em uso")
+    void testAumentarComLatenciaEstavel() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("teste", properties, meterRegistry);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limiter.registrarSucesso(10 * MILISSEGUNDO, limiter.getLimite());
+        }
+
+        // Assert
+        assertTrue(limiter.getLimite() > 10, "Limite: " + limiter.getLimite());
+        assertEquals(limiter.getLimite(), meterRegistry.get("infocep.concurrency.limit").tag("limiter", "teste").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Não deve aumentar o limite quando menos da metade está em uso")
+    void testNaoAumentarSemUso() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("teste", properties, meterRegistry);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            limiter.registrarSucesso(10 * MILISSEGUNDO, 1);
+        }
+
+        // Assert
+        assertEquals(10, limiter.getLimite());
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite quando a latência passa da tolerância")
+    void testReduzirComLatenciaAlta() {
+        // Arrange
+        properties.setInitialLimit(50);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("teste", properties, meterRegistry);
+        for (int i = 0; i < 100; i++) {
+            limiter.registrarSucesso(10 * MILISSEGUNDO, 50);
+        }
+        int antes = limiter.getLimite();
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            limiter.registrarSucesso(100 * MILISSEGUNDO, limiter.getLimite());
+        }
+
+        // Assert
+        assertTrue(limiter.getLimite() < antes, "Antes: " + antes + ", depois: " + limiter.getLimite());
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite a cada descarte, sem passar do mínimo")
+    void testReduzirComDescartes() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("teste", properties, meterRegistry);
+        List<AdaptiveConcurrencyLimiter.Permissao> permissoes = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permissoes.add(limiter.tentarAdquirir().orElseThrow());
+        }
+
+        // Act
+        permissoes.get(0).descartar();
+        int depoisDeUm = limiter.getLimite();
+        permissoes.forEach(AdaptiveConcurrencyLimiter.Permissao::descartar);
+        for (int i = 0; i < 50; i++) {
+            limiter.registrarDescarte();
+        }
+
+        // Assert
+        assertEquals(9, depoisDeUm);
+        assertEquals(2, limiter.getLimite());
+        assertEquals(0, limiter.getEmAndamento());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar tudo quando desligado")
+    void testDesligado() {
+        // Arrange
+        properties.setEnabled(false);
+        properties.setInitialLimit(2);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("teste", properties, meterRegistry);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tentarAdquirir().isPresent());
+        }
+        assertEquals(10, limiter.getEmAndamento());
+    }
+}
@@ -0,0 +1,166 @@
+package com.analistadecodigo.infocep.limiters;
+
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Testes do TokenBucketRateLimiter")
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong agora = new AtomicLong();
+    private final AtomicLong esperado = new AtomicLong();
+
+    private SimpleMeterRegistry meterRegistry;
+    private CepProvidersProperties.RateLimit properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new CepProvidersProperties.RateLimit();
+        properties.setPermitsPerSecond(10);
+        properties.setBurst(4);
+        properties.setBatchReserve(0.5);
+        properties.setInteractiveMaxWait(Duration.ofMillis(150));
+        properties.setBatchMaxWait(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Deve liberar o burst sem espera e então esperar um token por vez")
+    void testLiberarBurstEEsperar() {
+        // Arrange
+        TokenBucketRateLimiter limiter = novoLimiter();
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            limiter.adquirir();
+        }
+        long semEspera = esperado.get();
+        limiter.adquirir();
+
+        // Assert
+        assertEquals(0, semEspera);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), esperado.get());
+        assertEquals(5.0, permissoes(Prioridade.INTERATIVA));
+    }
+
+    @Test
+    @DisplayName("Deve recusar a busca interativa quando a espera passaria do máximo")
+    void testRecusarInterativaAcimaDaEspera() {
+        // Arrange
+        properties.setInteractiveMaxWait(Duration.ofMillis(50));
+        TokenBucketRateLimiter limiter = novoLimiter();
+        for (int i = 0; i < 4; i++) {
+            limiter.adquirir();
+        }
+
+        // Act & Assert
+        SobrecargaException exception = assertThrows(SobrecargaException.class, limiter::adquirir);
+        assertEquals(0, esperado.get());
+        assertEquals("1", exception.getHeaders().getFirst("Retry-After"));
+        assertEquals(1.0, meterRegistry.get("infocep.provider.ratelimit.rejected")
+                .tags("provider", "viaCep", "priority", "interativa").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve deixar a reserva do burst para as buscas interativas")
+    void testReservarBurstParaInterativas() {
+        // Arrange
+        properties.setBatchMaxWait(Duration.ZERO);
+        TokenBucketRateLimiter limiter = novoLimiter();
+
+        // Act
+        Prioridade.LOTE.executar(() -> {
+            limiter.adquirir();
+            limiter.adquirir();
+            return null;
+        });
+        assertThrows(SobrecargaException.class, () -> Prioridade.LOTE.executar(() -> {
+            limiter.adquirir();
+            return null;
+        }));
+        limiter.adquirir();
+        limiter.adquirir();
+
+        // Assert
+        assertEquals(0, esperado.get());
+        assertEquals(2.0, permissoes(Prioridade.LOTE));
+        assertEquals(2.0, permissoes(Prioridade.INTERATIVA));
+    }
+
+    @Test
+    @DisplayName("Deve fazer o lote esperar o balde encher acima da reserva")
+    void testLoteEsperaAcimaDaReserva() {
+        // Arrange
+        TokenBucketRateLimiter limiter = novoLimiter();
+        for (int i = 0; i < 4; i++) {
+            limiter.adquirir();
+        }
+
+        // Act
+        Prioridade.LOTE.executar(() -> {
+            limiter.adquirir();
+            return null;
+        });
+
+        // Assert
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), esperado.get());
+        assertEquals(1L, meterRegistry.get("infocep.provider.ratelimit.wait")
+                .tags("provider", "viaCep", "priority", "lote").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve reservar sem bloquear e devolver a espera até o token")
+    void testReservarSemEsperar() {
+        // Arrange
+        TokenBucketRateLimiter limiter = novoLimiter();
+        for (int i = 0; i < 4; i++) {
+            limiter.reservarSemEsperar();
+        }
+
+        // Act
+        Duration primeiraEspera = limiter.reservarSemEsperar();
+        SobrecargaException exception = assertThrows(SobrecargaException.class, limiter::reservarSemEsperar);
+
+        // Assert
+        assertEquals(Duration.ofMillis(100), primeiraEspera);
+        assertEquals(0, esperado.get());
+        assertNotNull(exception.getHeaders().getFirst("Retry-After"));
+        assertEquals(5.0, permissoes(Prioridade.INTERATIVA));
+    }
+
+    @Test
+    @DisplayName("Deve liberar tudo quando desligado")
+    void testDesligado() {
+        // Arrange
+        properties.setEnabled(false);
+        TokenBucketRateLimiter limiter = novoLimiter();
+
+        // Act & Assert
+        for (int i = 0; i < 100; i++) {
+            limiter.adquirir();
+        }
+        assertEquals(0, esperado.get());
+    }
+
+    private TokenBucketRateLimiter novoLimiter() {
+        return new TokenBucketRateLimiter("viaCep", properties, meterRegistry, agora::get, nanos -> {
+            esperado.addAndGet(nanos);
+            agora.addAndGet(nanos);
+        });
+    }
+
+    private double permissoes(Prioridade prioridade) {
+        return meterRegistry.get("infocep.provider.ratelimit.permits")
+                .tags("provider", "viaCep", "priority", prioridade.name().toLowerCase())
+                .counter().count();
+    }
+}
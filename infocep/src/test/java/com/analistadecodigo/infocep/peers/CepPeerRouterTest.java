@@ -0,0 +1,223 @@
+package com.analistadecodigo.infocep.peers;
+
+import com.analistadecodigo.infocep.configs.CepPeersProperties;
+import com.analistadecodigo.infocep.controllers.StaleResponseAdvice;
+import com.analistadecodigo.infocep.dtos.Cep;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@DisplayName("Testes do CepPeerRouter")
+class CepPeerRouterTest {
+
+    private static final String SELF = "10.0.0.1:8080";
+    private static final String OUTRA = "10.0.0.2:8080";
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private SimpleMeterRegistry meterRegistry;
+    private MockRestServiceServer server;
+    private CepPeerRouter router;
+    private CepResponseDto paulista;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        RestTemplate restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        router = new CepPeerRouter(propriedades(SELF, List.of(OUTRA)), restTemplate, meterRegistry);
+        paulista = CepResponseDto.builder()
+                .cep("01310-100").logradouro("Avenida Paulista").bairro("Bela Vista")
+                .localidade("São Paulo").uf("SP").ibge("3550308")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve dividir os CEPs entre as réplicas e mover só os da réplica que entra")
+    void testDividirCeps() {
+        // Arrange
+        AnelDeHashConsistente tres = new AnelDeHashConsistente(List.of("a:8080", "b:8080", "c:8080"), 128);
+        AnelDeHashConsistente quatro = new AnelDeHashConsistente(List.of("a:8080", "b:8080", "c:8080", "d:8080"), 128);
+        Map<String, Integer> porMembro = new HashMap<>();
+        int movidos = 0;
+
+        // Act
+        for (int cep = 1_000_000; cep < 1_030_000; cep++) {
+            String antes = tres.dono(cep);
+            String depois = quatro.dono(cep);
+            porMembro.merge(antes, 1, Integer::sum);
+            if (!antes.equals(depois)) {
+                assertEquals("d:8080", depois);
+                movidos++;
+            }
+        }
+
+        // Assert
+        assertEquals(3, porMembro.size());
+        porMembro.values().forEach(quantidade -> assertTrue(quantidade > 7_500 && quantidade < 12_500, "CEPs por réplica: " + porMembro));
+        assertTrue(movidos > 5_000 && movidos < 10_000, "CEPs movidos: " + movidos);
+        assertNull(new AnelDeHashConsistente(List.of(), 128).dono(1310100));
+    }
+
+    @Test
+    @DisplayName("Deve encaminhar para a réplica dona e guardar a resposta no near cache")
+    void testEncaminharParaDona() throws Exception {
+        // Arrange
+        Cep cep = cepDe(OUTRA);
+        server.expect(times(1), requestTo("http://" + OUTRA + "/internal/peers/ceps/" + cep))
+                .andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess(mapper.writeValueAsString(paulista), MediaType.APPLICATION_JSON));
+
+        // Act
+        CepResponseDto primeira = router.buscar(cep);
+        CepResponseDto segunda = router.buscar(cep);
+
+        // Assert
+        server.verify();
+        assertEquals(paulista, primeira);
+        assertEquals(paulista, segunda);
+        assertEquals(1.0, meterRegistry.get("infocep.peers.near").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("infocep.peers.forward").tag("result", "ok").timer().count());
+        assertNull(router.buscar(cepDe(SELF)));
+    }
+
+    @Test
+    @DisplayName("Deve converter 404 sinalizado pela dona em CEP inexistente e devolver null quando ela falha")
+    void testRespostasDeErroDaDona() {
+        // Arrange
+        Cep inexistente = cepDe(OUTRA);
+        Cep comFalha = cepDe(OUTRA, inexistente.valor() + 1);
+        Cep semEndpoint = cepDe(OUTRA, comFalha.valor() + 1);
+        server.expect(requestTo("http://" + OUTRA + "/internal/peers/ceps/" + inexistente))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND).header(CepPeerRouter.NAO_ENCONTRADO_HEADER, "true"));
+        server.expect(times(2), requestTo("http://" + OUTRA + "/internal/peers/ceps/" + comFalha))
+                .andRespond(withServerError());
+        server.expect(requestTo("http://" + OUTRA + "/internal/peers/ceps/" + semEndpoint))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        // Act
+        Cep cep = inexistente;
+        assertThrows(CepNaoEncontradoException.class, () -> router.buscar(cep));
+        CepResponseDto primeira = router.buscar(comFalha);
+        CepResponseDto segunda = router.buscar(comFalha);
+        CepResponseDto rotaAusente = router.buscar(semEndpoint);
+
+        // Assert
+        server.verify();
+        assertNull(primeira);
+        assertNull(segunda);
+        assertNull(rotaAusente);
+        assertEquals(1, meterRegistry.get("infocep.peers.forward").tag("result", "not_found").timer().count());
+        assertEquals(3, meterRegistry.get("infocep.peers.forward").tag("result", "error").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve seguir nesta réplica quando a dona devolve o fallback, sem guardá-lo no near cache")
+    void testFallbackDaDona() throws Exception {
+        // Arrange
+        Cep cep = cepDe(OUTRA);
+        Cep outro = cepDe(OUTRA, cep.valor() + 1);
+        CepResponseDto placeholder = CepResponseDto.builder().cep(cep.toString()).logradouro("Indisponível").build();
+        server.expect(times(2), requestTo("http://" + OUTRA + "/internal/peers/ceps/" + cep))
+                .andRespond(withSuccess(mapper.writeValueAsString(placeholder), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CACHE_CONTROL, "no-store"));
+        server.expect(requestTo("http://" + OUTRA + "/internal/peers/ceps/" + outro))
+                .andRespond(withSuccess(mapper.writeValueAsString(placeholder), MediaType.APPLICATION_JSON)
+                        .header(CepPeerRouter.FALLBACK_HEADER, "true"));
+
+        // Act
+        CepResponseDto primeira = router.buscar(cep);
+        CepResponseDto segunda = router.buscar(cep);
+        CepResponseDto sinalizada = router.buscar(outro);
+
+        // Assert
+        server.verify();
+        assertNull(primeira);
+        assertNull(segunda);
+        assertNull(sinalizada);
+        assertEquals(3, meterRegistry.get("infocep.peers.forward").tag("result", "error").timer().count());
+        assertEquals(0.0, meterRegistry.get("infocep.peers.near").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve marcar como stale a última versão conhecida vinda da dona, sem guardá-la no near cache")
+    void testStaleDaDona() throws Exception {
+        // Arrange
+        Cep cep = cepDe(OUTRA);
+        server.expect(times(2), requestTo("http://" + OUTRA + "/internal/peers/ceps/" + cep))
+                .andRespond(withSuccess(mapper.writeValueAsString(paulista), MediaType.APPLICATION_JSON)
+                        .header(StaleResponseAdvice.STALE_HEADER, "true")
+                        .header(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        // Act
+        CepResponseDto primeira = router.buscar(cep);
+        CepResponseDto segunda = router.buscar(cep);
+
+        // Assert
+        server.verify();
+        assertTrue(primeira.isStale());
+        assertTrue(segunda.isStale());
+        assertEquals(paulista.getLogradouro(), primeira.getLogradouro());
+        assertEquals(0.0, meterRegistry.get("infocep.peers.near").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve incluir as réplicas descobertas e esta no anel, e desligar sem self")
+    void testAtualizarMembros() {
+        // Act
+        router.atualizarMembros(List.of("10.0.0.3:8080", OUTRA));
+        CepPeerRouter semSelf = new CepPeerRouter(propriedades("", List.of(OUTRA)), new RestTemplate(), meterRegistry);
+
+        // Assert
+        assertEquals(List.of(SELF, OUTRA, "10.0.0.3:8080"), router.membros());
+        assertNull(semSelf.dono(Cep.of("01310100")));
+        assertNull(new CepPeerRouter(new CepPeersProperties(), new RestTemplate(), new SimpleMeterRegistry())
+                .dono(Cep.of("01310100")));
+    }
+
+    /**
+     * @return o primeiro CEP a partir de 01310100 que pertence à réplica
+     */
+    private Cep cepDe(String replica) {
+        return cepDe(replica, 1_310_100);
+    }
+
+    private Cep cepDe(String replica, int aPartirDe) {
+        String dono = SELF.equals(replica) ? null : replica;
+        Cep cep = new Cep(aPartirDe);
+        while (!Objects.equals(dono, router.dono(cep))) {
+            cep = new Cep(cep.valor() + 1);
+        }
+        return cep;
+    }
+
+    private static CepPeersProperties propriedades(String self, List<String> membros) {
+        CepPeersProperties properties = new CepPeersProperties();
+        properties.setEnabled(true);
+        properties.setSelf(self);
+        properties.setMembers(membros);
+        return properties;
+    }
+}
@@ -0,0 +1,157 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.configs.CepBatchProperties;
+import com.analistadecodigo.infocep.dtos.CepBatchItemDto;
+import com.analistadecodigo.infocep.dtos.CepRequestDto;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepBatchService")
+class CepBatchServiceTest {
+
+    @Mock
+    private CepService cepService;
+
+    private ValidatorFactory validatorFactory;
+
+    private ExecutorService executor;
+
+    private CepBatchService cepBatchService;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        CepBatchProperties properties = new CepBatchProperties();
+        properties.setMaxSize(10);
+        properties.setConcurrency(4);
+        executor = Executors.newFixedThreadPool(properties.getConcurrency());
+        cepBatchService = new CepBatchService(cepService, validatorFactory.getValidator(), properties, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        validatorFactory.close();
+    }
+
+    @Test
+    @DisplayName("Deve resolver CEPs distintos mantendo a ordem de entrada")
+    void testResolverCepsDistintos() {
+        // Arrange
+        CepResponseDto sp = CepResponseDto.builder().cep("01310-100").uf("SP").build();
+        CepResponseDto rj = CepResponseDto.builder().cep("20040-020").uf("RJ").build();
+        when(cepService.buscarPorCep("01310100")).thenReturn(sp);
+        when(cepService.buscarPorCep("20040020")).thenReturn(rj);
+
+        // Act
+        List<CepBatchItemDto> resultado = cepBatchService.buscarPorCeps(List.of(
+                new CepRequestDto("01310100"),
+                new CepRequestDto("20040020"),
+                new CepRequestDto("01310-100")));
+
+        // Assert
+        assertEquals(2, resultado.size());
+        assertEquals("01310100", resultado.get(0).getCep());
+        assertEquals(CepBatchItemDto.Status.OK, resultado.get(0).getStatus());
+        assertEquals(sp, resultado.get(0).getEndereco());
+        assertEquals(rj, resultado.get(1).getEndereco());
+        verify(cepService, times(2)).buscarPorCep(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve reportar erro por item sem falhar o lote")
+    void testReportarErrosPorItem() {
+        // Arrange
+        CepResponseDto fallback = CepResponseDto.builder().cep("20040020").uf("NA").fallback(true).build();
+        when(cepService.buscarPorCep("01310100"))
+                .thenThrow(new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro 500"));
+        when(cepService.buscarPorCep("20040020")).thenReturn(fallback);
+        when(cepService.buscarPorCep("99999999")).thenReturn(null);
+
+        // Act
+        List<CepBatchItemDto> resultado = cepBatchService.buscarPorCeps(List.of(
+                new CepRequestDto("01310100"),
+                new CepRequestDto("20040020"),
+                new CepRequestDto("99999999"),
+                new CepRequestDto("ABC")));
+
+        // Assert
+        assertEquals(CepBatchItemDto.Status.ERRO, resultado.get(0).getStatus());
+        assertNotNull(resultado.get(0).getErro());
+        assertEquals(CepBatchItemDto.Status.FALLBACK, resultado.get(1).getStatus());
+        assertEquals(CepBatchItemDto.Status.NAO_ENCONTRADO, resultado.get(2).getStatus());
+        assertEquals(CepBatchItemDto.Status.INVALIDO, resultado.get(3).getStatus());
+        assertEquals("Formato de CEP inválido", resultado.get(3).getErro());
+        verify(cepService, never()).buscarPorCep("ABC");
+    }
+
+    @Test
+    @DisplayName("Deve reportar cada elemento null do lote como INVALIDO sem falhar o lote")
+    void testReportarElementosNull() {
+        // Arrange
+        CepResponseDto sp = CepResponseDto.builder().cep("01310-100").uf("SP").build();
+        when(cepService.buscarPorCep("01310100")).thenReturn(sp);
+
+        // Act
+        List<CepBatchItemDto> resultado = cepBatchService.buscarPorCeps(Arrays.asList(
+                null, new CepRequestDto("01310100"), null));
+
+        // Assert
+        assertEquals(3, resultado.size());
+        assertEquals(CepBatchItemDto.Status.INVALIDO, resultado.get(0).getStatus());
+        assertEquals("CEP é obrigatório", resultado.get(0).getErro());
+        assertEquals(sp, resultado.get(1).getEndereco());
+        assertEquals(CepBatchItemDto.Status.INVALIDO, resultado.get(2).getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve reportar CEP inexistente como NAO_ENCONTRADO, e não como erro")
+    void testReportarCepInexistente() {
+        // Arrange
+        when(cepService.buscarPorCep("99999999")).thenThrow(new CepNaoEncontradoException("99999999"));
+
+        // Act
+        List<CepBatchItemDto> resultado = cepBatchService.buscarPorCeps(List.of(new CepRequestDto("99999999")));
+
+        // Assert
+        assertEquals(CepBatchItemDto.Status.NAO_ENCONTRADO, resultado.get(0).getStatus());
+        assertNull(resultado.get(0).getErro());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote maior que o tamanho máximo")
+    void testRejeitarLoteMaiorQueMaximo() {
+        // Arrange
+        List<CepRequestDto> ceps = new ArrayList<>(Collections.nCopies(11, new CepRequestDto("01310100")));
+
+        // Act & Assert
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> cepBatchService.buscarPorCeps(ceps));
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        verifyNoInteractions(cepService);
+    }
+}
@@ -1,6 +1,25 @@
 package com.analistadecodigo.infocep.services;
 
+import com.analistadecodigo.infocep.caches.CepCache;
+import com.analistadecodigo.infocep.clients.CepProviderRouter;
+import com.analistadecodigo.infocep.clients.HttpCepProvider;
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.configs.CepPeersProperties;
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.dtos.Cep;
 import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepInvalidoException;
+import com.analistadecodigo.infocep.exceptions.CepNaoEncontradoException;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import com.analistadecodigo.infocep.limiters.TokenBucketRateLimiter;
+import com.analistadecodigo.infocep.peers.CepPeerRouter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,12 +30,25 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,12 +68,27 @@ class CepServiceTest {
 
     private CepService cepService;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private CepResponseDto cepResponseDtoValido;
 
+    private final ConcurrencyLimitProperties limitProperties = new ConcurrencyLimitProperties();
+
     @BeforeEach
     void setUp() {
         when(restTemplateBuilder.build()).thenReturn(restTemplate);
-        cepService = new CepService(restTemplateBuilder);
+        meterRegistry = new SimpleMeterRegistry();
+        HttpCepProvider viaCep = new HttpCepProvider("viaCep", "https://viacep.com.br/ws/{cep}/json/",
+                restTemplateBuilder, CircuitBreaker.ofDefaults("viaCep"),
+                new TokenBucketRateLimiter("viaCep", semLimiteDeTaxa(), meterRegistry), ObservationRegistry.NOOP);
+        CepProviderRouter router = new CepProviderRouter(List.of(viaCep), new CepProvidersProperties.Hedge(),
+                Runnable::run, meterRegistry);
+        cepService = new CepService(router,
+                new CepCache(new CepCacheProperties(), meterRegistry, Optional.empty()),
+                new LocalCepIndex(new CepIndexProperties(), meterRegistry),
+                new CepPeerRouter(new CepPeersProperties(), new RestTemplate(), meterRegistry), Runnable::run,
+                new AdaptiveConcurrencyLimiter("outbound", limitProperties.getOutbound(), meterRegistry),
+                limitProperties, meterRegistry);
 
         cepResponseDtoValido = CepResponseDto.builder()
                 .cep("01310100")
@@ -148,7 +195,7 @@ class CepServiceTest {
     }
 
     @Test
-    @DisplayName("Deve retornar null quando CEP não encontrado")
+    @DisplayName("Deve lançar CepNaoEncontradoException quando a ViaCEP responde sem corpo")
     void testBuscarCepNaoEncontrado() {
         // Arrange
         String cepNaoEncontrado = "00000000";
@@ -156,12 +203,48 @@ class CepServiceTest {
         when(restTemplate.getForObject(url, CepResponseDto.class))
                 .thenReturn(null);
 
+        // Act & Assert
+        assertThrows(CepNaoEncontradoException.class, () -> cepService.buscarPorCep(cepNaoEncontrado));
+        verify(restTemplate, times(1)).getForObject(url, CepResponseDto.class);
+    }
+
+    @Test
+    @DisplayName("Deve responder CEP inexistente pelo cache negativo sem nova chamada à ViaCEP")
+    void testCacheNegativo() {
+        // Arrange
+        String url = "https://viacep.com.br/ws/99999999/json/";
+        CepResponseDto erro = CepResponseDto.builder().erro(true).build();
+        when(restTemplate.getForObject(url, CepResponseDto.class)).thenReturn(erro);
+
         // Act
-        CepResponseDto resultado = cepService.buscarPorCep(cepNaoEncontrado);
+        assertThrows(CepNaoEncontradoException.class, () -> cepService.buscarPorCep("99999999"));
+        assertThrows(CepNaoEncontradoException.class, () -> cepService.buscarPorCep("99999-999"));
 
         // Assert
-        assertNull(resultado);
         verify(restTemplate, times(1)).getForObject(url, CepResponseDto.class);
+        assertEquals(1.0, meterRegistry.get("infocep.cache.negative").tag("result", "hit").counter().count());
+        assertEquals(0.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Deve tratar 404 da ViaCEP como CEP inexistente, sem reduzir o limite de saída")
+    void testNaoEncontradoNaoEhFalha() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiteDeSaida = new AdaptiveConcurrencyLimiter("outbound",
+                new ConcurrencyLimitProperties.Limite(true, 10, 2, 20, 2.0, 0.2), meterRegistry);
+        CepService servico = novoCepService(new CepCacheProperties(), limiteDeSaida);
+        when(restTemplate.getForObject("https://viacep.com.br/ws/99999999/json/", CepResponseDto.class))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, null, null));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            assertThrows(CepNaoEncontradoException.class, () -> servico.buscarPorCep("99999999"));
+        }
+
+        // Assert
+        verify(restTemplate, times(1)).getForObject("https://viacep.com.br/ws/99999999/json/", CepResponseDto.class);
+        assertEquals(10, limiteDeSaida.getLimite());
+        assertEquals(0, limiteDeSaida.getEmAndamento());
     }
 
     @Test
@@ -181,19 +264,16 @@ class CepServiceTest {
     }
 
     @Test
-    @DisplayName("Deve lançar exceção quando CEP inválido (400)")
+    @DisplayName("Deve rejeitar CEP inválido (400) sem chamar a ViaCEP")
     void testBuscarCepInvalidoComErro400() {
         // Arrange
         String cep = "INVALIDO";
-        String url = "https://viacep.com.br/ws/INVALIDO/json/";
-        HttpStatusCode statusCode = HttpStatus.BAD_REQUEST;
-        when(restTemplate.getForObject(url, CepResponseDto.class))
-                .thenThrow(new HttpClientErrorException(statusCode, "Erro 400"));
 
         // Act & Assert
-        assertThrows(HttpClientErrorException.class, () -> {
+        assertThrows(CepInvalidoException.class, () -> {
             cepService.buscarPorCep(cep);
         });
+        verifyNoInteractions(restTemplate);
     }
 
     @Test
@@ -418,5 +498,345 @@ class CepServiceTest {
         verify(restTemplate, never()).getForEntity(anyString(), any());
         verify(restTemplate, never()).postForObject(anyString(), any(), any());
     }
-}
 
+    @Test
+    @DisplayName("Deve responder do cache na segunda busca do mesmo CEP")
+    void testResponderDoCacheNaSegundaBusca() {
+        // Arrange
+        String url = "https://viacep.com.br/ws/01310100/json/";
+        when(restTemplate.getForObject(url, CepResponseDto.class))
+                .thenReturn(cepResponseDtoValido);
+
+        // Act
+        CepResponseDto resultado1 = cepService.buscarPorCep("01310100");
+        CepResponseDto resultado2 = cepService.buscarPorCep("01310-100");
+
+        // Assert
+        assertEquals(resultado1, resultado2);
+        verify(restTemplate, times(1)).getForObject(url, CepResponseDto.class);
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar uma única chamada à ViaCEP entre buscas concorrentes do mesmo CEP")
+    void testCoalescerBuscasConcorrentes() throws Exception {
+        // Arrange
+        String url = "https://viacep.com.br/ws/01310100/json/";
+        int chamadores = 8;
+        CountDownLatch liberarResposta = new CountDownLatch(1);
+        when(restTemplate.getForObject(url, CepResponseDto.class)).thenAnswer(invocation -> {
+            liberarResposta.await(5, TimeUnit.SECONDS);
+            return cepResponseDtoValido;
+        });
+
+        // Act
+        List<Future<CepResponseDto>> resultados = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(chamadores);
+        try {
+            for (int i = 0; i < chamadores; i++) {
+                resultados.add(executor.submit(() -> cepService.buscarPorCep("01310100")));
+            }
+            aguardarCoalescidas(chamadores - 1);
+            liberarResposta.countDown();
+
+            // Assert
+            for (Future<CepResponseDto> resultado : resultados) {
+                assertEquals(cepResponseDtoValido, resultado.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(restTemplate, times(1)).getForObject(url, CepResponseDto.class);
+        assertEquals(chamadores - 1, meterRegistry.get("infocep.lookup.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a mesma exceção para buscas coalescidas")
+    void testPropagarExcecaoParaBuscasCoalescidas() throws Exception {
+        // Arrange
+        String url = "https://viacep.com.br/ws/01310100/json/";
+        CountDownLatch liberarResposta = new CountDownLatch(1);
+        when(restTemplate.getForObject(url, CepResponseDto.class)).thenAnswer(invocation -> {
+            liberarResposta.await(5, TimeUnit.SECONDS);
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro 500");
+        });
+
+        // Act
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CepResponseDto> primeira = executor.submit(() -> cepService.buscarPorCep("01310100"));
+            Future<CepResponseDto> segunda = executor.submit(() -> cepService.buscarPorCep("01310100"));
+            aguardarCoalescidas(1);
+            liberarResposta.countDown();
+
+            // Assert
+            ExecutionException erro1 = assertThrows(ExecutionException.class, () -> primeira.get(5, TimeUnit.SECONDS));
+            ExecutionException erro2 = assertThrows(ExecutionException.class, () -> segunda.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(HttpServerErrorException.class, erro1.getCause());
+            assertSame(erro1.getCause(), erro2.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(restTemplate, times(1)).getForObject(url, CepResponseDto.class);
+    }
+
+    private void aguardarCoalescidas(int esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("infocep.lookup.coalesced").counter().count() < esperadas
+                && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Deve desserializar JSON da ViaCEP sem o campo interno de fallback")
+    void testDesserializarJsonDaViaCep() {
+        // Arrange
+        String json = """
+                {"cep":"01310-100","logradouro":"Avenida Paulista","complemento":"lado par",
+                 "bairro":"Bela Vista","localidade":"São Paulo","uf":"SP","ibge":"3550308",
+                 "gia":"1004","ddd":"11","siafi":"7107","estado":"São Paulo","regiao":"Sudeste"}
+                """;
+
+        // Act
+        CepResponseDto resultado = JsonMapper.builder().build().readValue(json, CepResponseDto.class);
+
+        // Assert
+        assertEquals("01310-100", resultado.getCep());
+        assertEquals("Avenida Paulista", resultado.getLogradouro());
+        assertFalse(resultado.isFallback());
+    }
+
+    @Test
+    @DisplayName("Deve servir a última versão conhecida marcada como stale quando a ViaCEP falha")
+    void testServirVersaoAnteriorQuandoViaCepFalha() throws Exception {
+        // Arrange
+        CepCacheProperties properties = new CepCacheProperties();
+        properties.setTtl(Duration.ofMillis(50));
+        CepService servico = novoCepService(properties);
+        String url = "https://viacep.com.br/ws/01310100/json/";
+        when(restTemplate.getForObject(url, CepResponseDto.class))
+                .thenReturn(cepResponseDtoValido)
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Erro 503"));
+        servico.buscarPorCep("01310100");
+        Thread.sleep(100);
+
+        // Act
+        CepResponseDto resultado = servico.buscarPorCep("01310100");
+
+        // Assert
+        assertTrue(resultado.isStale());
+        assertEquals("Avenida Paulista", resultado.getLogradouro());
+        assertFalse(cepResponseDtoValido.isStale());
+        verify(restTemplate, times(2)).getForObject(url, CepResponseDto.class);
+        assertEquals(1.0, meterRegistry.get("infocep.lookup.stale").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve propagar o erro quando a ViaCEP falha e não há versão anterior do CEP")
+    void testPropagarErroSemVersaoAnterior() {
+        // Arrange
+        String url = "https://viacep.com.br/ws/01310100/json/";
+        when(restTemplate.getForObject(url, CepResponseDto.class))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Erro 503"));
+
+        // Act & Assert
+        assertThrows(HttpServerErrorException.class, () -> cepService.buscarPorCep("01310100"));
+        assertEquals(0.0, meterRegistry.get("infocep.lookup.stale").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar em segundo plano o CEP em cache que passou do refresh-after")
+    void testAtualizarEmSegundoPlano() {
+        // Arrange
+        CepCacheProperties properties = new CepCacheProperties();
+        properties.setRefreshAfter(Duration.ZERO);
+        CepService servico = novoCepService(properties);
+        String url = "https://viacep.com.br/ws/01310100/json/";
+        CepResponseDto atualizado = cepResponseDtoValido.toBuilder().complemento("atualizado").build();
+        when(restTemplate.getForObject(url, CepResponseDto.class))
+                .thenReturn(cepResponseDtoValido)
+                .thenReturn(atualizado);
+        servico.buscarPorCep("01310100");
+
+        // Act
+        CepResponseDto servidoDoCache = servico.buscarPorCep("01310100");
+        CepResponseDto aposAtualizacao = servico.buscarPorCep("01310100");
+
+        // Assert
+        assertEquals("lado par", servidoDoCache.getComplemento());
+        assertEquals("atualizado", aposAtualizacao.getComplemento());
+        assertEquals(2.0, meterRegistry.get("infocep.cache.refreshes").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve medir a latência de cada etapa da busca")
+    void testMedirEtapasDaBusca() {
+        // Arrange
+        when(restTemplate.getForObject("https://viacep.com.br/ws/01310100/json/", CepResponseDto.class))
+                .thenReturn(cepResponseDtoValido);
+
+        // Act
+        cepService.buscarPorCep("01310100");
+        cepService.buscarPorCep("01310-100");
+
+        // Assert
+        assertEquals(2, meterRegistry.get("infocep.lookup.stage").tag("stage", "validacao").timer().count());
+        assertEquals(2, meterRegistry.get("infocep.lookup.stage").tag("stage", "cache").timer().count());
+        assertEquals(1, meterRegistry.get("infocep.lookup.stage").tag("stage", "indice").timer().count());
+        assertEquals(1, meterRegistry.get("infocep.lookup.stage").tag("stage", "origem").timer().count());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 503 e Retry-After sem chamar a ViaCEP quando o limite de saída está cheio")
+    void testRecusarQuandoLimiteDeSaidaCheio() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiteDeSaida = new AdaptiveConcurrencyLimiter("outbound",
+                new ConcurrencyLimitProperties.Limite(true, 1, 1, 1, 2.0, 0.2), meterRegistry);
+        CepService servico = novoCepService(new CepCacheProperties(), limiteDeSaida);
+        limiteDeSaida.tentarAdquirir().orElseThrow();
+
+        // Act
+        SobrecargaException exception = assertThrows(SobrecargaException.class, () -> servico.buscarPorCep("01310100"));
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+        assertEquals("1", exception.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve registrar no resumo da busca a origem da resposta e a espera pelos provedores")
+    void testRegistrarResumoDaBusca() {
+        // Arrange
+        when(restTemplate.getForObject("https://viacep.com.br/ws/01310100/json/", CepResponseDto.class))
+                .thenReturn(cepResponseDtoValido);
+
+        // Act
+        ResumoDaBusca.iniciar();
+        cepService.buscarPorCep("01310100");
+        ResumoDaBusca primeira = ResumoDaBusca.encerrar();
+        ResumoDaBusca.iniciar();
+        cepService.buscarPorCep("01310100");
+        ResumoDaBusca segunda = ResumoDaBusca.encerrar();
+
+        // Assert
+        assertEquals(ResumoDaBusca.Origem.PROVEDOR, primeira.getOrigem());
+        assertTrue(primeira.getNanosNaOrigem() >= 0);
+        assertEquals(ResumoDaBusca.Origem.CACHE, segunda.getOrigem());
+        assertEquals(-1, segunda.getNanosNaOrigem());
+        assertNull(ResumoDaBusca.encerrar());
+    }
+
+    @Test
+    @DisplayName("Deve buscar o CEP de outra réplica na dona, sem chamar os provedores nem guardar no cache local")
+    void testBuscarNaReplicaDona() {
+        // Arrange
+        CepPeerRouter cepPeerRouter = mock(CepPeerRouter.class);
+        Cep cep = Cep.of("01310100");
+        when(cepPeerRouter.dono(cep)).thenReturn("10.0.0.2:8080");
+        when(cepPeerRouter.buscar(cep)).thenReturn(cepResponseDtoValido);
+        CepService servico = novoCepService(cepPeerRouter);
+
+        // Act
+        ResumoDaBusca.iniciar();
+        CepResponseDto primeira = servico.buscarPorCep("01310100");
+        ResumoDaBusca resumo = ResumoDaBusca.encerrar();
+        CepResponseDto segunda = servico.buscarPorCep("01310100");
+
+        // Assert
+        assertEquals(cepResponseDtoValido, primeira);
+        assertEquals(cepResponseDtoValido, segunda);
+        assertEquals(ResumoDaBusca.Origem.PAR, resumo.getOrigem());
+        verify(cepPeerRouter, times(2)).buscar(cep);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Deve buscar nos provedores quando a réplica dona não responde")
+    void testBuscarNosProvedoresQuandoDonaFalha() {
+        // Arrange
+        CepPeerRouter cepPeerRouter = mock(CepPeerRouter.class);
+        Cep cep = Cep.of("01310100");
+        when(cepPeerRouter.dono(cep)).thenReturn("10.0.0.2:8080");
+        when(cepPeerRouter.buscar(cep)).thenReturn(null);
+        when(restTemplate.getForObject("https://viacep.com.br/ws/01310100/json/", CepResponseDto.class))
+                .thenReturn(cepResponseDtoValido);
+        CepService servico = novoCepService(cepPeerRouter);
+
+        // Act
+        CepResponseDto response = servico.buscarPorCep("01310100");
+
+        // Assert
+        assertEquals(cepResponseDtoValido, response);
+        verify(restTemplate).getForObject("https://viacep.com.br/ws/01310100/json/", CepResponseDto.class);
+    }
+
+    @Test
+    @DisplayName("Deve guardar no cache negativo local o CEP que a réplica dona diz não existir")
+    void testCepInexistenteNaReplicaDona() {
+        // Arrange
+        CepPeerRouter cepPeerRouter = mock(CepPeerRouter.class);
+        Cep cep = Cep.of("99999999");
+        when(cepPeerRouter.dono(cep)).thenReturn("10.0.0.2:8080");
+        when(cepPeerRouter.buscar(cep)).thenThrow(new CepNaoEncontradoException("99999999"));
+        CepService servico = novoCepService(cepPeerRouter);
+
+        // Act
+        assertThrows(CepNaoEncontradoException.class, () -> servico.buscarPorCep("99999999"));
+        assertThrows(CepNaoEncontradoException.class, () -> servico.buscarPorCep("99999999"));
+
+        // Assert
+        verify(cepPeerRouter).buscar(cep);
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    @DisplayName("Não deve encaminhar de novo a busca que outra réplica encaminhou para esta")
+    void testBuscarComoDonoSemEncaminhar() {
+        // Arrange
+        CepPeerRouter cepPeerRouter = mock(CepPeerRouter.class);
+        when(restTemplate.getForObject("https://viacep.com.br/ws/01310100/json/", CepResponseDto.class))
+                .thenReturn(cepResponseDtoValido);
+        CepService servico = novoCepService(cepPeerRouter);
+
+        // Act
+        CepResponseDto response = servico.buscarComoDono("01310-100");
+
+        // Assert
+        assertEquals(cepResponseDtoValido, response);
+        verifyNoInteractions(cepPeerRouter);
+    }
+
+    private CepService novoCepService(CepCacheProperties cacheProperties) {
+        return novoCepService(cacheProperties,
+                new AdaptiveConcurrencyLimiter("outbound", limitProperties.getOutbound(), meterRegistry));
+    }
+
+    private CepService novoCepService(CepCacheProperties cacheProperties, AdaptiveConcurrencyLimiter limiteDeSaida) {
+        return novoCepService(cacheProperties, limiteDeSaida,
+                new CepPeerRouter(new CepPeersProperties(), new RestTemplate(), meterRegistry));
+    }
+
+    private CepService novoCepService(CepPeerRouter cepPeerRouter) {
+        return novoCepService(new CepCacheProperties(),
+                new AdaptiveConcurrencyLimiter("outbound", limitProperties.getOutbound(), meterRegistry), cepPeerRouter);
+    }
+
+    private CepService novoCepService(CepCacheProperties cacheProperties, AdaptiveConcurrencyLimiter limiteDeSaida,
+                                      CepPeerRouter cepPeerRouter) {
+        HttpCepProvider viaCep = new HttpCepProvider("viaCep", "https://viacep.com.br/ws/{cep}/json/",
+                restTemplateBuilder, CircuitBreaker.ofDefaults("viaCep"),
+                new TokenBucketRateLimiter("viaCep", semLimiteDeTaxa(), meterRegistry), ObservationRegistry.NOOP);
+        CepProviderRouter router = new CepProviderRouter(List.of(viaCep), new CepProvidersProperties.Hedge(),
+                Runnable::run, meterRegistry);
+        return new CepService(router, new CepCache(cacheProperties, meterRegistry, Optional.empty()),
+                new LocalCepIndex(new CepIndexProperties(), meterRegistry), cepPeerRouter, Runnable::run,
+                limiteDeSaida, limitProperties, meterRegistry);
+    }
+
+    private static CepProvidersProperties.RateLimit semLimiteDeTaxa() {
+        CepProvidersProperties.RateLimit rateLimit = new CepProvidersProperties.RateLimit();
+        rateLimit.setEnabled(false);
+        return rateLimit;
+    }
+}
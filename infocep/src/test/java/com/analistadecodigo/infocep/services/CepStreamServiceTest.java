@@ -0,0 +1,256 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.configs.CepStreamProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepStreamService")
+class CepStreamServiceTest {
+
+    @Mock
+    private CepService cepService;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private CepStreamProperties properties;
+
+    private ExecutorService executor;
+
+    private CepResponseDto sp;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CepStreamProperties();
+        properties.setConcurrency(4);
+        properties.setProgressInterval(2);
+        executor = Executors.newCachedThreadPool();
+        sp = CepResponseDto.builder().cep("01310-100").localidade("São Paulo").uf("SP").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve enriquecer NDJSON linha a linha, reportando inválidos e progresso na própria saída")
+    void testEnriquecerNdjson() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep(anyString())).thenReturn(sp);
+        String entrada = """
+                {"cep":"01310-100","id":1}
+                "01310100"
+
+                01310100
+                {"cep":"ABC"}
+                """;
+
+        // Act
+        List<JsonNode> saida = enriquecer(entrada, CepStreamService.Formato.NDJSON);
+
+        // Assert
+        List<JsonNode> itens = itens(saida);
+        assertEquals(4, itens.size());
+        assertEquals(List.of(1L, 2L, 4L, 5L), itens.stream().map(item -> item.get("linha").asLong()).sorted().toList());
+        JsonNode invalido = itens.stream().filter(item -> item.get("linha").asLong() == 5).findFirst().orElseThrow();
+        assertEquals("INVALIDO", invalido.get("status").asString());
+        assertEquals(3, itens.stream().filter(item -> item.get("status").asString().equals("OK")).count());
+
+        JsonNode fim = saida.get(saida.size() - 1).get("progresso");
+        assertTrue(fim.get("finalizado").asBoolean());
+        assertEquals(4, fim.get("lidas").asLong());
+        assertEquals(4, fim.get("concluidas").asLong());
+        assertEquals(1, fim.get("falhas").asLong());
+        assertEquals(2, saida.stream().filter(linha -> linha.has("progresso")).filter(linha -> !linha.get("progresso").get("finalizado").asBoolean()).count());
+        verify(cepService, times(3)).buscarPorCep(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve escrever só o progresso final quando o intervalo de progresso é zero")
+    void testSemProgressoIntermediario() throws Exception {
+        // Arrange
+        properties.setProgressInterval(0);
+        when(cepService.buscarPorCep(anyString())).thenReturn(sp);
+
+        // Act
+        List<JsonNode> saida = enriquecer("01310100\n01310100\n01310100\n", CepStreamService.Formato.NDJSON);
+
+        // Assert
+        assertEquals(3, itens(saida).size());
+        List<JsonNode> progresso = saida.stream().filter(linha -> linha.has("progresso")).toList();
+        assertEquals(1, progresso.size());
+        assertTrue(progresso.get(0).get("progresso").get("finalizado").asBoolean());
+    }
+
+    @Test
+    @DisplayName("Deve localizar a coluna cep pelo cabeçalho do CSV")
+    void testEnriquecerCsvComCabecalho() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310-100")).thenReturn(sp);
+        String entrada = """
+                nome;CEP
+                "Loja; Paulista";01310-100
+                """;
+
+        // Act
+        List<JsonNode> itens = itens(enriquecer(entrada, CepStreamService.Formato.CSV));
+
+        // Assert
+        assertEquals(1, itens.size());
+        assertEquals(2, itens.get(0).get("linha").asLong());
+        assertEquals("São Paulo", itens.get(0).get("endereco").get("localidade").asString());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar CSV cujo cabeçalho não tem a coluna cep")
+    void testRejeitarCsvSemColunaCep() {
+        // Act & Assert
+        assertThrows(ResponseStatusException.class, () -> enriquecer("nome,cidade\nA,B\n", CepStreamService.Formato.CSV));
+        verifyNoInteractions(cepService);
+    }
+
+    @Test
+    @DisplayName("Deve reportar falhas de busca como itens com status ERRO")
+    void testReportarFalhaDeBusca() throws Exception {
+        // Arrange
+        when(cepService.buscarPorCep("01310100"))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE, "Erro 503"));
+
+        // Act
+        List<JsonNode> saida = enriquecer("01310100\n", CepStreamService.Formato.NDJSON);
+
+        // Assert
+        assertEquals("ERRO", itens(saida).get(0).get("status").asString());
+        assertEquals(1, saida.get(saida.size() - 1).get("progresso").get("falhas").asLong());
+    }
+
+    @Test
+    @DisplayName("Não deve ultrapassar a concorrência configurada")
+    void testLimitarConcorrencia() throws Exception {
+        // Arrange
+        properties.setConcurrency(2);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(cepService.buscarPorCep(anyString())).thenAnswer(invocation -> {
+            maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            emAndamento.decrementAndGet();
+            return sp;
+        });
+        StringBuilder entrada = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            entrada.append(String.format("%08d%n", 1310100 + i));
+        }
+
+        // Act
+        List<JsonNode> itens = itens(enriquecer(entrada.toString(), CepStreamService.Formato.NDJSON));
+
+        // Assert
+        assertEquals(50, itens.size());
+        assertTrue(maximo.get() <= 2, "Concorrência máxima observada: " + maximo.get());
+    }
+
+    @Test
+    @DisplayName("Deve reportar linha maior que o máximo como INVALIDO sem perder as seguintes")
+    void testLinhaMaiorQueMaximo() throws Exception {
+        // Arrange
+        properties.setMaxLineLength(16);
+        when(cepService.buscarPorCep(anyString())).thenReturn(sp);
+        String entrada = "01310100\r\n" + "9".repeat(100_000) + "\n01310100\n";
+
+        // Act
+        List<JsonNode> saida = enriquecer(entrada, CepStreamService.Formato.NDJSON);
+
+        // Assert
+        List<JsonNode> itens = itens(saida);
+        assertEquals(3, itens.size());
+        JsonNode longa = itens.stream().filter(item -> item.get("linha").asLong() == 2).findFirst().orElseThrow();
+        assertEquals("INVALIDO", longa.get("status").asString());
+        assertEquals("Linha com mais de 16 caracteres", longa.get("erro").asString());
+        assertEquals(2, itens.stream().filter(item -> item.get("status").asString().equals("OK")).count());
+        assertEquals(1, saida.get(saida.size() - 1).get("progresso").get("falhas").asLong());
+        verify(cepService, times(2)).buscarPorCep("01310100");
+    }
+
+    @Test
+    @DisplayName("Não deve ultrapassar a concorrência total somando streams simultâneos")
+    void testLimitarConcorrenciaTotal() throws Exception {
+        // Arrange
+        properties.setConcurrency(4);
+        properties.setTotalConcurrency(3);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(cepService.buscarPorCep(anyString())).thenAnswer(invocation -> {
+            maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            emAndamento.decrementAndGet();
+            return sp;
+        });
+        StringBuilder entrada = new StringBuilder();
+        for (int i = 0; i < 30; i++) {
+            entrada.append(String.format("%08d%n", 1310100 + i));
+        }
+        byte[] bytes = entrada.toString().getBytes(StandardCharsets.UTF_8);
+        CepStreamService service = new CepStreamService(cepService, jsonMapper, properties, executor);
+
+        // Act
+        List<Thread> streams = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            streams.add(Thread.ofVirtual().start(() -> {
+                try {
+                    service.enriquecer(new ByteArrayInputStream(bytes), CepStreamService.Formato.NDJSON, new ByteArrayOutputStream());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        for (Thread stream : streams) {
+            stream.join();
+        }
+
+        // Assert
+        verify(cepService, times(90)).buscarPorCep(anyString());
+        assertTrue(maximo.get() <= 3, "Concorrência máxima observada: " + maximo.get());
+    }
+
+    private List<JsonNode> enriquecer(String entrada, CepStreamService.Formato formato) throws Exception {
+        CepStreamService service = new CepStreamService(cepService, jsonMapper, properties, executor);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        service.enriquecer(new ByteArrayInputStream(entrada.getBytes(StandardCharsets.UTF_8)), formato, saida);
+
+        List<JsonNode> linhas = new ArrayList<>();
+        for (String linha : saida.toString(StandardCharsets.UTF_8).split("\n")) {
+            linhas.add(jsonMapper.readTree(linha));
+        }
+        return linhas;
+    }
+
+    private static List<JsonNode> itens(List<JsonNode> saida) {
+        return saida.stream().filter(linha -> linha.has("status")).toList();
+    }
+}
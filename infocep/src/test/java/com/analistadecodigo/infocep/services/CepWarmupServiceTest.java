@@ -0,0 +1,80 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.caches.CepCacheSnapshot;
+import com.analistadecodigo.infocep.configs.CepWarmupProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.CepInvalidoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do CepWarmupService")
+class CepWarmupServiceTest {
+
+    @Mock
+    private CepCacheSnapshot cepCacheSnapshot;
+
+    @Mock
+    private CepService cepService;
+
+    private CepWarmupProperties properties;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CepWarmupProperties();
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve carregar o snapshot e buscar a lista de aquecimento, tolerando CEPs com erro")
+    void testAquecer() {
+        // Arrange
+        properties.setCeps(List.of("01310100", "ABC", "20040020"));
+        when(cepService.buscarPorCep("01310100")).thenReturn(CepResponseDto.builder().cep("01310-100").build());
+        when(cepService.buscarPorCep("ABC")).thenThrow(new CepInvalidoException("ABC"));
+        when(cepService.buscarPorCep("20040020")).thenReturn(CepResponseDto.builder().cep("20040-020").build());
+
+        // Act
+        new CepWarmupService(cepCacheSnapshot, cepService, properties, executor).aquecer();
+
+        // Assert
+        verify(cepCacheSnapshot, times(1)).carregar();
+        verify(cepService, times(3)).buscarPorCep(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve liberar a inicialização quando o aquecimento estoura o timeout")
+    void testRespeitarTimeout() {
+        // Arrange
+        properties.setCeps(List.of("01310100"));
+        properties.setTimeout(Duration.ofMillis(100));
+        when(cepService.buscarPorCep("01310100")).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return null;
+        });
+        CepWarmupService service = new CepWarmupService(cepCacheSnapshot, cepService, properties, executor);
+
+        // Act & Assert
+        assertTimeoutPreemptively(Duration.ofSeconds(2), service::aquecer);
+    }
+}
@@ -0,0 +1,208 @@
+package com.analistadecodigo.infocep.services;
+
+import com.analistadecodigo.infocep.caches.CepCache;
+import com.analistadecodigo.infocep.clients.CepProviderRouter;
+import com.analistadecodigo.infocep.clients.HttpCepProvider;
+import com.analistadecodigo.infocep.clients.ReactiveViaCepClient;
+import com.analistadecodigo.infocep.configs.CepCacheProperties;
+import com.analistadecodigo.infocep.configs.CepIndexProperties;
+import com.analistadecodigo.infocep.configs.CepProvidersProperties;
+import com.analistadecodigo.infocep.configs.ConcurrencyLimitProperties;
+import com.analistadecodigo.infocep.dtos.CepResponseDto;
+import com.analistadecodigo.infocep.exceptions.SobrecargaException;
+import com.analistadecodigo.infocep.indexes.LocalCepIndex;
+import com.analistadecodigo.infocep.limiters.AdaptiveConcurrencyLimiter;
+import com.analistadecodigo.infocep.limiters.TokenBucketRateLimiter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.restclient.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes do ReactiveCepService")
+class ReactiveCepServiceTest {
+
+    @Mock
+    private ReactiveViaCepClient viaCepClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReactiveCepService cepService;
+
+    private final ConcurrencyLimitProperties limitProperties = new ConcurrencyLimitProperties();
+
+    private CepResponseDto cepResponseDto;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cepService = novoCepService(new AdaptiveConcurrencyLimiter("outbound", limitProperties.getOutbound(), meterRegistry));
+        cepResponseDto = CepResponseDto.builder()
+                .cep("01310-100")
+                .logradouro("Avenida Paulista")
+                .localidade("São Paulo")
+                .uf("SP")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Deve buscar CEP na ViaCEP e responder do cache na segunda vez")
+    void testBuscarECachear() {
+        // Arrange
+        when(viaCepClient.buscarPorCep("01310100")).thenReturn(Mono.just(cepResponseDto));
+
+        // Act
+        CepResponseDto resultado1 = cepService.buscarPorCep("01310100").block(Duration.ofSeconds(5));
+        CepResponseDto resultado2 = cepService.buscarPorCep("01310-100").block(Duration.ofSeconds(5));
+
+        // Assert
+        assertEquals(cepResponseDto, resultado1);
+        assertEquals(cepResponseDto, resultado2);
+        verify(viaCepClient, times(1)).buscarPorCep(anyString());
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a chamada em andamento entre inscrições concorrentes")
+    void testCoalescerInscricoesConcorrentes() {
+        // Arrange
+        Sinks.One<CepResponseDto> resposta = Sinks.one();
+        AtomicInteger inscricoes = new AtomicInteger();
+        when(viaCepClient.buscarPorCep("01310100"))
+                .thenReturn(resposta.asMono().doOnSubscribe(s -> inscricoes.incrementAndGet()));
+
+        // Act
+        Mono<CepResponseDto> primeira = cepService.buscarPorCep("01310100");
+        Mono<CepResponseDto> segunda = cepService.buscarPorCep("01310100");
+        primeira.subscribe();
+        segunda.subscribe();
+        resposta.tryEmitValue(cepResponseDto);
+
+        // Assert
+        assertEquals(cepResponseDto, segunda.block(Duration.ofSeconds(5)));
+        assertEquals(1, inscricoes.get());
+        assertEquals(1.0, meterRegistry.get("infocep.lookup.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve cachear resposta de fallback")
+    void testNaoCachearFallback() {
+        // Arrange
+        CepResponseDto fallback = CepResponseDto.builder().cep("01310100").uf("NA").fallback(true).build();
+        when(viaCepClient.buscarPorCep("01310100")).thenReturn(Mono.just(fallback));
+
+        // Act
+        cepService.buscarPorCep("01310100").block(Duration.ofSeconds(5));
+        cepService.buscarPorCep("01310100").block(Duration.ofSeconds(5));
+
+        // Assert
+        verify(viaCepClient, times(2)).buscarPorCep("01310100");
+    }
+
+    @Test
+    @DisplayName("Deve desserializar a resposta da ViaCEP sem bloquear")
+    void testClienteReativoDesserializaResposta() {
+        // Arrange
+        String json = "{\"cep\":\"01310-100\",\"logradouro\":\"Avenida Paulista\",\"uf\":\"SP\",\"regiao\":\"Sudeste\"}";
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            assertEquals("/ws/01310100/json/", request.url().getPath());
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", "application/json")
+                    .body(json)
+                    .build());
+        });
+        ReactiveViaCepClient client = new ReactiveViaCepClient(builder, roteador(semLimiteDeTaxa()));
+
+        // Act
+        CepResponseDto resultado = client.buscarPorCep("01310100").block(Duration.ofSeconds(5));
+
+        // Assert
+        assertNotNull(resultado);
+        assertEquals("Avenida Paulista", resultado.getLogradouro());
+        assertFalse(resultado.isFallback());
+    }
+
+    @Test
+    @DisplayName("Deve passar pelo limite de taxa do provedor sem bloquear")
+    void testClienteReativoRespeitaLimiteDeTaxa() {
+        // Arrange
+        AtomicInteger chamadas = new AtomicInteger();
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            chamadas.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", "application/json")
+                    .body("{\"cep\":\"01310-100\",\"logradouro\":\"Avenida Paulista\"}")
+                    .build());
+        });
+        CepProvidersProperties.RateLimit umPorSegundo = new CepProvidersProperties.RateLimit();
+        umPorSegundo.setPermitsPerSecond(1);
+        umPorSegundo.setBurst(1);
+        umPorSegundo.setInteractiveMaxWait(Duration.ZERO);
+        ReactiveViaCepClient client = new ReactiveViaCepClient(builder, roteador(umPorSegundo));
+
+        // Act
+        CepResponseDto primeira = client.buscarPorCep("01310100").block(Duration.ofSeconds(5));
+        Mono<CepResponseDto> segunda = client.buscarPorCep("01310100");
+
+        // Assert
+        assertNotNull(primeira);
+        assertThrows(SobrecargaException.class, () -> segunda.block(Duration.ofSeconds(5)));
+        assertEquals(1, chamadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve recusar a chamada à ViaCEP quando o limite de saída está cheio")
+    void testLimiteDeSaida() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiteDeSaida = new AdaptiveConcurrencyLimiter("outbound",
+                new ConcurrencyLimitProperties.Limite(true, 1, 1, 1, 2.0, 0.2), meterRegistry);
+        ReactiveCepService servico = novoCepService(limiteDeSaida);
+        AdaptiveConcurrencyLimiter.Permissao ocupada = limiteDeSaida.tentarAdquirir().orElseThrow();
+
+        // Act
+        Mono<CepResponseDto> recusada = servico.buscarPorCep("01310100");
+
+        // Assert
+        assertThrows(SobrecargaException.class, () -> recusada.block(Duration.ofSeconds(5)));
+        verifyNoInteractions(viaCepClient);
+        ocupada.ignorar();
+        assertEquals(0, limiteDeSaida.getEmAndamento());
+    }
+
+    private ReactiveCepService novoCepService(AdaptiveConcurrencyLimiter limiteDeSaida) {
+        return new ReactiveCepService(viaCepClient,
+                new CepCache(new CepCacheProperties(), meterRegistry, Optional.empty()),
+                new LocalCepIndex(new CepIndexProperties(), meterRegistry), limiteDeSaida, limitProperties, meterRegistry);
+    }
+
+    private CepProviderRouter roteador(CepProvidersProperties.RateLimit rateLimit) {
+        HttpCepProvider viaCep = new HttpCepProvider("viaCep", "https://viacep.com.br/ws/{cep}/json/",
+                mock(RestTemplateBuilder.class), CircuitBreaker.ofDefaults("viaCep"),
+                new TokenBucketRateLimiter("viaCep", rateLimit, meterRegistry), ObservationRegistry.NOOP);
+        return new CepProviderRouter(List.of(viaCep), new CepProvidersProperties.Hedge(), Runnable::run, meterRegistry);
+    }
+
+    private static CepProvidersProperties.RateLimit semLimiteDeTaxa() {
+        CepProvidersProperties.RateLimit rateLimit = new CepProvidersProperties.RateLimit();
+        rateLimit.setEnabled(false);
+        return rateLimit;
+    }
+}